@@ -0,0 +1,231 @@
+package com.airbnb.lottie.bundle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Builds a bundle that is opened with com.airbnb.lottie.LottieBundle. The format is documented there.
+ * <p>
+ * This only depends on the JVM so it can be run as part of a build or from the command line:
+ * <pre>
+ * ./gradlew :lottie-bundle-writer:run --args="[--gzip] input_folder output.lbundle"
+ * </pre>
+ * Every json file at the root of the folder becomes an animation named after the file without its extension. The
+ * images for foo.json are read from foo/ if it exists or images/ otherwise. Images with identical bytes are only
+ * stored once no matter how many animations use them.
+ */
+public class LottieBundleWriter {
+  /* These must match LottieBundle. */
+  static final int MAGIC = 0x4C424E44;
+  static final int VERSION = 1;
+  static final int FLAG_GZIP = 1;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final Map<String, Animation> animations = new LinkedHashMap<>();
+  private final List<byte[]> images = new ArrayList<>();
+  /* ByteBuffer equality is based on its contents. */
+  private final Map<ByteBuffer, Integer> imageIndices = new HashMap<>();
+  private boolean gzipAnimations;
+
+  /**
+   * Gzip animation json. This makes the bundle much smaller at the cost of inflating the json while it is parsed.
+   */
+  public LottieBundleWriter setGzipAnimations(boolean gzipAnimations) {
+    this.gzipAnimations = gzipAnimations;
+    return this;
+  }
+
+  public LottieBundleWriter addAnimation(String name, byte[] json) {
+    Animation existing = animations.get(name);
+    if (existing != null) {
+      existing.json = json;
+    } else {
+      animations.put(name, new Animation(json));
+    }
+    return this;
+  }
+
+  /**
+   * Adds an image for an animation. The file name must match the "p" property of the image asset in its json.
+   */
+  public LottieBundleWriter addImage(String animationName, String fileName, byte[] image) {
+    Animation animation = animations.get(animationName);
+    if (animation == null) {
+      throw new IllegalArgumentException("There is no animation named " + animationName);
+    }
+    ByteBuffer key = ByteBuffer.wrap(image);
+    Integer index = imageIndices.get(key);
+    if (index == null) {
+      index = images.size();
+      images.add(image);
+      imageIndices.put(key, index);
+    }
+    animation.imageRefs.put(fileName, index);
+    return this;
+  }
+
+  public void writeTo(OutputStream outputStream) throws IOException {
+    List<byte[]> animationData = new ArrayList<>(animations.size());
+    for (Animation animation : animations.values()) {
+      animationData.add(gzipAnimations ? gzip(animation.json) : animation.json);
+    }
+
+    ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+    DataOutputStream header = new DataOutputStream(headerBytes);
+    long offset = 0;
+    header.writeInt(animations.size());
+    int i = 0;
+    for (Map.Entry<String, Animation> entry : animations.entrySet()) {
+      byte[] data = animationData.get(i++);
+      writeString(header, entry.getKey());
+      header.writeByte(gzipAnimations ? FLAG_GZIP : 0);
+      header.writeLong(offset);
+      header.writeInt(data.length);
+      offset += data.length;
+      Map<String, Integer> imageRefs = entry.getValue().imageRefs;
+      header.writeInt(imageRefs.size());
+      for (Map.Entry<String, Integer> imageRef : imageRefs.entrySet()) {
+        writeString(header, imageRef.getKey());
+        header.writeInt(imageRef.getValue());
+      }
+    }
+    header.writeInt(images.size());
+    for (byte[] image : images) {
+      header.writeLong(offset);
+      header.writeInt(image.length);
+      offset += image.length;
+    }
+    header.flush();
+
+    DataOutputStream out = new DataOutputStream(outputStream);
+    // magic + version + dataOffset.
+    int prefixLength = 4 + 4 + 8;
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeLong(prefixLength + headerBytes.size());
+    headerBytes.writeTo(out);
+    for (byte[] data : animationData) {
+      out.write(data);
+    }
+    for (byte[] image : images) {
+      out.write(image);
+    }
+    out.flush();
+  }
+
+  /**
+   * Bundles every animation in a folder. See the class docs for the expected layout.
+   */
+  public static void writeFolder(File folder, File output, boolean gzipAnimations) throws IOException {
+    File[] files = folder.listFiles();
+    if (files == null) {
+      throw new IOException(folder + " is not a folder.");
+    }
+    Arrays.sort(files);
+    LottieBundleWriter writer = new LottieBundleWriter().setGzipAnimations(gzipAnimations);
+    File sharedImages = new File(folder, "images");
+    for (File file : files) {
+      String fileName = file.getName();
+      if (!file.isFile() || !fileName.endsWith(".json")) {
+        continue;
+      }
+      String name = fileName.substring(0, fileName.length() - ".json".length());
+      writer.addAnimation(name, readFile(file));
+
+      File imageFolder = new File(folder, name);
+      File[] images = (imageFolder.isDirectory() ? imageFolder : sharedImages).listFiles();
+      if (images == null) {
+        continue;
+      }
+      Arrays.sort(images);
+      for (File image : images) {
+        if (image.isFile() && isImage(image.getName())) {
+          writer.addImage(name, image.getName(), readFile(image));
+        }
+      }
+    }
+
+    OutputStream outputStream = new FileOutputStream(output);
+    try {
+      writer.writeTo(outputStream);
+    } finally {
+      outputStream.close();
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    boolean gzip = args.length == 3 && args[0].equals("--gzip");
+    if (args.length != (gzip ? 3 : 2)) {
+      System.err.println("Usage: LottieBundleWriter [--gzip] input_folder output_file");
+      System.exit(1);
+      return;
+    }
+    int argOffset = gzip ? 1 : 0;
+    writeFolder(new File(args[argOffset]), new File(args[argOffset + 1]), gzip);
+  }
+
+  /**
+   * The image types that Lottie decodes.
+   */
+  private static boolean isImage(String fileName) {
+    return fileName.endsWith(".png") || fileName.endsWith(".webp") || fileName.endsWith(".jpg") ||
+        fileName.endsWith(".jpeg");
+  }
+
+  private static void writeString(DataOutputStream out, String string) throws IOException {
+    byte[] bytes = string.getBytes(UTF_8);
+    if (bytes.length > 0xFFFF) {
+      throw new IllegalArgumentException("Name is too long: " + string);
+    }
+    out.writeShort(bytes.length);
+    out.write(bytes);
+  }
+
+  private static byte[] gzip(byte[] bytes) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+    GZIPOutputStream gzipOut = new GZIPOutputStream(out);
+    gzipOut.write(bytes);
+    gzipOut.close();
+    return out.toByteArray();
+  }
+
+  private static byte[] readFile(File file) throws IOException {
+    InputStream in = new FileInputStream(file);
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream((int) file.length());
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      return out.toByteArray();
+    } finally {
+      in.close();
+    }
+  }
+
+  private static class Animation {
+    byte[] json;
+    final Map<String, Integer> imageRefs = new LinkedHashMap<>();
+
+    Animation(byte[] json) {
+      this.json = json;
+    }
+  }
+}
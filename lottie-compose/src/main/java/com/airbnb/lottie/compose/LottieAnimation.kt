@@ -89,6 +89,7 @@ fun LottieAnimation(
         LaunchedEffect(context, composition, state.imageAssetsFolder, state.imageAssetDelegate) {
             @Suppress("RestrictedApi")
             imageAssetManager = ImageAssetManager(context, state.imageAssetsFolder, state.imageAssetDelegate, composition.images)
+                .apply { setCacheKey(composition.cacheKey) }
         }
     } else {
         imageAssetManager = null
@@ -0,0 +1,191 @@
+package com.airbnb.lottie;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+/**
+ * Renders frames for {@link LottieDrawable#setAsyncRenderingEnabled(boolean)} on a shared render thread.
+ * <p>
+ * Three bitmaps are used. The render thread draws into the back buffer and swaps it with the pending buffer when it
+ * is done. The UI thread swaps the pending buffer into the front buffer when it draws. The render thread never
+ * touches the front buffer so a frame that the UI thread has handed to the hardware renderer is never drawn into
+ * while it is still being uploaded.
+ * <p>
+ * Only the most recently requested progress is rendered. If rendering falls behind, older requests are dropped.
+ */
+class AsyncRenderer {
+  interface FrameRenderer {
+    /**
+     * Sets the progress of the layers and draws them into the canvas at the size and scale that the frame was
+     * requested with. Called on the render thread.
+     */
+    @WorkerThread
+    void renderFrame(Canvas canvas, float progress, int width, int height, float scale);
+
+    /**
+     * Called on the UI thread when a new frame is ready to be drawn.
+     */
+    @MainThread
+    void onFrameRendered();
+  }
+
+  @Nullable private static HandlerThread renderThread;
+  @Nullable private static Handler renderHandler;
+
+  private final FrameRenderer frameRenderer;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private final Canvas renderCanvas = new Canvas();
+
+  /* All of the fields below are guarded by this. */
+  @Nullable private Bitmap front;
+  @Nullable private Bitmap pending;
+  @Nullable private Bitmap back;
+  private boolean hasPendingFrame;
+  private float requestedProgress;
+  private int requestedWidth;
+  private int requestedHeight;
+  private float requestedScale;
+  private boolean isRenderScheduled;
+  private boolean isReleased;
+  private int droppedFrameCount;
+
+  private final Runnable renderRunnable = new Runnable() {
+    @Override public void run() {
+      render();
+    }
+  };
+
+  private final Runnable frameRenderedRunnable = new Runnable() {
+    @Override public void run() {
+      frameRenderer.onFrameRendered();
+    }
+  };
+
+  AsyncRenderer(FrameRenderer frameRenderer) {
+    this.frameRenderer = frameRenderer;
+  }
+
+  private static synchronized Handler renderHandler() {
+    if (renderHandler == null) {
+      renderThread = new HandlerThread("LottieRenderThread", Process.THREAD_PRIORITY_DISPLAY);
+      renderThread.start();
+      renderHandler = new Handler(renderThread.getLooper());
+    }
+    return renderHandler;
+  }
+
+  static boolean isRenderThread() {
+    HandlerThread renderThread = AsyncRenderer.renderThread;
+    return renderThread != null && Thread.currentThread() == renderThread;
+  }
+
+  /**
+   * Renders the given progress at the given size and scale in the background. If a frame is already waiting to be
+   * rendered, it is replaced.
+   */
+  @MainThread
+  synchronized void requestFrame(float progress, int width, int height, float scale) {
+    if (isReleased || width <= 0 || height <= 0) {
+      return;
+    }
+    requestedProgress = progress;
+    requestedWidth = width;
+    requestedHeight = height;
+    requestedScale = scale;
+    if (isRenderScheduled) {
+      droppedFrameCount++;
+      return;
+    }
+    isRenderScheduled = true;
+    renderHandler().post(renderRunnable);
+  }
+
+  @WorkerThread
+  private void render() {
+    float progress;
+    int width;
+    int height;
+    float scale;
+    Bitmap bitmap;
+    synchronized (this) {
+      isRenderScheduled = false;
+      if (isReleased) {
+        return;
+      }
+      progress = requestedProgress;
+      width = requestedWidth;
+      height = requestedHeight;
+      scale = requestedScale;
+      bitmap = back;
+      back = null;
+    }
+    if (bitmap == null || bitmap.getWidth() != width || bitmap.getHeight() != height) {
+      bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    } else {
+      bitmap.eraseColor(0);
+    }
+
+    L.beginSection("AsyncRenderer#render");
+    renderCanvas.setBitmap(bitmap);
+    frameRenderer.renderFrame(renderCanvas, progress, width, height, scale);
+    renderCanvas.setBitmap(null);
+    L.endSection("AsyncRenderer#render");
+
+    synchronized (this) {
+      if (isReleased) {
+        return;
+      }
+      back = pending;
+      pending = bitmap;
+      hasPendingFrame = true;
+    }
+    mainHandler.post(frameRenderedRunnable);
+  }
+
+  /**
+   * Draws the most recently rendered frame. Returns false if no frame has been rendered yet.
+   */
+  @MainThread
+  synchronized boolean draw(Canvas canvas, Paint paint) {
+    if (hasPendingFrame) {
+      Bitmap previousFront = front;
+      front = pending;
+      pending = previousFront;
+      hasPendingFrame = false;
+    }
+    if (front == null) {
+      return false;
+    }
+    canvas.drawBitmap(front, 0, 0, paint);
+    return true;
+  }
+
+  /**
+   * The number of requested frames that were replaced by a newer frame before they were rendered.
+   */
+  synchronized int getDroppedFrameCount() {
+    return droppedFrameCount;
+  }
+
+  /**
+   * Stops rendering. The bitmaps are left for the garbage collector because the last frame may still be in use by the
+   * hardware renderer.
+   */
+  @MainThread
+  synchronized void release() {
+    isReleased = true;
+    front = null;
+    pending = null;
+    back = null;
+    mainHandler.removeCallbacks(frameRenderedRunnable);
+  }
+}
@@ -0,0 +1,160 @@
+package com.airbnb.lottie;
+
+import static okio.Okio.buffer;
+import static okio.Okio.source;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.airbnb.lottie.parser.DotLottieManifestParser;
+import com.airbnb.lottie.parser.moshi.JsonReader;
+import com.airbnb.lottie.utils.Logger;
+import com.airbnb.lottie.utils.Utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A zip or dotLottie file that may contain several animations.
+ * <p>
+ * The central directory and manifest.json are read once when the bundle is opened. Each animation can then be
+ * loaded with {@link LottieCompositionFactory#fromDotLottie(DotLottieBundle, String, String)} without rescanning
+ * the archive. Only the json for the requested animation is parsed and only the images it references are decoded.
+ * <p>
+ * If there is no manifest, every json file in the archive is treated as an animation whose id is its file name
+ * without the extension.
+ * <p>
+ * Close the bundle once no more animations will be loaded from it.
+ */
+public class DotLottieBundle implements Closeable {
+  private final ZipFile zipFile;
+  /* Preserve manifest order. */
+  private final Map<String, ZipEntry> animationEntries = new LinkedHashMap<>();
+  private final Map<String, ZipEntry> imageEntries = new HashMap<>();
+  @Nullable private final String defaultAnimationId;
+
+  @WorkerThread
+  public static DotLottieBundle open(File file) throws IOException {
+    return new DotLottieBundle(new ZipFile(file));
+  }
+
+  DotLottieBundle(ZipFile zipFile) {
+    this.zipFile = zipFile;
+
+    ZipEntry manifestEntry = null;
+    Map<String, ZipEntry> jsonEntries = new LinkedHashMap<>();
+    String lastJsonId = null;
+    Enumeration<? extends ZipEntry> entries = zipFile.entries();
+    while (entries.hasMoreElements()) {
+      ZipEntry entry = entries.nextElement();
+      String entryName = entry.getName();
+      if (entryName.contains("__MACOSX")) {
+        continue;
+      }
+      if (entryName.equalsIgnoreCase("manifest.json")) {
+        manifestEntry = entry;
+      } else if (entryName.contains(".json")) {
+        lastJsonId = animationIdForEntry(entryName);
+        jsonEntries.put(lastJsonId, entry);
+      } else if (isImageEntry(entryName)) {
+        imageEntries.put(fileNameForEntry(entryName), entry);
+      }
+    }
+
+    for (String id : readManifest(manifestEntry)) {
+      ZipEntry animationEntry = jsonEntries.get(id);
+      if (animationEntry == null) {
+        Logger.warning("The manifest references " + id + " but there is no json for it.");
+        continue;
+      }
+      animationEntries.put(id, animationEntry);
+    }
+
+    if (animationEntries.isEmpty()) {
+      // Without a manifest, match the stream behavior where the last animation in the archive wins.
+      animationEntries.putAll(jsonEntries);
+      defaultAnimationId = lastJsonId;
+    } else {
+      defaultAnimationId = animationEntries.keySet().iterator().next();
+    }
+  }
+
+  /**
+   * Returns the ids of every animation in this bundle. If there is a manifest, they will be in manifest order.
+   */
+  public List<String> getAnimationIds() {
+    return Collections.unmodifiableList(new ArrayList<>(animationEntries.keySet()));
+  }
+
+  /**
+   * The first animation in the manifest or, if there is no manifest, the last json file in the archive.
+   */
+  @Nullable
+  public String getDefaultAnimationId() {
+    return defaultAnimationId;
+  }
+
+  @Override
+  public void close() throws IOException {
+    zipFile.close();
+  }
+
+  @Nullable
+  ZipEntry getAnimationEntry(String animationId) {
+    return animationEntries.get(animationId);
+  }
+
+  @Nullable
+  ZipEntry getImageEntry(String fileName) {
+    return imageEntries.get(fileName);
+  }
+
+  InputStream getInputStream(ZipEntry entry) throws IOException {
+    return zipFile.getInputStream(entry);
+  }
+
+  private List<String> readManifest(@Nullable ZipEntry manifestEntry) {
+    if (manifestEntry == null) {
+      return Collections.emptyList();
+    }
+    JsonReader reader = null;
+    try {
+      reader = JsonReader.of(buffer(source(zipFile.getInputStream(manifestEntry))));
+      return DotLottieManifestParser.parseAnimationIds(reader);
+    } catch (IOException e) {
+      Logger.warning("Unable to parse manifest.json.", e);
+      return Collections.emptyList();
+    } finally {
+      Utils.closeQuietly(reader);
+    }
+  }
+
+  static boolean isImageEntry(String entryName) {
+    return entryName.contains(".png") || entryName.contains(".webp") || entryName.contains(".jpg") || entryName.contains(".jpeg");
+  }
+
+  static String fileNameForEntry(String entryName) {
+    String[] splitName = entryName.split("/");
+    return splitName[splitName.length - 1];
+  }
+
+  /**
+   * dotLottie files store each animation as animations/[id].json.
+   */
+  static String animationIdForEntry(String entryName) {
+    String fileName = fileNameForEntry(entryName);
+    int extensionIndex = fileName.lastIndexOf('.');
+    return extensionIndex > 0 ? fileName.substring(0, extensionIndex) : fileName;
+  }
+}
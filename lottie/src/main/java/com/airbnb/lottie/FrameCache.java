@@ -0,0 +1,141 @@
+package com.airbnb.lottie;
+
+import android.graphics.Bitmap;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rendered frames for {@link RenderMode#CACHED_FRAMES}.
+ * <p>
+ * Each whole frame is rendered into its own bitmap the first time it is drawn and is drawn straight from the cache on
+ * later loops. Bitmaps are all the same size so once the memory budget is reached, the least recently drawn frame's
+ * bitmap is reused for the next one rather than allocating a new one.
+ */
+public class FrameCache {
+  private final long maxBytes;
+  /* Access ordered so that the first entry is the least recently drawn frame. */
+  private final LinkedHashMap<Integer, Bitmap> frames = new LinkedHashMap<>(16, 0.75f, true);
+  /* Bitmaps from frames that were invalidated. They can be reused without allocating. */
+  private final List<Bitmap> unusedBitmaps = new ArrayList<>();
+  private int width;
+  private int height;
+
+  private int hitCount;
+  private int missCount;
+  private int evictionCount;
+
+  FrameCache(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Returns the cached bitmap for a frame at the given size or null if it hasn't been rendered yet.
+   */
+  @Nullable
+  Bitmap get(int frame, int width, int height) {
+    if (width != this.width || height != this.height) {
+      recycle();
+      this.width = width;
+      this.height = height;
+    }
+    Bitmap bitmap = frames.get(frame);
+    if (bitmap == null) {
+      missCount++;
+    } else {
+      hitCount++;
+    }
+    return bitmap;
+  }
+
+  /**
+   * Returns a cleared bitmap to render a frame into and stores it for future calls to {@link #get(int, int, int)}.
+   * Returns null if a single frame won't fit in the memory budget.
+   * {@link #get(int, int, int)} must be called first with the same size.
+   */
+  @Nullable
+  Bitmap obtain(int frame) {
+    long frameBytes = 4L * width * height;
+    if (frameBytes > maxBytes || width <= 0 || height <= 0) {
+      return null;
+    }
+    Bitmap bitmap;
+    if (!unusedBitmaps.isEmpty()) {
+      bitmap = unusedBitmaps.remove(unusedBitmaps.size() - 1);
+    } else if ((frames.size() + 1) * frameBytes > maxBytes) {
+      Iterator<Map.Entry<Integer, Bitmap>> it = frames.entrySet().iterator();
+      bitmap = it.next().getValue();
+      it.remove();
+      evictionCount++;
+    } else {
+      bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    }
+    bitmap.eraseColor(0);
+    frames.put(frame, bitmap);
+    return bitmap;
+  }
+
+  /**
+   * Drops every rendered frame but keeps the bitmaps around to render into again.
+   */
+  void invalidate() {
+    unusedBitmaps.addAll(frames.values());
+    frames.clear();
+  }
+
+  /**
+   * Drops every rendered frame and releases the bitmaps.
+   */
+  void recycle() {
+    invalidate();
+    for (int i = 0; i < unusedBitmaps.size(); i++) {
+      unusedBitmaps.get(i).recycle();
+    }
+    unusedBitmaps.clear();
+  }
+
+  public int getHitCount() {
+    return hitCount;
+  }
+
+  public int getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * The number of frames that were dropped to stay within the memory budget.
+   */
+  public int getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * The fraction of frames that were drawn from the cache, from 0 to 1.
+   */
+  public float getHitRate() {
+    int total = hitCount + missCount;
+    return total == 0 ? 0f : hitCount / (float) total;
+  }
+
+  /**
+   * The memory currently used by cached frames.
+   */
+  public long getSizeBytes() {
+    return 4L * width * height * (frames.size() + unusedBitmaps.size());
+  }
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  public void resetMetrics() {
+    hitCount = 0;
+    missCount = 0;
+    evictionCount = 0;
+  }
+}
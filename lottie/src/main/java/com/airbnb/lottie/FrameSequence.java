@@ -0,0 +1,118 @@
+package com.airbnb.lottie;
+
+import android.graphics.Bitmap;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A range of frames that were pre-rendered to a file by {@link FrameSequenceCache}.
+ * <p>
+ * The file is memory mapped so frames are paged in by the OS as they are played rather than held on the heap.
+ * Pass it to {@link LottieDrawable#setFrameSequence(FrameSequence)} to play it back.
+ * <p>
+ * File format:
+ * <pre>
+ *   int magic, int version, int width, int height, int startFrame, int frameCount
+ *   frameCount * width * height * 4 bytes of ARGB_8888 pixels
+ * </pre>
+ * The whole file is mapped at once so it can't be larger than {@link #MAX_FILE_BYTES}.
+ */
+public class FrameSequence {
+  static final int MAGIC = 0x4C46524D;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 6 * 4;
+  /**
+   * A single mapping is limited to {@link Integer#MAX_VALUE} bytes.
+   */
+  static final long MAX_FILE_BYTES = Integer.MAX_VALUE;
+
+  private final File file;
+  private final ByteBuffer buffer;
+  private final int width;
+  private final int height;
+  private final int startFrame;
+  private final int frameCount;
+
+  private FrameSequence(File file, ByteBuffer buffer, int width, int height, int startFrame, int frameCount) {
+    this.file = file;
+    this.buffer = buffer;
+    this.width = width;
+    this.height = height;
+    this.startFrame = startFrame;
+    this.frameCount = frameCount;
+  }
+
+  static FrameSequence open(File file) throws IOException {
+    if (file.length() > MAX_FILE_BYTES) {
+      throw new IOException("Frame sequence is too large to map: " + file);
+    }
+    ByteBuffer buffer;
+    try {
+      buffer = LottieCompositionFactory.mapFile(file);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Unable to map frame sequence: " + file, e);
+    }
+    if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+      throw new IOException("Not a Lottie frame sequence: " + file);
+    }
+    int width = buffer.getInt(8);
+    int height = buffer.getInt(12);
+    int startFrame = buffer.getInt(16);
+    int frameCount = buffer.getInt(20);
+    if (width <= 0 || height <= 0 || frameCount <= 0
+        || buffer.capacity() != fileBytes(width, height, frameCount)) {
+      throw new IOException("Frame sequence is truncated: " + file);
+    }
+    return new FrameSequence(file, buffer, width, height, startFrame, frameCount);
+  }
+
+  static long frameBytes(int width, int height) {
+    return (long) width * height * 4;
+  }
+
+  static long fileBytes(int width, int height, int frameCount) {
+    return HEADER_SIZE + frameCount * frameBytes(width, height);
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public int getStartFrame() {
+    return startFrame;
+  }
+
+  /**
+   * The last frame in the sequence, inclusive.
+   */
+  public int getEndFrame() {
+    return startFrame + frameCount - 1;
+  }
+
+  public boolean hasFrame(int frame) {
+    return frame >= startFrame && frame < startFrame + frameCount;
+  }
+
+  /**
+   * Copies the pixels of a frame into a mutable ARGB_8888 bitmap that is {@link #getWidth()} by {@link #getHeight()}.
+   */
+  void copyFrameInto(int frame, Bitmap bitmap) {
+    ByteBuffer frameBuffer = buffer.duplicate();
+    // open() checked that the whole file fits in an int so every frame offset does too.
+    int frameBytes = (int) frameBytes(width, height);
+    int offset = (int) (HEADER_SIZE + (long) (frame - startFrame) * frameBytes);
+    frameBuffer.position(offset);
+    frameBuffer.limit(offset + frameBytes);
+    bitmap.copyPixelsFromBuffer(frameBuffer);
+  }
+}
@@ -0,0 +1,275 @@
+package com.airbnb.lottie;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.airbnb.lottie.model.Marker;
+import com.airbnb.lottie.utils.Logger;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static com.airbnb.lottie.utils.Utils.closeQuietly;
+
+/**
+ * Pre-renders animations to raw pixel files on disk so that large animations can be played back by copying each
+ * frame out of a memory mapped file instead of rendering it. This trades disk space for render time and keeps the
+ * frames off the heap, unlike {@link RenderMode#CACHED_FRAMES}.
+ * <p>
+ * Every pixel of every frame is stored so a full screen animation can take hundreds of megabytes. Files are deleted,
+ * least recently used first, once the cache grows beyond its max size. A single sequence can't be larger than 2GB.
+ */
+public class FrameSequenceCache {
+  private static final String DIRECTORY_NAME = "lottie_frame_sequences";
+  private static final String EXTENSION = ".frames";
+  private static final String TEMP_EXTENSION = ".temp";
+
+  private final File directory;
+  private final long maxBytes;
+  private final Map<String, LottieTask<FrameSequence>> tasks = new HashMap<>();
+
+  public FrameSequenceCache(File directory, long maxBytes) {
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Creates a cache in the app's cache directory.
+   */
+  public static FrameSequenceCache create(Context context, long maxBytes) {
+    return new FrameSequenceCache(new File(context.getApplicationContext().getCacheDir(), DIRECTORY_NAME), maxBytes);
+  }
+
+  /**
+   * Returns the frame sequence from the cache or renders it in the background if it isn't cached yet.
+   *
+   * @param cacheKey             identifies the composition, such as the cache key it was loaded with.
+   * @param drawable             a drawable that is only used for rendering and is not attached to a view. Its composition must
+   *                             be set and any value callbacks must be added before calling this.
+   * @param markerName           the marker to render or null to render the whole composition.
+   * @param dynamicPropertiesKey identifies the value callbacks that were added to the drawable, if any. Frames rendered
+   *                             with different dynamic properties must use different keys.
+   */
+  public LottieTask<FrameSequence> getOrRender(final String cacheKey, final LottieDrawable drawable, final int width, final int height,
+      @Nullable final String markerName, @Nullable final String dynamicPropertiesKey) {
+    final String key = sequenceKey(cacheKey, width, height, markerName, dynamicPropertiesKey);
+    LottieTask<FrameSequence> existingTask = tasks.get(key);
+    if (existingTask != null) {
+      return existingTask;
+    }
+    LottieTask<FrameSequence> task = new LottieTask<>(new Callable<LottieResult<FrameSequence>>() {
+      @Override
+      public LottieResult<FrameSequence> call() {
+        return getOrRenderSync(cacheKey, drawable, width, height, markerName, dynamicPropertiesKey);
+      }
+    });
+    task.addListener(new LottieListener<FrameSequence>() {
+      @Override
+      public void onResult(FrameSequence result) {
+        tasks.remove(key);
+      }
+    });
+    task.addFailureListener(new LottieListener<Throwable>() {
+      @Override
+      public void onResult(Throwable result) {
+        tasks.remove(key);
+      }
+    });
+    tasks.put(key, task);
+    return task;
+  }
+
+  /**
+   * @see #getOrRender(String, LottieDrawable, int, int, String, String)
+   */
+  @WorkerThread
+  public LottieResult<FrameSequence> getOrRenderSync(String cacheKey, LottieDrawable drawable, int width, int height,
+      @Nullable String markerName, @Nullable String dynamicPropertiesKey) {
+    File file = new File(directory, fileName(sequenceKey(cacheKey, width, height, markerName, dynamicPropertiesKey)));
+    if (file.exists()) {
+      try {
+        FrameSequence sequence = FrameSequence.open(file);
+        //noinspection ResultOfMethodCallIgnored
+        file.setLastModified(System.currentTimeMillis());
+        return new LottieResult<>(sequence);
+      } catch (IOException e) {
+        Logger.warning("Unable to open cached frame sequence. Rendering it again.", e);
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+      }
+    }
+
+    LottieComposition composition = drawable.getComposition();
+    if (composition == null) {
+      return new LottieResult<>(new IllegalArgumentException("The drawable doesn't have a composition."));
+    }
+    if (width <= 0 || height <= 0) {
+      return new LottieResult<>(new IllegalArgumentException("Invalid frame sequence size " + width + "x" + height + "."));
+    }
+    int startFrame;
+    int endFrame;
+    if (markerName == null) {
+      startFrame = (int) composition.getStartFrame();
+      endFrame = (int) composition.getEndFrame();
+    } else {
+      Marker marker = composition.getMarker(markerName);
+      if (marker == null) {
+        return new LottieResult<>(new IllegalArgumentException("Cannot find marker with name " + markerName + "."));
+      }
+      startFrame = (int) marker.startFrame;
+      endFrame = (int) (marker.startFrame + marker.durationFrames);
+    }
+
+    if (endFrame < startFrame) {
+      return new LottieResult<>(new IllegalArgumentException("Frame sequence has no frames."));
+    }
+    long fileBytes = FrameSequence.fileBytes(width, height, endFrame - startFrame + 1);
+    if (fileBytes > FrameSequence.MAX_FILE_BYTES) {
+      return new LottieResult<>(new IllegalArgumentException(
+          "Frame sequence would be " + fileBytes + " bytes, which is larger than the " + FrameSequence.MAX_FILE_BYTES + " byte limit."));
+    }
+
+    try {
+      render(drawable, file, width, height, startFrame, endFrame);
+      trimToSize(file);
+      return new LottieResult<>(FrameSequence.open(file));
+    } catch (IOException | OutOfMemoryError e) {
+      return new LottieResult<FrameSequence>(e);
+    }
+  }
+
+  @WorkerThread
+  private void render(LottieDrawable drawable, File file, int width, int height, int startFrame, int endFrame) throws IOException {
+    L.beginSection("FrameSequenceCache#render");
+    //noinspection ResultOfMethodCallIgnored
+    directory.mkdirs();
+    File tempFile = new File(file.getPath() + TEMP_EXTENSION);
+    int frameCount = endFrame - startFrame + 1;
+    Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    Canvas canvas = new Canvas(bitmap);
+    ByteBuffer pixels = ByteBuffer.allocateDirect((int) FrameSequence.frameBytes(width, height));
+    FileOutputStream output = new FileOutputStream(tempFile);
+    boolean rendered = false;
+    try {
+      FileChannel channel = output.getChannel();
+      ByteBuffer header = ByteBuffer.allocate(FrameSequence.HEADER_SIZE);
+      header.putInt(FrameSequence.MAGIC)
+          .putInt(FrameSequence.VERSION)
+          .putInt(width)
+          .putInt(height)
+          .putInt(startFrame)
+          .putInt(frameCount);
+      header.flip();
+      writeFully(channel, header);
+
+      drawable.setBounds(0, 0, width, height);
+      for (int frame = startFrame; frame <= endFrame; frame++) {
+        bitmap.eraseColor(0);
+        drawable.setFrame(frame);
+        drawable.draw(canvas);
+        pixels.clear();
+        bitmap.copyPixelsToBuffer(pixels);
+        pixels.flip();
+        writeFully(channel, pixels);
+      }
+      rendered = true;
+    } finally {
+      closeQuietly(output);
+      bitmap.recycle();
+      if (!rendered) {
+        //noinspection ResultOfMethodCallIgnored
+        tempFile.delete();
+      }
+      L.endSection("FrameSequenceCache#render");
+    }
+    if (!tempFile.renameTo(file)) {
+      //noinspection ResultOfMethodCallIgnored
+      tempFile.delete();
+      throw new IOException("Unable to rename " + tempFile + " to " + file + ".");
+    }
+    Logger.debug("Rendered " + frameCount + " frames to " + file + " (" + file.length() + " bytes).");
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  /**
+   * Deletes the least recently used files until the cache fits in its max size. The newest file is always kept.
+   */
+  private void trimToSize(File newestFile) {
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    long size = 0;
+    for (File file : files) {
+      size += file.length();
+    }
+    if (size <= maxBytes) {
+      return;
+    }
+    Arrays.sort(files, new Comparator<File>() {
+      @Override
+      public int compare(File a, File b) {
+        long aModified = a.lastModified();
+        long bModified = b.lastModified();
+        return aModified < bModified ? -1 : (aModified == bModified ? 0 : 1);
+      }
+    });
+    for (File file : files) {
+      if (size <= maxBytes) {
+        break;
+      }
+      if (file.equals(newestFile) || file.getName().endsWith(TEMP_EXTENSION)) {
+        continue;
+      }
+      long length = file.length();
+      if (file.delete()) {
+        size -= length;
+      }
+    }
+  }
+
+  /**
+   * Deletes every cached frame sequence. Frame sequences that are already open remain playable.
+   */
+  public void clear() {
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      //noinspection ResultOfMethodCallIgnored
+      file.delete();
+    }
+  }
+
+  private static String sequenceKey(String cacheKey, int width, int height, @Nullable String markerName,
+      @Nullable String dynamicPropertiesKey) {
+    return cacheKey + "_" + width + "x" + height + "_" + markerName + "_" + dynamicPropertiesKey;
+  }
+
+  static String fileName(String sequenceKey) {
+    String name = sequenceKey.replaceAll("\\W+", "");
+    // Keep file names well under the file system limit. The hash disambiguates keys with the same prefix.
+    if (name.length() > 100) {
+      name = name.substring(0, 100);
+    }
+    return name + "_" + Integer.toHexString(sequenceKey.hashCode()) + EXTENSION;
+  }
+}
@@ -0,0 +1,223 @@
+package com.airbnb.lottie;
+
+import android.graphics.LinearGradient;
+import android.graphics.RadialGradient;
+import android.graphics.Shader;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import com.airbnb.lottie.model.content.GradientType;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gradient shaders keyed by everything that they are created from: their type, points, colors and color positions.
+ * Once the cache is full, the least recently used gradient is dropped.
+ * <p>
+ * The cache returned by {@link LottieComposition#getGradientCache()} is shared by every gradient fill that draws the
+ * composition, across layers and drawables, possibly on several threads at once. Shaders from it must not be
+ * modified, so fills draw them with the layer transform applied to the canvas rather than with a local matrix.
+ * Gradient strokes are drawn with a local matrix so each one has a cache of its own.
+ * <p>
+ * This is thread safe.
+ */
+public class GradientCache {
+  public static final int DEFAULT_MAX_SIZE = 100;
+
+  /* Access ordered so that the first entry is the least recently used gradient. */
+  private final LinkedHashMap<GradientKey, Shader> gradients = new LinkedHashMap<>(16, 0.75f, true);
+  /* Reused to look up gradients without allocating. Only used while holding the lock. */
+  private final GradientKey lookupKey = new GradientKey();
+  private int maxSize = DEFAULT_MAX_SIZE;
+
+  private int hitCount;
+  private int missCount;
+  private int evictionCount;
+
+  GradientCache() {
+  }
+
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public GradientCache(int maxSize) {
+    resize(maxSize);
+  }
+
+  /**
+   * Returns a linear gradient from (x0, y0) to (x1, y1), creating it if it isn't cached.
+   */
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public synchronized LinearGradient getLinearGradient(
+      float x0, float y0, float x1, float y1, int[] colors, @Nullable float[] positions) {
+    lookupKey.set(GradientType.LINEAR, x0, y0, x1, y1, colors, positions);
+    LinearGradient gradient = (LinearGradient) get(lookupKey);
+    if (gradient == null) {
+      gradient = new LinearGradient(x0, y0, x1, y1, colors, positions, Shader.TileMode.CLAMP);
+      put(lookupKey, gradient);
+    }
+    return gradient;
+  }
+
+  /**
+   * Returns a radial gradient centered at (x, y), creating it if it isn't cached.
+   */
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public synchronized RadialGradient getRadialGradient(
+      float x, float y, float radius, int[] colors, @Nullable float[] positions) {
+    lookupKey.set(GradientType.RADIAL, x, y, radius, 0f, colors, positions);
+    RadialGradient gradient = (RadialGradient) get(lookupKey);
+    if (gradient == null) {
+      gradient = new RadialGradient(x, y, radius, colors, positions, Shader.TileMode.CLAMP);
+      put(lookupKey, gradient);
+    }
+    return gradient;
+  }
+
+  @Nullable
+  private Shader get(GradientKey key) {
+    Shader gradient = gradients.get(key);
+    if (gradient == null) {
+      missCount++;
+    } else {
+      hitCount++;
+    }
+    return gradient;
+  }
+
+  private void put(GradientKey key, Shader gradient) {
+    gradients.put(key.copy(), gradient);
+    trimToSize();
+  }
+
+  private void trimToSize() {
+    Iterator<Map.Entry<GradientKey, Shader>> it = gradients.entrySet().iterator();
+    while (gradients.size() > maxSize && it.hasNext()) {
+      it.next();
+      it.remove();
+      evictionCount++;
+    }
+  }
+
+  /**
+   * Set the maximum number of gradients to keep cached. This must be {@literal >} 0.
+   */
+  public synchronized void resize(int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be > 0 but was " + maxSize + ".");
+    }
+    this.maxSize = maxSize;
+    trimToSize();
+  }
+
+  public synchronized void clear() {
+    gradients.clear();
+  }
+
+  public synchronized int getSize() {
+    return gradients.size();
+  }
+
+  public synchronized int getMaxSize() {
+    return maxSize;
+  }
+
+  public synchronized int getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized int getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * The number of gradients that were dropped to stay within the maximum size.
+   */
+  public synchronized int getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * The fraction of gradients that were drawn from the cache, from 0 to 1.
+   */
+  public synchronized float getHitRate() {
+    int total = hitCount + missCount;
+    return total == 0 ? 0f : hitCount / (float) total;
+  }
+
+  public synchronized void resetMetrics() {
+    hitCount = 0;
+    missCount = 0;
+    evictionCount = 0;
+  }
+
+  private static final class GradientKey {
+    private GradientType type;
+    private float x0;
+    private float y0;
+    private float x1;
+    private float y1;
+    private int[] colors;
+    @Nullable private float[] positions;
+    private int hashCode;
+
+    void set(GradientType type, float x0, float y0, float x1, float y1, int[] colors, @Nullable float[] positions) {
+      this.type = type;
+      this.x0 = x0;
+      this.y0 = y0;
+      this.x1 = x1;
+      this.y1 = y1;
+      this.colors = colors;
+      this.positions = positions;
+
+      int result = type.hashCode();
+      result = 31 * result + Float.floatToIntBits(x0);
+      result = 31 * result + Float.floatToIntBits(y0);
+      result = 31 * result + Float.floatToIntBits(x1);
+      result = 31 * result + Float.floatToIntBits(y1);
+      result = 31 * result + Arrays.hashCode(colors);
+      result = 31 * result + Arrays.hashCode(positions);
+      hashCode = result;
+    }
+
+    /**
+     * Copies the arrays too because the colors and positions of an animated gradient are updated in place.
+     */
+    GradientKey copy() {
+      GradientKey key = new GradientKey();
+      key.type = type;
+      key.x0 = x0;
+      key.y0 = y0;
+      key.x1 = x1;
+      key.y1 = y1;
+      key.colors = colors.clone();
+      key.positions = positions == null ? null : positions.clone();
+      key.hashCode = hashCode;
+      return key;
+    }
+
+    @Override public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof GradientKey)) {
+        return false;
+      }
+      GradientKey that = (GradientKey) o;
+      return hashCode == that.hashCode &&
+          type == that.type &&
+          Float.floatToIntBits(x0) == Float.floatToIntBits(that.x0) &&
+          Float.floatToIntBits(y0) == Float.floatToIntBits(that.y0) &&
+          Float.floatToIntBits(x1) == Float.floatToIntBits(that.x1) &&
+          Float.floatToIntBits(y1) == Float.floatToIntBits(that.y1) &&
+          Arrays.equals(colors, that.colors) &&
+          Arrays.equals(positions, that.positions);
+    }
+
+    @Override public int hashCode() {
+      return hashCode;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.airbnb.lottie;
 import android.content.Context;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 import androidx.core.os.TraceCompat;
 
@@ -11,6 +12,7 @@ import com.airbnb.lottie.network.LottieNetworkCacheProvider;
 import com.airbnb.lottie.network.LottieNetworkFetcher;
 import com.airbnb.lottie.network.NetworkCache;
 import com.airbnb.lottie.network.NetworkFetcher;
+import com.airbnb.lottie.utils.Logger;
 
 import java.io.File;
 
@@ -26,12 +28,14 @@ public class L {
   private static long[] startTimeNs;
   private static int traceDepth = 0;
   private static int depthPastMaxDepth = 0;
+  private static int layerRenderThreadCount = 0;
 
   private static LottieNetworkFetcher fetcher;
   private static LottieNetworkCacheProvider cacheProvider;
 
   private static volatile NetworkFetcher networkFetcher;
   private static volatile NetworkCache networkCache;
+  @Nullable private static volatile LottieEventListener eventListener;
 
   private L() {
   }
@@ -47,6 +51,21 @@ public class L {
     }
   }
 
+  public static boolean isTraceEnabled() {
+    return traceEnabled;
+  }
+
+  public static void setLayerRenderThreadCount(int threadCount) {
+    layerRenderThreadCount = threadCount;
+  }
+
+  /**
+   * The number of worker threads used for parallel layer rendering or 0 to pick one based on the number of cores.
+   */
+  public static int getLayerRenderThreadCount() {
+    return layerRenderThreadCount;
+  }
+
   public static void beginSection(String section) {
     if (!traceEnabled) {
       return;
@@ -89,6 +108,42 @@ public class L {
     cacheProvider = customProvider;
   }
 
+  public static void setEventListener(@Nullable LottieEventListener listener) {
+    eventListener = listener;
+  }
+
+  /**
+   * Call sites can check this to avoid doing extra work, such as measuring bytes, when nobody is listening.
+   */
+  public static boolean hasEventListener() {
+    return eventListener != null;
+  }
+
+  /**
+   * Reports a load stage that started at startTimeNanos ({@link System#nanoTime()}) and just finished.
+   */
+  public static void onEvent(LottieEvent.Stage stage, @Nullable LottieEvent.SourceType sourceType, @Nullable String key,
+      long startTimeNanos, long bytes, LottieEvent.Outcome outcome, @Nullable Throwable error) {
+    onEvent(stage, sourceType, key, null, startTimeNanos, bytes, outcome, error);
+  }
+
+  /**
+   * Reports a stage for a single image asset of the composition with the given cache key.
+   */
+  public static void onEvent(LottieEvent.Stage stage, @Nullable LottieEvent.SourceType sourceType, @Nullable String key,
+      @Nullable String assetId, long startTimeNanos, long bytes, LottieEvent.Outcome outcome, @Nullable Throwable error) {
+    LottieEventListener listener = eventListener;
+    if (listener == null) {
+      return;
+    }
+    long durationNanos = System.nanoTime() - startTimeNanos;
+    try {
+      listener.onEvent(new LottieEvent(stage, sourceType, key, assetId, startTimeNanos, durationNanos, bytes, outcome, error));
+    } catch (RuntimeException e) {
+      Logger.warning("LottieEventListener threw an exception.", e);
+    }
+  }
+
   @NonNull
   public static NetworkFetcher networkFetcher(@NonNull Context context) {
     NetworkFetcher local = networkFetcher;
@@ -19,5 +19,7 @@ public class Lottie {
     L.setFetcher(lottieConfig.networkFetcher);
     L.setCacheProvider(lottieConfig.cacheProvider);
     L.setTraceEnabled(lottieConfig.enableSystraceMarkers);
+    L.setEventListener(lottieConfig.eventListener);
+    L.setLayerRenderThreadCount(lottieConfig.layerRenderThreadCount);
   }
 }
\ No newline at end of file
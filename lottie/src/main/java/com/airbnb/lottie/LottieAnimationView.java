@@ -10,6 +10,8 @@ import android.content.res.TypedArray;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.ColorFilter;
+import android.graphics.Rect;
+import android.graphics.RectF;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.os.Parcel;
@@ -69,6 +71,12 @@ import java.util.concurrent.Callable;
 @SuppressWarnings({"WeakerAccess"}) public class LottieAnimationView extends AppCompatImageView {
 
   private static final String TAG = LottieAnimationView.class.getSimpleName();
+  /**
+   * 16MB. Roughly 100 frames of a 200x200 animation.
+   *
+   * @see #setFrameCacheMaxBytes(long)
+   */
+  public static final long DEFAULT_FRAME_CACHE_MAX_BYTES = 16 * 1024 * 1024;
   private static final LottieListener<Throwable> DEFAULT_FAILURE_LISTENER = new LottieListener<Throwable>() {
     @Override public void onResult(Throwable throwable) {
       // By default, fail silently for network errors.
@@ -116,6 +124,8 @@ import java.util.concurrent.Callable;
   private boolean autoPlay = false;
   private boolean cacheComposition = true;
   private RenderMode renderMode = RenderMode.AUTOMATIC;
+  private long frameCacheMaxBytes = DEFAULT_FRAME_CACHE_MAX_BYTES;
+  private final RectF dirtyRegion = new RectF();
   private final Set<LottieOnCompositionLoadedListener> lottieOnCompositionLoadedListeners = new HashSet<>();
   /**
    * Prevents a StackOverflowException on 4.4 in which getDrawingCache() calls buildDrawingCache().
@@ -228,6 +238,9 @@ import java.util.concurrent.Callable;
         )
     );
 
+    setUseCompositionFrameRate(ta.getBoolean(R.styleable.LottieAnimationView_lottie_useCompositionFrameRate, false));
+    setMaxFrameRate(ta.getFloat(R.styleable.LottieAnimationView_lottie_maxFrameRate, 0f));
+
     ta.recycle();
 
     lottieDrawable.setSystemAnimationsAreEnabled(Utils.getAnimationScale(getContext()) != 0f);
@@ -262,8 +275,11 @@ import java.util.concurrent.Callable;
 
   @Override public void invalidateDrawable(@NonNull Drawable dr) {
     if (getDrawable() == lottieDrawable) {
+      if (dr == lottieDrawable && lottieDrawable.getDirtyBounds() != lottieDrawable.getBounds()) {
+        invalidateDrawableRegion(lottieDrawable.getDirtyBounds());
+        return;
+      }
       // We always want to invalidate the root drawable so it redraws the whole drawable.
-      // Eventually it would be great to be able to invalidate just the changed region.
       super.invalidateDrawable(lottieDrawable);
     } else {
       // Otherwise work as regular ImageView
@@ -271,6 +287,65 @@ import java.util.concurrent.Callable;
     }
   }
 
+  /**
+   * ImageView always invalidates the whole view for its drawable because it is transformed by the image matrix.
+   * This maps the region instead.
+   *
+   * @see LottieDrawable#setDirtyRegionInvalidationEnabled(boolean)
+   */
+  @SuppressWarnings("deprecation")
+  private void invalidateDrawableRegion(Rect dirty) {
+    dirtyRegion.set(dirty);
+    getImageMatrix().mapRect(dirtyRegion);
+    int left = getPaddingLeft() + getScrollX();
+    int top = getPaddingTop() + getScrollY();
+    invalidate(
+        left + (int) Math.floor(dirtyRegion.left),
+        top + (int) Math.floor(dirtyRegion.top),
+        left + (int) Math.ceil(dirtyRegion.right),
+        top + (int) Math.ceil(dirtyRegion.bottom));
+  }
+
+  /**
+   * @see LottieDrawable#setDirtyRegionInvalidationEnabled(boolean)
+   */
+  public void setDirtyRegionInvalidationEnabled(boolean enabled) {
+    lottieDrawable.setDirtyRegionInvalidationEnabled(enabled);
+  }
+
+  public boolean isDirtyRegionInvalidationEnabled() {
+    return lottieDrawable.isDirtyRegionInvalidationEnabled();
+  }
+
+  /**
+   * @see LottieDrawable#setShowDirtyRegions(boolean)
+   */
+  public void setShowDirtyRegions(boolean show) {
+    lottieDrawable.setShowDirtyRegions(show);
+  }
+
+  /**
+   * @see LottieDrawable#setParallelLayerRenderingEnabled(boolean)
+   */
+  public void setParallelLayerRenderingEnabled(boolean enabled) {
+    lottieDrawable.setParallelLayerRenderingEnabled(enabled);
+  }
+
+  public boolean isParallelLayerRenderingEnabled() {
+    return lottieDrawable.isParallelLayerRenderingEnabled();
+  }
+
+  /**
+   * @see LottieDrawable#setAsyncRenderingEnabled(boolean)
+   */
+  public void setAsyncRenderingEnabled(boolean enabled) {
+    lottieDrawable.setAsyncRenderingEnabled(enabled);
+  }
+
+  public boolean isAsyncRenderingEnabled() {
+    return lottieDrawable.isAsyncRenderingEnabled();
+  }
+
   @Override protected Parcelable onSaveInstanceState() {
     Parcelable superState = super.onSaveInstanceState();
     SavedState ss = new SavedState(superState);
@@ -1107,9 +1182,85 @@ import java.util.concurrent.Callable;
    */
   public void setRenderMode(RenderMode renderMode) {
     this.renderMode = renderMode;
+    if (renderMode == RenderMode.CACHED_FRAMES) {
+      lottieDrawable.enableFrameCache(frameCacheMaxBytes);
+    } else {
+      lottieDrawable.disableFrameCache();
+    }
     enableOrDisableHardwareLayer();
   }
 
+  /**
+   * The maximum memory used for cached frames when {@link RenderMode#CACHED_FRAMES} is used.
+   * Defaults to {@link #DEFAULT_FRAME_CACHE_MAX_BYTES}.
+   */
+  public void setFrameCacheMaxBytes(long maxBytes) {
+    frameCacheMaxBytes = maxBytes;
+    if (renderMode == RenderMode.CACHED_FRAMES) {
+      lottieDrawable.enableFrameCache(maxBytes);
+    }
+  }
+
+  /**
+   * Returns the frame cache and its hit rate metrics when {@link RenderMode#CACHED_FRAMES} is used.
+   */
+  @Nullable
+  public FrameCache getFrameCache() {
+    return lottieDrawable.getFrameCache();
+  }
+
+  /**
+   * @see LottieDrawable#clearFrameCache()
+   */
+  public void clearFrameCache() {
+    lottieDrawable.clearFrameCache();
+  }
+
+  /**
+   * @see LottieDrawable#setFrameSequence(FrameSequence)
+   */
+  public void setFrameSequence(@Nullable FrameSequence frameSequence) {
+    lottieDrawable.setFrameSequence(frameSequence);
+  }
+
+  @Nullable
+  public FrameSequence getFrameSequence() {
+    return lottieDrawable.getFrameSequence();
+  }
+
+  /**
+   * @see LottieDrawable#setStaticLayerCacheEnabled(boolean)
+   */
+  public void setStaticLayerCacheEnabled(boolean enabled) {
+    lottieDrawable.setStaticLayerCacheEnabled(enabled);
+  }
+
+  public boolean isStaticLayerCacheEnabled() {
+    return lottieDrawable.isStaticLayerCacheEnabled();
+  }
+
+  /**
+   * @see LottieDrawable#setUseCompositionFrameRate(boolean)
+   */
+  public void setUseCompositionFrameRate(boolean useCompositionFrameRate) {
+    lottieDrawable.setUseCompositionFrameRate(useCompositionFrameRate);
+  }
+
+  public boolean getUseCompositionFrameRate() {
+    return lottieDrawable.getUseCompositionFrameRate();
+  }
+
+  /**
+   * @see LottieDrawable#setMaxFrameRate(float)
+   */
+  public void setMaxFrameRate(float maxFrameRate) {
+    lottieDrawable.setMaxFrameRate(maxFrameRate);
+  }
+
+  public float getMaxFrameRate() {
+    return lottieDrawable.getMaxFrameRate();
+  }
+
   /**
    * Sets whether to apply opacity to the each layer instead of shape.
    * <p>
@@ -1148,6 +1299,10 @@ import java.util.concurrent.Callable;
       case SOFTWARE:
         layerType = LAYER_TYPE_SOFTWARE;
         break;
+      case CACHED_FRAMES:
+        // Frames are drawn from bitmaps which are cheap to draw directly. A layer would just add another copy.
+        layerType = LAYER_TYPE_NONE;
+        break;
       case AUTOMATIC:
         boolean useHardwareLayer = true;
         if (composition != null && composition.hasDashPattern() && Build.VERSION.SDK_INT < Build.VERSION_CODES.P) {
@@ -0,0 +1,280 @@
+package com.airbnb.lottie;
+
+import static okio.Okio.buffer;
+import static okio.Okio.source;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.airbnb.lottie.utils.ByteBufferSource;
+import com.airbnb.lottie.utils.Utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import okio.BufferedSource;
+import okio.GzipSource;
+import okio.Source;
+
+/**
+ * A single file that contains many animations and their images.
+ * <p>
+ * Opening hundreds of small assets is slow. A bundle is opened once, its header index is read into memory and
+ * then any animation can be loaded by name with {@link LottieCompositionFactory#fromBundle(LottieBundle, String)}
+ * by seeking directly to its offset. Images that are shared between animations are only stored once.
+ * <p>
+ * Bundles are written at build time from a folder of animations by LottieBundleWriter in the lottie-bundle-writer
+ * module. The format is big endian:
+ * <pre>
+ * magic          int    'LBND'
+ * version        int
+ * dataOffset     long   start of the data section, from the start of the file
+ * animationCount int
+ *   name         utf8
+ *   flags        byte   {@link #FLAG_GZIP} if the json is gzipped
+ *   offset       long   from the start of the data section
+ *   length       int
+ *   imageCount   int
+ *     fileName   utf8   the file name the animation uses for the image
+ *     imageIndex int
+ * imageCount     int
+ *   offset       long
+ *   length       int
+ * </pre>
+ * Strings are written as a short byte length followed by utf8 bytes. Every offset and length is checked against the
+ * size of the bundle when it is opened.
+ */
+public class LottieBundle {
+  /* These must match LottieBundleWriter. */
+  static final int MAGIC = 0x4C424E44;
+  static final int VERSION = 1;
+  static final int FLAG_GZIP = 1;
+
+  private final ByteBuffer buffer;
+  private final String cacheKey;
+  private final Map<String, AnimationEntry> animations;
+  private final DataEntry[] images;
+
+  /**
+   * Opens a bundle from a file on disk. The file is memory mapped so only the pages that are read are loaded.
+   */
+  @WorkerThread
+  public static LottieBundle open(File file) throws IOException {
+    return new LottieBundle(LottieCompositionFactory.mapFile(file), "bundle_" + file.getAbsolutePath());
+  }
+
+  /**
+   * Opens a bundle from src/main/assets.
+   * <p>
+   * If the asset is stored uncompressed in the apk (add the extension to aaptOptions.noCompress), it will be memory
+   * mapped straight out of the apk. Otherwise, it will be read into memory once.
+   */
+  @WorkerThread
+  public static LottieBundle openAsset(Context context, String fileName) throws IOException {
+    String cacheKey = "bundle_asset_" + fileName;
+    AssetFileDescriptor fd = null;
+    try {
+      fd = context.getAssets().openFd(fileName);
+    } catch (IOException e) {
+      // The asset is compressed.
+    }
+    if (fd != null) {
+      FileInputStream fileInputStream = null;
+      try {
+        fileInputStream = fd.createInputStream();
+        ByteBuffer mapped = fileInputStream.getChannel()
+            .map(FileChannel.MapMode.READ_ONLY, fd.getStartOffset(), fd.getLength());
+        return new LottieBundle(mapped, cacheKey);
+      } finally {
+        Utils.closeQuietly(fileInputStream);
+        fd.close();
+      }
+    }
+
+    InputStream inputStream = context.getAssets().open(fileName);
+    try {
+      return new LottieBundle(ByteBuffer.wrap(buffer(source(inputStream)).readByteArray()), cacheKey);
+    } finally {
+      Utils.closeQuietly(inputStream);
+    }
+  }
+
+  LottieBundle(ByteBuffer buffer, String cacheKey) throws IOException {
+    this.buffer = buffer;
+    this.cacheKey = cacheKey;
+
+    BufferedSource header = buffer(new ByteBufferSource(buffer.duplicate()));
+    if (header.readInt() != MAGIC) {
+      throw new IOException("Not a Lottie bundle.");
+    }
+    int version = header.readInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported Lottie bundle version " + version);
+    }
+    long dataOffset = header.readLong();
+    if (dataOffset < 0 || dataOffset > buffer.capacity()) {
+      throw new IOException("Invalid Lottie bundle data offset " + dataOffset);
+    }
+
+    int animationCount = readCount(header);
+    Map<String, AnimationEntry> animations = new LinkedHashMap<>(animationCount);
+    for (int i = 0; i < animationCount; i++) {
+      String name = readString(header);
+      int flags = header.readByte();
+      long offset = readOffset(header, dataOffset);
+      int length = readLength(header, offset);
+      int imageCount = readCount(header);
+      Map<String, Integer> imageRefs = new HashMap<>(imageCount);
+      for (int j = 0; j < imageCount; j++) {
+        String imageFileName = readString(header);
+        imageRefs.put(imageFileName, header.readInt());
+      }
+      animations.put(name, new AnimationEntry(offset, length, flags, imageRefs));
+    }
+    this.animations = Collections.unmodifiableMap(animations);
+
+    int imageCount = readCount(header);
+    images = new DataEntry[imageCount];
+    for (int i = 0; i < imageCount; i++) {
+      long offset = readOffset(header, dataOffset);
+      images[i] = new DataEntry(offset, readLength(header, offset));
+    }
+  }
+
+  /**
+   * Returns the names of every animation in this bundle in the order they were written.
+   */
+  public Set<String> getAnimationNames() {
+    return animations.keySet();
+  }
+
+  public boolean hasAnimation(String name) {
+    return animations.containsKey(name);
+  }
+
+  /**
+   * The cache key that {@link LottieCompositionFactory#fromBundle(LottieBundle, String)} uses for an animation.
+   */
+  public String getCacheKey(String name) {
+    return cacheKey + "_" + name;
+  }
+
+  /**
+   * Returns a source for the animation json or null if there is no animation with that name.
+   */
+  @Nullable
+  Source openAnimation(String name) {
+    AnimationEntry entry = animations.get(name);
+    if (entry == null) {
+      return null;
+    }
+    Source source = new ByteBufferSource(slice(entry));
+    if ((entry.flags & FLAG_GZIP) != 0) {
+      source = new GzipSource(source);
+    }
+    return source;
+  }
+
+  /**
+   * Returns the size of the animation json as it is stored in the bundle or -1 if there is no animation with that name.
+   */
+  long getAnimationLength(String name) {
+    AnimationEntry entry = animations.get(name);
+    return entry == null ? -1 : entry.length;
+  }
+
+  /**
+   * Returns a source for an image that the animation refers to by fileName or null if the bundle doesn't contain it.
+   */
+  @Nullable
+  Source openImage(String name, String fileName) {
+    AnimationEntry entry = animations.get(name);
+    if (entry == null) {
+      return null;
+    }
+    Integer imageIndex = entry.imageRefs.get(fileName);
+    if (imageIndex == null || imageIndex < 0 || imageIndex >= images.length) {
+      return null;
+    }
+    return new ByteBufferSource(slice(images[imageIndex]));
+  }
+
+  /**
+   * Each caller gets its own view of the buffer so animations can be loaded from several threads at once. Entries were
+   * checked to be within the buffer when it was opened so they fit in an int.
+   */
+  private ByteBuffer slice(DataEntry entry) {
+    ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position((int) entry.offset);
+    duplicate.limit((int) entry.offset + entry.length);
+    return duplicate.slice();
+  }
+
+  /**
+   * Reads the number of entries in a list. Each one takes at least a byte so there can't be more than there are bytes.
+   */
+  private int readCount(BufferedSource header) throws IOException {
+    int count = header.readInt();
+    if (count < 0 || count > buffer.capacity()) {
+      throw new IOException("Invalid Lottie bundle entry count " + count);
+    }
+    return count;
+  }
+
+  /**
+   * Reads an offset relative to the data section and returns it relative to the start of the bundle.
+   */
+  private long readOffset(BufferedSource header, long dataOffset) throws IOException {
+    long offset = header.readLong();
+    if (offset < 0 || offset > buffer.capacity() - dataOffset) {
+      throw new IOException("Invalid Lottie bundle offset " + offset);
+    }
+    return dataOffset + offset;
+  }
+
+  private int readLength(BufferedSource header, long offset) throws IOException {
+    int length = header.readInt();
+    if (length < 0 || length > buffer.capacity() - offset) {
+      throw new IOException("Invalid Lottie bundle entry length " + length + " at offset " + offset);
+    }
+    return length;
+  }
+
+  private static String readString(BufferedSource source) throws IOException {
+    int length = source.readShort() & 0xFFFF;
+    return source.readUtf8(length);
+  }
+
+  private static class DataEntry {
+    final long offset;
+    final int length;
+
+    DataEntry(long offset, int length) {
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+
+  private static class AnimationEntry extends DataEntry {
+    final int flags;
+    final Map<String, Integer> imageRefs;
+
+    AnimationEntry(long offset, int length, int flags, Map<String, Integer> imageRefs) {
+      super(offset, length);
+      this.flags = flags;
+      this.imageRefs = imageRefs;
+    }
+  }
+}
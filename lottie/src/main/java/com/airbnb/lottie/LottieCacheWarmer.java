@@ -0,0 +1,185 @@
+package com.airbnb.lottie;
+
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.graphics.Bitmap;
+import android.os.Process;
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.airbnb.lottie.model.CompositionAccessTracker;
+import com.airbnb.lottie.model.LottieCompositionCache;
+import com.airbnb.lottie.utils.Logger;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Preloads the animations that are used most often into the in-memory composition cache when the app starts so that
+ * the first screen doesn't have to wait for them to be parsed.
+ * <p>
+ * Once started, every cache key requested through {@link LottieCompositionFactory} is counted and the counts are
+ * persisted to a small file in the cache directory. On the next launch, the most frequently used compositions are
+ * loaded on a low priority background thread until either budget runs out. The estimated size of each composition is
+ * persisted too so that warming stops before a composition that would not fit in the remaining memory budget is
+ * loaded. A composition whose size isn't known yet is loaded once to measure it.
+ * <p>
+ * Only compositions that can be loaded without a network request are warmed: assets, raw resources, files and
+ * urls that are already in the network cache.
+ */
+public class LottieCacheWarmer {
+  private static final String FILE_NAME = "lottie_composition_access";
+  /* Rough size of a parsed layer and its animations. The images are counted separately. */
+  private static final int ESTIMATED_LAYER_BYTES = 2048;
+
+  @Nullable private static volatile CompositionAccessTracker tracker;
+
+  private LottieCacheWarmer() {
+  }
+
+  /**
+   * Start counting composition accesses and warm the cache with the most frequently used compositions.
+   * This returns immediately. Call it once from Application.onCreate.
+   *
+   * @param maxCompositions   the maximum number of compositions to load.
+   * @param timeBudgetMillis  no new compositions will be loaded once this much time has passed since this was called.
+   * @param memoryBudgetBytes the maximum estimated size of all warmed compositions.
+   */
+  public static void start(Context context, final int maxCompositions, final long timeBudgetMillis, final long memoryBudgetBytes) {
+    if (tracker != null) {
+      return;
+    }
+    final Context appContext = context.getApplicationContext();
+    final long deadline = SystemClock.elapsedRealtime() + timeBudgetMillis;
+    final CompositionAccessTracker newTracker = new CompositionAccessTracker(
+        new File(appContext.getCacheDir(), FILE_NAME), appVersion(appContext), LottieTask.EXECUTOR);
+    tracker = newTracker;
+
+    Thread thread = new Thread(new Runnable() {
+      @Override public void run() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+        newTracker.load();
+        warm(appContext, newTracker, newTracker.getMostAccessedKeys(maxCompositions), deadline, memoryBudgetBytes);
+      }
+    }, "LottieCacheWarmer");
+    thread.start();
+  }
+
+  static void recordAccess(@Nullable String cacheKey) {
+    CompositionAccessTracker tracker = LottieCacheWarmer.tracker;
+    if (tracker != null) {
+      tracker.recordAccess(cacheKey);
+    }
+  }
+
+  static void recordSize(@Nullable String cacheKey, LottieComposition composition) {
+    CompositionAccessTracker tracker = LottieCacheWarmer.tracker;
+    if (tracker != null) {
+      tracker.recordSize(cacheKey, estimateSize(composition));
+    }
+  }
+
+  @WorkerThread
+  private static void warm(Context context, CompositionAccessTracker tracker, List<String> cacheKeys, long deadline,
+      long memoryBudgetBytes) {
+    L.beginSection("LottieCacheWarmer#warm");
+    long usedBytes = 0;
+    int warmed = 0;
+    for (String cacheKey : cacheKeys) {
+      if (SystemClock.elapsedRealtime() >= deadline) {
+        Logger.debug("Lottie cache warmer ran out of time.");
+        break;
+      }
+      if (usedBytes >= memoryBudgetBytes) {
+        Logger.debug("Lottie cache warmer ran out of memory budget.");
+        break;
+      }
+      if (LottieCompositionCache.getInstance().get(cacheKey) != null) {
+        continue;
+      }
+      if (usedBytes + tracker.getEstimatedSize(cacheKey) > memoryBudgetBytes) {
+        Logger.debug("Lottie cache warmer ran out of memory budget.");
+        break;
+      }
+      LottieComposition composition = load(context, cacheKey);
+      if (composition == null) {
+        continue;
+      }
+      long size = estimateSize(composition);
+      tracker.recordSize(cacheKey, size);
+      if (usedBytes + size > memoryBudgetBytes) {
+        // Its size wasn't known or it grew since it was last loaded. Next time, it won't be loaded at all.
+        Logger.debug("Lottie cache warmer ran out of memory budget.");
+        break;
+      }
+      usedBytes += size;
+      // The composition may have been requested and cached while it was being loaded.
+      if (LottieCompositionCache.getInstance().get(cacheKey) == null) {
+        LottieCompositionCache.getInstance().put(cacheKey, composition);
+        warmed++;
+      }
+    }
+    Logger.debug("Lottie cache warmer loaded " + warmed + " compositions (" + usedBytes + " bytes).");
+    L.endSection("LottieCacheWarmer#warm");
+  }
+
+  /**
+   * Maps the cache keys that {@link LottieCompositionFactory} generates by default back to their source.
+   * Custom cache keys can't be warmed.
+   */
+  @Nullable
+  @WorkerThread
+  private static LottieComposition load(Context context, String cacheKey) {
+    LottieResult<LottieComposition> result;
+    if (cacheKey.startsWith("asset_")) {
+      result = LottieCompositionFactory.fromAssetSync(context, cacheKey.substring("asset_".length()), null);
+    } else if (cacheKey.startsWith("file_")) {
+      File file = new File(cacheKey.substring("file_".length()));
+      if (!file.exists()) {
+        return null;
+      }
+      result = LottieCompositionFactory.fromFileSync(file, null);
+    } else if (cacheKey.startsWith("url_")) {
+      return L.networkFetcher(context).fetchFromCacheSync(cacheKey.substring("url_".length()), cacheKey);
+    } else if (cacheKey.startsWith("rawRes_")) {
+      int resId;
+      try {
+        resId = Integer.parseInt(cacheKey.substring(cacheKey.lastIndexOf('_') + 1));
+      } catch (NumberFormatException e) {
+        return null;
+      }
+      // Skip the other day/night variant.
+      if (!cacheKey.equals(LottieCompositionFactory.rawResCacheKey(context, resId))) {
+        return null;
+      }
+      result = LottieCompositionFactory.fromRawResSync(context, resId, null);
+    } else {
+      return null;
+    }
+    if (result.getException() != null) {
+      Logger.debug("Unable to warm " + cacheKey + ": " + result.getException());
+    }
+    return result.getValue();
+  }
+
+  private static long estimateSize(LottieComposition composition) {
+    long size = (long) composition.getLayers().size() * ESTIMATED_LAYER_BYTES;
+    for (LottieImageAsset asset : composition.getImages().values()) {
+      Bitmap bitmap = asset.getBitmap();
+      if (bitmap != null) {
+        size += bitmap.getByteCount();
+      }
+    }
+    return size;
+  }
+
+  private static String appVersion(Context context) {
+    try {
+      return String.valueOf(context.getPackageManager().getPackageInfo(context.getPackageName(), 0).lastUpdateTime);
+    } catch (PackageManager.NameNotFoundException e) {
+      return "";
+    }
+  }
+}
@@ -39,6 +39,7 @@ import java.util.Map;
 public class LottieComposition {
 
   private final PerformanceTracker performanceTracker = new PerformanceTracker();
+  private final GradientCache gradientCache = new GradientCache();
   private final HashSet<String> warnings = new HashSet<>();
   private Map<String, List<Layer>> precomps;
   private Map<String, LottieImageAsset> images;
@@ -65,6 +66,10 @@ public class LottieComposition {
    * was only faster until you had ~4 masks after which it would actually become slower.
    */
   private int maskAndMatteCount = 0;
+  /**
+   * The cache key that the composition was parsed with, if any.
+   */
+  @Nullable private String cacheKey;
 
   @RestrictTo(RestrictTo.Scope.LIBRARY)
   public void init(Rect bounds, float startFrame, float endFrame, float frameRate,
@@ -85,6 +90,19 @@ public class LottieComposition {
     this.markers = markers;
   }
 
+  void setCacheKey(@Nullable String cacheKey) {
+    this.cacheKey = cacheKey;
+  }
+
+  /**
+   * Used to report images that are decoded while drawing as part of the load of this composition.
+   */
+  @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+  @Nullable
+  public String getCacheKey() {
+    return cacheKey;
+  }
+
   @RestrictTo(RestrictTo.Scope.LIBRARY)
   public void addWarning(String warning) {
     Logger.warning(warning);
@@ -129,6 +147,14 @@ public class LottieComposition {
     return performanceTracker;
   }
 
+  /**
+   * Returns the gradients shared by the gradient fills of every layer and drawable that draws this composition, along
+   * with its hit rate metrics.
+   */
+  public GradientCache getGradientCache() {
+    return gradientCache;
+  }
+
   @RestrictTo(RestrictTo.Scope.LIBRARY)
   public Layer layerModelForId(long id) {
     return layerMap.get(id);
@@ -15,25 +15,36 @@ import androidx.annotation.RawRes;
 import androidx.annotation.WorkerThread;
 
 import com.airbnb.lottie.model.LottieCompositionCache;
+import com.airbnb.lottie.parser.DotLottieManifestParser;
 import com.airbnb.lottie.parser.LottieCompositionMoshiParser;
 import com.airbnb.lottie.parser.moshi.JsonReader;
+import com.airbnb.lottie.utils.ByteBufferSource;
 import com.airbnb.lottie.utils.Logger;
 import com.airbnb.lottie.utils.Utils;
 
 import org.json.JSONObject;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import okio.BufferedSource;
 import okio.Okio;
+import okio.Source;
 
 /**
  * Helpers to create or cache a LottieComposition.
@@ -92,7 +103,7 @@ public class LottieCompositionFactory {
    * might need an animation in the future.
    */
   public static LottieTask<LottieComposition> fromUrl(final Context context, final String url, @Nullable final String cacheKey) {
-    return cache(cacheKey, new Callable<LottieResult<LottieComposition>>() {
+    return cache(cacheKey, LottieEvent.SourceType.URL, new Callable<LottieResult<LottieComposition>>() {
       @Override
       public LottieResult<LottieComposition> call() {
         LottieResult<LottieComposition> result = L.networkFetcher(context).fetchSync(url, cacheKey);
@@ -155,7 +166,7 @@ public class LottieCompositionFactory {
   public static LottieTask<LottieComposition> fromAsset(Context context, final String fileName, @Nullable final String cacheKey) {
     // Prevent accidentally leaking an Activity.
     final Context appContext = context.getApplicationContext();
-    return cache(cacheKey, new Callable<LottieResult<LottieComposition>>() {
+    return cache(cacheKey, LottieEvent.SourceType.ASSET, new Callable<LottieResult<LottieComposition>>() {
       @Override
       public LottieResult<LottieComposition> call() {
         return fromAssetSync(appContext, fileName, cacheKey);
@@ -226,7 +237,7 @@ public class LottieCompositionFactory {
     // Prevent accidentally leaking an Activity.
     final WeakReference<Context> contextRef = new WeakReference<>(context);
     final Context appContext = context.getApplicationContext();
-    return cache(cacheKey, new Callable<LottieResult<LottieComposition>>() {
+    return cache(cacheKey, LottieEvent.SourceType.RAW_RES, new Callable<LottieResult<LottieComposition>>() {
       @Override
       public LottieResult<LottieComposition> call() {
         @Nullable Context originalContext = contextRef.get();
@@ -272,7 +283,7 @@ public class LottieCompositionFactory {
     }
   }
 
-  private static String rawResCacheKey(Context context, @RawRes int resId) {
+  static String rawResCacheKey(Context context, @RawRes int resId) {
     return "rawRes" + (isNightMode(context) ? "_night_" : "_day_") + resId;
   }
 
@@ -290,7 +301,7 @@ public class LottieCompositionFactory {
    * @see #fromJsonInputStreamSync(InputStream, String, boolean)
    */
   public static LottieTask<LottieComposition> fromJsonInputStream(final InputStream stream, @Nullable final String cacheKey) {
-    return cache(cacheKey, new Callable<LottieResult<LottieComposition>>() {
+    return cache(cacheKey, LottieEvent.SourceType.INPUT_STREAM, new Callable<LottieResult<LottieComposition>>() {
       @Override
       public LottieResult<LottieComposition> call() {
         return fromJsonInputStreamSync(stream, cacheKey);
@@ -319,12 +330,98 @@ public class LottieCompositionFactory {
   }
 
 
+  /**
+   * Parse an animation from a file on disk. Zip and dotLottie files are detected from their header.
+   * The absolute file path will be used as a cache key so future usages won't have to parse the file again.
+   * <p>
+   * To skip the cache, add null as a second parameter.
+   *
+   * @see #fromFileSync(File, String)
+   */
+  public static LottieTask<LottieComposition> fromFile(File file) {
+    return fromFile(file, fileCacheKey(file));
+  }
+
+  /**
+   * Parse an animation from a file on disk. Zip and dotLottie files are detected from their header.
+   * <p>
+   * Pass null as the cache key to skip the cache.
+   *
+   * @see #fromFileSync(File, String)
+   */
+  public static LottieTask<LottieComposition> fromFile(final File file, @Nullable final String cacheKey) {
+    return cache(cacheKey, LottieEvent.SourceType.FILE, new Callable<LottieResult<LottieComposition>>() {
+      @Override
+      public LottieResult<LottieComposition> call() {
+        return fromFileSync(file, cacheKey);
+      }
+    });
+  }
+
+  /**
+   * Parse an animation from a file on disk. Zip and dotLottie files are detected from their header.
+   * The absolute file path will be used as a cache key so future usages won't have to parse the file again.
+   * <p>
+   * To skip the cache, add null as a second parameter.
+   *
+   * @see #fromFileSync(File, String)
+   */
+  @WorkerThread
+  public static LottieResult<LottieComposition> fromFileSync(File file) {
+    return fromFileSync(file, fileCacheKey(file));
+  }
+
+  /**
+   * Parse an animation from a file on disk.
+   * <p>
+   * Json files are memory mapped and handed to the parser directly rather than being copied through stream buffers.
+   * Zip and dotLottie files are opened with {@link ZipFile} so the central directory can be used to jump straight to
+   * the animation and the images it references instead of inflating every entry in the archive.
+   * <p>
+   * Pass null as the cache key to skip the cache.
+   */
+  @WorkerThread
+  public static LottieResult<LottieComposition> fromFileSync(File file, @Nullable String cacheKey) {
+    ByteBuffer mappedFile;
+    try {
+      mappedFile = mapFile(file);
+    } catch (IOException e) {
+      return new LottieResult<>(e);
+    }
+    if (isZipCompressed(mappedFile)) {
+      ZipFile zipFile;
+      try {
+        zipFile = new ZipFile(file);
+      } catch (IOException e) {
+        return new LottieResult<>(e);
+      }
+      return fromZipFileSync(zipFile, cacheKey);
+    }
+    return fromJsonReaderSyncInternal(JsonReader.of(buffer(new ByteBufferSource(mappedFile))), cacheKey,
+        mappedFile.remaining(), true, true);
+  }
+
+  private static String fileCacheKey(File file) {
+    return "file_" + file.getAbsolutePath();
+  }
+
+  static MappedByteBuffer mapFile(File file) throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = randomAccessFile.getChannel();
+      // The mapping remains valid after the channel is closed.
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } finally {
+      closeQuietly(randomAccessFile);
+    }
+  }
+
   /**
    * @see #fromJsonSync(JSONObject, String)
    */
   @Deprecated
   public static LottieTask<LottieComposition> fromJson(final JSONObject json, @Nullable final String cacheKey) {
-    return cache(cacheKey, new Callable<LottieResult<LottieComposition>>() {
+    return cache(cacheKey, LottieEvent.SourceType.JSON, new Callable<LottieResult<LottieComposition>>() {
       @Override
       public LottieResult<LottieComposition> call() {
         //noinspection deprecation
@@ -348,7 +445,7 @@ public class LottieCompositionFactory {
    * @see #fromJsonStringSync(String, String)
    */
   public static LottieTask<LottieComposition> fromJsonString(final String json, @Nullable final String cacheKey) {
-    return cache(cacheKey, new Callable<LottieResult<LottieComposition>>() {
+    return cache(cacheKey, LottieEvent.SourceType.JSON, new Callable<LottieResult<LottieComposition>>() {
       @Override
       public LottieResult<LottieComposition> call() {
         return fromJsonStringSync(json, cacheKey);
@@ -364,12 +461,13 @@ public class LottieCompositionFactory {
   public static LottieResult<LottieComposition> fromJsonStringSync(String json, @Nullable String cacheKey) {
 
 
-    ByteArrayInputStream stream = new ByteArrayInputStream(json.getBytes());
-    return fromJsonReaderSync(JsonReader.of(buffer(source(stream))), cacheKey);
+    byte[] bytes = json.getBytes();
+    ByteArrayInputStream stream = new ByteArrayInputStream(bytes);
+    return fromJsonReaderSyncInternal(JsonReader.of(buffer(source(stream))), cacheKey, bytes.length, true, true);
   }
 
   public static LottieTask<LottieComposition> fromJsonReader(final JsonReader reader, @Nullable final String cacheKey) {
-    return cache(cacheKey, new Callable<LottieResult<LottieComposition>>() {
+    return cache(cacheKey, LottieEvent.SourceType.JSON, new Callable<LottieResult<LottieComposition>>() {
       @Override
       public LottieResult<LottieComposition> call() {
         return fromJsonReaderSync(reader, cacheKey);
@@ -380,19 +478,29 @@ public class LottieCompositionFactory {
 
   @WorkerThread
   public static LottieResult<LottieComposition> fromJsonReaderSync(com.airbnb.lottie.parser.moshi.JsonReader reader, @Nullable String cacheKey) {
-    return fromJsonReaderSyncInternal(reader, cacheKey, true);
+    return fromJsonReaderSyncInternal(reader, cacheKey, -1, true, true);
   }
 
 
+  /**
+   * @param bytes      the size of the json, if it is known, to report to the {@link LottieEventListener}. Otherwise -1.
+   * @param putInCache false if the composition isn't ready to be cached yet, such as when its images still have to be
+   *                   decoded. The cache key is still used to report the parse to the {@link LottieEventListener}.
+   */
   private static LottieResult<LottieComposition> fromJsonReaderSyncInternal(
-      com.airbnb.lottie.parser.moshi.JsonReader reader, @Nullable String cacheKey, boolean close) {
+      com.airbnb.lottie.parser.moshi.JsonReader reader, @Nullable String cacheKey, long bytes, boolean close,
+      boolean putInCache) {
+    long startNanos = System.nanoTime();
     try {
       LottieComposition composition = LottieCompositionMoshiParser.parse(reader);
-      if (cacheKey != null) {
+      composition.setCacheKey(cacheKey);
+      if (cacheKey != null && putInCache) {
         LottieCompositionCache.getInstance().put(cacheKey, composition);
       }
+      L.onEvent(LottieEvent.Stage.PARSE, null, cacheKey, startNanos, bytes, LottieEvent.Outcome.SUCCESS, null);
       return new LottieResult<>(composition);
     } catch (Exception e) {
+      L.onEvent(LottieEvent.Stage.PARSE, null, cacheKey, startNanos, bytes, LottieEvent.Outcome.FAILURE, e);
       return new LottieResult<>(e);
     } finally {
       if (close) {
@@ -403,10 +511,18 @@ public class LottieCompositionFactory {
 
 
   public static LottieTask<LottieComposition> fromZipStream(final ZipInputStream inputStream, @Nullable final String cacheKey) {
-    return cache(cacheKey, new Callable<LottieResult<LottieComposition>>() {
+    return fromZipStream(inputStream, null, cacheKey);
+  }
+
+  /**
+   * @see #fromZipStreamSync(ZipInputStream, String, String)
+   */
+  public static LottieTask<LottieComposition> fromZipStream(final ZipInputStream inputStream, @Nullable final String animationId,
+      @Nullable final String cacheKey) {
+    return cache(cacheKey, LottieEvent.SourceType.ZIP, new Callable<LottieResult<LottieComposition>>() {
       @Override
       public LottieResult<LottieComposition> call() {
-        return fromZipStreamSync(inputStream, cacheKey);
+        return fromZipStreamSync(inputStream, animationId, cacheKey);
       }
     });
   }
@@ -418,17 +534,47 @@ public class LottieCompositionFactory {
    */
   @WorkerThread
   public static LottieResult<LottieComposition> fromZipStreamSync(ZipInputStream inputStream, @Nullable String cacheKey) {
+    return fromZipStreamSync(inputStream, null, cacheKey);
+  }
+
+  /**
+   * Parses a single animation out of a zip or dotLottie input stream.
+   * <p>
+   * If animationId is null, the first animation in manifest.json will be used. If there is no manifest, the last
+   * json file in the archive will be used. A manifest.json that can't be parsed is ignored. Json files for other
+   * animations are skipped without being parsed and images are only decoded if the animation references them.
+   * <p>
+   * When the manifest comes before the animations, as it does in dotLottie files, the animation is parsed as soon as it
+   * is read and other json is skipped without being buffered. Images that come after the animation are decoded or
+   * skipped as they are read. Otherwise, candidate json and images are held in memory until they can be resolved.
+   * <p>
+   * To load several animations from the same file, prefer {@link DotLottieBundle} which doesn't have to rescan the
+   * archive for each one.
+   */
+  @WorkerThread
+  public static LottieResult<LottieComposition> fromZipStreamSync(ZipInputStream inputStream, @Nullable String animationId,
+      @Nullable String cacheKey) {
     try {
-      return fromZipStreamSyncInternal(inputStream, cacheKey);
+      return fromZipStreamSyncInternal(inputStream, animationId, cacheKey);
     } finally {
       closeQuietly(inputStream);
     }
   }
 
   @WorkerThread
-  private static LottieResult<LottieComposition> fromZipStreamSyncInternal(ZipInputStream inputStream, @Nullable String cacheKey) {
+  private static LottieResult<LottieComposition> fromZipStreamSyncInternal(ZipInputStream inputStream, @Nullable String animationId,
+      @Nullable String cacheKey) {
+    // Json is only held until the animation to load is known and images are only held until it has been parsed. In the
+    // usual layout, the manifest comes first, then the animations and then the images. The animation is parsed as soon
+    // as it is read, the other json is skipped and each image is decoded or skipped as it is read.
     LottieComposition composition = null;
-    Map<String, Bitmap> images = new HashMap<>();
+    // Json that the manifest or animationId may pick. Until the manifest has been read, that could be any of them.
+    Map<String, byte[]> animations = new HashMap<>();
+    // The last json is used if there is no manifest or it doesn't list any animations.
+    byte[] lastJson = null;
+    // Null until the manifest has been read.
+    List<String> manifestIds = null;
+    Map<String, byte[]> images = new HashMap<>();
 
     try {
       ZipEntry entry = inputStream.getNextEntry();
@@ -436,35 +582,303 @@ public class LottieCompositionFactory {
         final String entryName = entry.getName();
         if (entryName.contains("__MACOSX")) {
           inputStream.closeEntry();
-        } else if (entry.getName().equalsIgnoreCase("manifest.json")) { //ignore .lottie manifest
+        } else if (entryName.equalsIgnoreCase("manifest.json")) {
+          if (animationId == null && composition == null) {
+            manifestIds = readManifest(inputStream);
+            animations.keySet().retainAll(manifestIds);
+          }
+          inputStream.closeEntry();
+        } else if (entryName.contains(".json")) {
+          String id = DotLottieBundle.animationIdForEntry(entryName);
+          boolean isCandidate = animationId != null ? animationId.equals(id) :
+              manifestIds == null || manifestIds.isEmpty() || manifestIds.contains(id);
+          if (composition != null || !isCandidate) {
+            inputStream.closeEntry();
+          } else {
+            // Don't close the source. That would close the zip stream.
+            lastJson = buffer(source(inputStream)).readByteArray();
+            if (manifestIds == null || !manifestIds.isEmpty()) {
+              animations.put(id, lastJson);
+            }
+          }
+        } else if (DotLottieBundle.isImageEntry(entryName)) {
+          String fileName = DotLottieBundle.fileNameForEntry(entryName);
+          if (composition == null) {
+            images.put(fileName, buffer(source(inputStream)).readByteArray());
+          } else {
+            LottieImageAsset imageAsset = findImageAssetForFileName(composition, fileName);
+            if (imageAsset != null) {
+              decodeZipImage(imageAsset, inputStream, cacheKey);
+            }
+          }
           inputStream.closeEntry();
-        } else if (entry.getName().contains(".json")) {
-          com.airbnb.lottie.parser.moshi.JsonReader reader = JsonReader.of(buffer(source(inputStream)));
-          composition = LottieCompositionFactory.fromJsonReaderSyncInternal(reader, null, false).getValue();
-        } else if (entryName.contains(".png") || entryName.contains(".webp") || entryName.contains(".jpg") || entryName.contains(".jpeg")) {
-          String[] splitName = entryName.split("/");
-          String name = splitName[splitName.length - 1];
-          images.put(name, BitmapFactory.decodeStream(inputStream));
         } else {
           inputStream.closeEntry();
         }
 
+        String resolvedId = animationId != null ? animationId :
+            manifestIds == null || manifestIds.isEmpty() ? null : manifestIds.get(0);
+        if (composition == null && resolvedId != null && animations.containsKey(resolvedId)) {
+          composition = parseZipAnimation(animations.get(resolvedId), cacheKey);
+          if (composition == null) {
+            return new LottieResult<>(new IllegalArgumentException("Unable to parse composition"));
+          }
+          animations.clear();
+          lastJson = null;
+          decodeZipImages(composition, images, cacheKey);
+          images.clear();
+        }
+
         entry = inputStream.getNextEntry();
       }
     } catch (IOException e) {
       return new LottieResult<>(e);
     }
 
-
     if (composition == null) {
-      return new LottieResult<>(new IllegalArgumentException("Unable to parse composition"));
+      byte[] json = null;
+      if (animationId != null) {
+        json = animations.get(animationId);
+        if (json == null) {
+          return new LottieResult<>(new IllegalArgumentException("There is no animation with id " + animationId));
+        }
+      } else {
+        // The first animation in the manifest that exists or else the last json in the archive. Unlike DotLottieBundle,
+        // json that isn't in the manifest was skipped if the manifest came first.
+        for (String id : manifestIds == null ? Collections.<String>emptyList() : manifestIds) {
+          json = animations.get(id);
+          if (json != null) {
+            break;
+          }
+          Logger.warning("The manifest references " + id + " but there is no json for it.");
+        }
+        if (json == null) {
+          json = lastJson;
+        }
+      }
+      composition = json == null ? null : parseZipAnimation(json, cacheKey);
+      if (composition == null) {
+        return new LottieResult<>(new IllegalArgumentException("Unable to parse composition"));
+      }
+      decodeZipImages(composition, images, cacheKey);
     }
 
-    for (Map.Entry<String, Bitmap> e : images.entrySet()) {
+    // Ensure that all bitmaps have been set.
+    for (Map.Entry<String, LottieImageAsset> entry : composition.getImages().entrySet()) {
+      if (entry.getValue().getBitmap() == null) {
+        return new LottieResult<>(new IllegalStateException("There is no image for " + entry.getValue().getFileName()));
+      }
+    }
+
+    if (cacheKey != null) {
+      LottieCompositionCache.getInstance().put(cacheKey, composition);
+    }
+    return new LottieResult<>(composition);
+  }
+
+  @Nullable
+  private static LottieComposition parseZipAnimation(byte[] json, @Nullable String cacheKey) {
+    JsonReader reader = JsonReader.of(buffer(source(new ByteArrayInputStream(json))));
+    return fromJsonReaderSyncInternal(reader, cacheKey, json.length, true, false).getValue();
+  }
+
+  /**
+   * Decodes the images that were read before the composition was parsed. Only the images that it uses are decoded.
+   */
+  private static void decodeZipImages(LottieComposition composition, Map<String, byte[]> images, @Nullable String cacheKey) {
+    for (Map.Entry<String, byte[]> e : images.entrySet()) {
       LottieImageAsset imageAsset = findImageAssetForFileName(composition, e.getKey());
       if (imageAsset != null) {
-        imageAsset.setBitmap(Utils.resizeBitmapIfNeeded(e.getValue(), imageAsset.getWidth(), imageAsset.getHeight()));
+        decodeZipImage(imageAsset, new ByteArrayInputStream(e.getValue()), cacheKey);
+      }
+    }
+  }
+
+  private static void decodeZipImage(LottieImageAsset imageAsset, InputStream imageStream, @Nullable String cacheKey) {
+    long startNanos = System.nanoTime();
+    Bitmap bitmap = BitmapFactory.decodeStream(imageStream);
+    if (bitmap != null) {
+      imageAsset.setBitmap(Utils.resizeBitmapIfNeeded(bitmap, imageAsset.getWidth(), imageAsset.getHeight()));
+    }
+    onImageDecoded(LottieEvent.SourceType.ZIP, cacheKey, imageAsset, startNanos, bitmap, null);
+  }
+
+  /**
+   * Reads the animation ids from the manifest entry that the stream is positioned at. Returns an empty list with a
+   * warning if the manifest can't be parsed, like {@link DotLottieBundle} does.
+   */
+  private static List<String> readManifest(ZipInputStream inputStream) {
+    try {
+      // Don't close the reader. That would close the zip stream.
+      return DotLottieManifestParser.parseAnimationIds(JsonReader.of(buffer(source(inputStream))));
+    } catch (IOException e) {
+      Logger.warning("Unable to parse manifest.json.", e);
+      return Collections.emptyList();
+    }
+  }
+
+  public static LottieTask<LottieComposition> fromZipFile(final ZipFile zipFile, @Nullable final String cacheKey) {
+    return cache(cacheKey, LottieEvent.SourceType.ZIP, new Callable<LottieResult<LottieComposition>>() {
+      @Override
+      public LottieResult<LottieComposition> call() {
+        return fromZipFileSync(zipFile, cacheKey);
       }
+    });
+  }
+
+  /**
+   * Parses a zip file into a Lottie composition.
+   * <p>
+   * Unlike {@link #fromZipStreamSync(ZipInputStream, String)}, this uses the zip central directory to find the
+   * animation and then only inflates the images that the animation actually references.
+   * The zip file will be closed once the composition has been parsed.
+   */
+  @WorkerThread
+  public static LottieResult<LottieComposition> fromZipFileSync(ZipFile zipFile, @Nullable String cacheKey) {
+    try {
+      DotLottieBundle bundle = new DotLottieBundle(zipFile);
+      String animationId = bundle.getDefaultAnimationId();
+      if (animationId == null) {
+        return new LottieResult<>(new IllegalArgumentException("Unable to parse composition"));
+      }
+      return fromDotLottieSync(bundle, animationId, cacheKey);
+    } finally {
+      closeZipFileQuietly(zipFile);
+    }
+  }
+
+  /**
+   * @see #fromDotLottieSync(DotLottieBundle, String, String)
+   */
+  public static LottieTask<LottieComposition> fromDotLottie(final DotLottieBundle bundle, final String animationId,
+      @Nullable final String cacheKey) {
+    return cache(cacheKey, LottieEvent.SourceType.DOT_LOTTIE, new Callable<LottieResult<LottieComposition>>() {
+      @Override
+      public LottieResult<LottieComposition> call() {
+        return fromDotLottieSync(bundle, animationId, cacheKey);
+      }
+    });
+  }
+
+  /**
+   * Parses a single animation out of a {@link DotLottieBundle}.
+   * <p>
+   * Only the json for animationId is parsed and only the images it references are decoded. The bundle is left
+   * open so that other animations can be loaded from it later.
+   */
+  @WorkerThread
+  public static LottieResult<LottieComposition> fromDotLottieSync(DotLottieBundle bundle, String animationId,
+      @Nullable String cacheKey) {
+    ZipEntry animationEntry = bundle.getAnimationEntry(animationId);
+    if (animationEntry == null) {
+      return new LottieResult<>(new IllegalArgumentException("There is no animation with id " + animationId));
+    }
+
+    LottieResult<LottieComposition> result;
+    try {
+      JsonReader reader = JsonReader.of(buffer(source(bundle.getInputStream(animationEntry))));
+      result = fromJsonReaderSyncInternal(reader, cacheKey, animationEntry.getSize(), true, false);
+    } catch (IOException e) {
+      return new LottieResult<>(e);
+    }
+    LottieComposition composition = result.getValue();
+    if (composition == null) {
+      return result;
+    }
+
+    for (LottieImageAsset imageAsset : composition.getImages().values()) {
+      ZipEntry imageEntry = bundle.getImageEntry(imageAsset.getFileName());
+      if (imageEntry == null) {
+        continue;
+      }
+      InputStream imageStream = null;
+      long decodeStartNanos = System.nanoTime();
+      try {
+        imageStream = bundle.getInputStream(imageEntry);
+        Bitmap bitmap = BitmapFactory.decodeStream(imageStream);
+        if (bitmap != null) {
+          imageAsset.setBitmap(Utils.resizeBitmapIfNeeded(bitmap, imageAsset.getWidth(), imageAsset.getHeight()));
+        }
+        onImageDecoded(LottieEvent.SourceType.DOT_LOTTIE, cacheKey, imageAsset, decodeStartNanos, bitmap, null);
+      } catch (IOException e) {
+        onImageDecoded(LottieEvent.SourceType.DOT_LOTTIE, cacheKey, imageAsset, decodeStartNanos, null, e);
+        return new LottieResult<>(e);
+      } finally {
+        closeQuietly(imageStream);
+      }
+    }
+
+    // Ensure that all bitmaps have been set.
+    for (Map.Entry<String, LottieImageAsset> entry : composition.getImages().entrySet()) {
+      if (entry.getValue().getBitmap() == null) {
+        return new LottieResult<>(new IllegalStateException("There is no image for " + entry.getValue().getFileName()));
+      }
+    }
+
+    if (cacheKey != null) {
+      LottieCompositionCache.getInstance().put(cacheKey, composition);
+    }
+    return new LottieResult<>(composition);
+  }
+
+  /**
+   * @see #fromBundleSync(LottieBundle, String)
+   */
+  public static LottieTask<LottieComposition> fromBundle(LottieBundle bundle, String name) {
+    return fromBundle(bundle, name, bundle.getCacheKey(name));
+  }
+
+  /**
+   * @see #fromBundleSync(LottieBundle, String, String)
+   */
+  public static LottieTask<LottieComposition> fromBundle(final LottieBundle bundle, final String name, @Nullable final String cacheKey) {
+    return cache(cacheKey, LottieEvent.SourceType.BUNDLE, new Callable<LottieResult<LottieComposition>>() {
+      @Override
+      public LottieResult<LottieComposition> call() {
+        return fromBundleSync(bundle, name, cacheKey);
+      }
+    });
+  }
+
+  /**
+   * Parse an animation out of a {@link LottieBundle}.
+   * The bundle and animation name will be used as a cache key so future usages won't have to parse the json again.
+   */
+  @WorkerThread
+  public static LottieResult<LottieComposition> fromBundleSync(LottieBundle bundle, String name) {
+    return fromBundleSync(bundle, name, bundle.getCacheKey(name));
+  }
+
+  /**
+   * Parse an animation out of a {@link LottieBundle}. The bundle's index is used to seek straight to the animation
+   * and only the images that it references are decoded.
+   * <p>
+   * Pass null as the cache key to skip the cache.
+   */
+  @WorkerThread
+  public static LottieResult<LottieComposition> fromBundleSync(LottieBundle bundle, String name, @Nullable String cacheKey) {
+    Source animationSource = bundle.openAnimation(name);
+    if (animationSource == null) {
+      return new LottieResult<>(new IllegalArgumentException("There is no animation named " + name));
+    }
+    LottieResult<LottieComposition> result = fromJsonReaderSyncInternal(JsonReader.of(buffer(animationSource)), cacheKey,
+        bundle.getAnimationLength(name), true, false);
+    LottieComposition composition = result.getValue();
+    if (composition == null) {
+      return result;
+    }
+
+    for (LottieImageAsset imageAsset : composition.getImages().values()) {
+      Source imageSource = bundle.openImage(name, imageAsset.getFileName());
+      if (imageSource == null) {
+        continue;
+      }
+      long decodeStartNanos = System.nanoTime();
+      Bitmap bitmap = BitmapFactory.decodeStream(buffer(imageSource).inputStream());
+      if (bitmap != null) {
+        imageAsset.setBitmap(Utils.resizeBitmapIfNeeded(bitmap, imageAsset.getWidth(), imageAsset.getHeight()));
+      }
+      onImageDecoded(LottieEvent.SourceType.BUNDLE, cacheKey, imageAsset, decodeStartNanos, bitmap, null);
     }
 
     // Ensure that all bitmaps have been set.
@@ -480,6 +894,32 @@ public class LottieCompositionFactory {
     return new LottieResult<>(composition);
   }
 
+  /**
+   * ZipFile only implements Closeable on API 19+ so it can't be passed to {@link Utils#closeQuietly}.
+   */
+  private static void closeZipFileQuietly(ZipFile zipFile) {
+    try {
+      zipFile.close();
+    } catch (IOException ignored) {
+    }
+  }
+
+  /**
+   * Check if a given buffer starts with the .zip magic bytes. This does not change the position of the buffer.
+   */
+  private static boolean isZipCompressed(ByteBuffer buffer) {
+    if (buffer.remaining() < MAGIC.length) {
+      return false;
+    }
+    int position = buffer.position();
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (buffer.get(position + i) != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Check if a given InputStream points to a .zip compressed file
    */
@@ -501,6 +941,13 @@ public class LottieCompositionFactory {
 
   }
 
+  private static void onImageDecoded(LottieEvent.SourceType sourceType, @Nullable String cacheKey,
+      LottieImageAsset imageAsset, long startNanos, @Nullable Bitmap bitmap, @Nullable Throwable error) {
+    L.onEvent(LottieEvent.Stage.IMAGE_DECODE, sourceType, cacheKey, imageAsset.getId(), startNanos,
+        bitmap == null ? -1 : bitmap.getByteCount(),
+        bitmap == null ? LottieEvent.Outcome.FAILURE : LottieEvent.Outcome.SUCCESS, error);
+  }
+
   @Nullable
   private static LottieImageAsset findImageAssetForFileName(LottieComposition composition, String fileName) {
     for (LottieImageAsset asset : composition.getImages().values()) {
@@ -516,9 +963,15 @@ public class LottieCompositionFactory {
    * If not, create a new task for the callable.
    * Then, add the new task to the task cache and set up listeners so it gets cleared when done.
    */
-  private static LottieTask<LottieComposition> cache(
-      @Nullable final String cacheKey, Callable<LottieResult<LottieComposition>> callable) {
+  private static LottieTask<LottieComposition> cache(@Nullable final String cacheKey, final LottieEvent.SourceType sourceType,
+      final Callable<LottieResult<LottieComposition>> callable) {
+    LottieCacheWarmer.recordAccess(cacheKey);
+    long lookupStartNanos = System.nanoTime();
     final LottieComposition cachedComposition = cacheKey == null ? null : LottieCompositionCache.getInstance().get(cacheKey);
+    if (cacheKey != null) {
+      L.onEvent(LottieEvent.Stage.MEMORY_CACHE, sourceType, cacheKey, lookupStartNanos, -1,
+          cachedComposition != null ? LottieEvent.Outcome.HIT : LottieEvent.Outcome.MISS, null);
+    }
     if (cachedComposition != null) {
       return new LottieTask<>(new Callable<LottieResult<LottieComposition>>() {
         @Override
@@ -531,12 +984,22 @@ public class LottieCompositionFactory {
       return taskCache.get(cacheKey);
     }
 
-    LottieTask<LottieComposition> task = new LottieTask<>(callable);
+    LottieTask<LottieComposition> task = new LottieTask<>(new Callable<LottieResult<LottieComposition>>() {
+      @Override
+      public LottieResult<LottieComposition> call() throws Exception {
+        long startNanos = System.nanoTime();
+        LottieResult<LottieComposition> result = callable.call();
+        L.onEvent(LottieEvent.Stage.LOAD, sourceType, cacheKey, startNanos, -1,
+            result.getValue() != null ? LottieEvent.Outcome.SUCCESS : LottieEvent.Outcome.FAILURE, result.getException());
+        return result;
+      }
+    });
     if (cacheKey != null) {
       task.addListener(new LottieListener<LottieComposition>() {
         @Override
         public void onResult(LottieComposition result) {
           taskCache.remove(cacheKey);
+          LottieCacheWarmer.recordSize(cacheKey, result);
         }
       });
       task.addFailureListener(new LottieListener<Throwable>() {
@@ -18,12 +18,16 @@ public class LottieConfig {
   @Nullable final LottieNetworkFetcher networkFetcher;
   @Nullable final LottieNetworkCacheProvider cacheProvider;
   final boolean enableSystraceMarkers;
+  @Nullable final LottieEventListener eventListener;
+  final int layerRenderThreadCount;
 
   private LottieConfig(@Nullable LottieNetworkFetcher networkFetcher, @Nullable LottieNetworkCacheProvider cacheProvider,
-      boolean enableSystraceMarkers) {
+      boolean enableSystraceMarkers, @Nullable LottieEventListener eventListener, int layerRenderThreadCount) {
     this.networkFetcher = networkFetcher;
     this.cacheProvider = cacheProvider;
     this.enableSystraceMarkers = enableSystraceMarkers;
+    this.eventListener = eventListener;
+    this.layerRenderThreadCount = layerRenderThreadCount;
   }
 
   public static final class Builder {
@@ -33,6 +37,9 @@ public class LottieConfig {
     @Nullable
     private LottieNetworkCacheProvider cacheProvider;
     private boolean enableSystraceMarkers = false;
+    @Nullable
+    private LottieEventListener eventListener;
+    private int layerRenderThreadCount = 0;
 
     /**
      * Lottie has a default network fetching stack built on {@link java.net.HttpURLConnection}. However, if you would like to hook into your own
@@ -98,9 +105,32 @@ public class LottieConfig {
       return this;
     }
 
+    /**
+     * Receive timestamped events for each stage of loading a composition such as cache lookups, network requests,
+     * parsing and image decoding. This can be used to export load latency to your own analytics or tracing.
+     */
+    @NonNull
+    public Builder setEventListener(@NonNull LottieEventListener listener) {
+      eventListener = listener;
+      return this;
+    }
+
+    /**
+     * The number of worker threads shared by every drawable that uses
+     * {@link LottieDrawable#setParallelLayerRenderingEnabled(boolean)}. This can be used to measure how rendering
+     * time scales with the number of cores. It has no effect once a layer has been rendered in parallel.
+     * <p>
+     * The default is one less than the number of cores because the thread that draws also renders layers.
+     */
+    @NonNull
+    public Builder setLayerRenderThreadCount(int threadCount) {
+      layerRenderThreadCount = threadCount;
+      return this;
+    }
+
     @NonNull
     public LottieConfig build() {
-      return new LottieConfig(networkFetcher, cacheProvider, enableSystraceMarkers);
+      return new LottieConfig(networkFetcher, cacheProvider, enableSystraceMarkers, eventListener, layerRenderThreadCount);
     }
   }
 }
\ No newline at end of file
@@ -7,8 +7,10 @@ import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.ColorFilter;
 import android.graphics.Matrix;
+import android.graphics.Paint;
 import android.graphics.PixelFormat;
 import android.graphics.Rect;
+import android.graphics.RectF;
 import android.graphics.Typeface;
 import android.graphics.drawable.Animatable;
 import android.graphics.drawable.Drawable;
@@ -25,6 +27,7 @@ import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
 import androidx.annotation.RestrictTo;
 
+import com.airbnb.lottie.animation.LPaint;
 import com.airbnb.lottie.manager.FontAssetManager;
 import com.airbnb.lottie.manager.ImageAssetManager;
 import com.airbnb.lottie.model.KeyPath;
@@ -71,8 +74,57 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
   private final ValueAnimator.AnimatorUpdateListener progressUpdateListener = new ValueAnimator.AnimatorUpdateListener() {
     @Override
     public void onAnimationUpdate(ValueAnimator animation) {
-      if (compositionLayer != null) {
-        compositionLayer.setProgress(animator.getAnimatedValueAbsolute());
+      if (frameSequence != null && frameSequence.hasFrame((int) animator.getFrame())) {
+        // Frames are copied out of the frame sequence so the layers don't need to be updated.
+        if ((int) animator.getFrame() != frameSequenceBitmapFrame) {
+          invalidateSelf();
+        }
+        return;
+      }
+      if (frameCache != null) {
+        // The layers are only updated when a frame has to be rendered into the cache.
+        if ((int) animator.getFrame() != lastCachedFrame) {
+          invalidateSelf();
+        }
+        return;
+      }
+      LottieComposition composition = LottieDrawable.this.composition;
+      if (compositionLayer != null && composition != null) {
+        float progress = animator.getAnimatedValueAbsolute();
+        if (isQuantizingFrames()) {
+          float frame = quantizeFrame(composition, animator.getFrame());
+          if (frame == lastQuantizedFrame) {
+            composition.getPerformanceTracker().recordQuantizedFrame();
+            return;
+          }
+          lastQuantizedFrame = frame;
+          progress = (frame - composition.getStartFrame()) / composition.getDurationFrames();
+        }
+        if (isAsyncRendering()) {
+          // The layers are updated on the render thread. invalidateSelf is called once the frame is ready.
+          requestAsyncFrame(progress);
+          return;
+        }
+        // Layers only invalidate when one of their values changes. If nothing changed, the frame isn't drawn.
+        // The invalidations of every layer are dispatched at most once at the end.
+        boolean wasDirty = isDirty;
+        isCollectingInvalidations = true;
+        requestedInvalidationCount = 0;
+        synchronized (asyncRenderLock) {
+          compositionLayer.setProgress(progress);
+        }
+        isCollectingInvalidations = false;
+        composition.getPerformanceTracker().recordInvalidations(requestedInvalidationCount);
+        if (requestedInvalidationCount > 0) {
+          if (isDirtyRegionInvalidationEnabled) {
+            invalidateDirtyRegion(composition, compositionLayer);
+          } else {
+            invalidateSelf();
+          }
+        }
+        if (!wasDirty && !isDirty) {
+          composition.getPerformanceTracker().recordSkippedFrame();
+        }
       }
     }
   };
@@ -91,6 +143,11 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
   private String imageAssetsFolder;
   @Nullable
   private ImageAssetDelegate imageAssetDelegate;
+  /**
+   * FontAssetManager created externally. By LottieOffscreenRenderer, for example.
+   */
+  @Nullable
+  private FontAssetManager fontAssetManagerOverride;
   @Nullable
   private FontAssetManager fontAssetManager;
   @Nullable
@@ -103,14 +160,87 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
   private int alpha = 255;
   private boolean performanceTrackingEnabled;
   private boolean outlineMasksAndMattes;
+  private boolean isParallelLayerRenderingEnabled;
   private boolean isApplyingOpacityToLayersEnabled;
   private boolean isExtraScaleEnabled = true;
+  private boolean isStaticLayerCacheEnabled;
+  private boolean useCompositionFrameRate;
+  private float maxFrameRate;
+  /**
+   * The last frame that the layers were updated to when frames are quantized. NaN if they need to be updated.
+   */
+  private float lastQuantizedFrame = Float.NaN;
+  /**
+   * Incremented whenever something that isn't driven by keyframes, such as a value callback, text or an image, changes
+   * so that layers know to drop their cached content.
+   */
+  private int renderCacheGeneration;
   /**
    * True if the drawable has not been drawn since the last invalidateSelf.
    * We can do this to prevent things like bounds from getting recalculated
    * many times.
    */
   private boolean isDirty = false;
+  private boolean isDirtyRegionInvalidationEnabled;
+  private boolean showDirtyRegions;
+  /**
+   * True while layers are being updated to a new progress. Invalidations are collected so that they can be
+   * dispatched once, for the region that changed if dirty region invalidation is enabled.
+   */
+  private boolean isCollectingInvalidations;
+  private int requestedInvalidationCount;
+  /**
+   * True if the pending invalidation only covers {@link #dirtyRect}.
+   */
+  private boolean isDirtyRegionPending;
+  private boolean isDispatchingDirtyRegion;
+  private final RectF dirtyRegion = new RectF();
+  private final Matrix dirtyRegionMatrix = new Matrix();
+  private final Rect dirtyRect = new Rect();
+  @Nullable private Paint dirtyRegionPaint;
+  /**
+   * Non-null when {@link #setAsyncRenderingEnabled(boolean)} is enabled.
+   */
+  @Nullable private AsyncRenderer asyncRenderer;
+  /**
+   * Held while the layers are updated or drawn on the render thread and while anything that they read while drawing,
+   * such as the layer tree, text and image delegates or asset managers, is changed on the UI thread.
+   */
+  private final Object asyncRenderLock = new Object();
+  private final AsyncRenderer.FrameRenderer asyncFrameRenderer = new AsyncRenderer.FrameRenderer() {
+    @Override
+    public void renderFrame(Canvas canvas, float progress, int width, int height, float scale) {
+      synchronized (asyncRenderLock) {
+        CompositionLayer compositionLayer = LottieDrawable.this.compositionLayer;
+        if (compositionLayer == null) {
+          return;
+        }
+        compositionLayer.setProgress(progress);
+        // Alpha is applied when the rendered frame is drawn. The bounds and scale may have changed on the UI thread
+        // since the frame was requested so the requested ones are used.
+        drawComposition(canvas, 255, width, height, scale);
+      }
+    }
+
+    @Override
+    public void onFrameRendered() {
+      invalidateSelf();
+    }
+  };
+  /**
+   * Non-null when {@link RenderMode#CACHED_FRAMES} is being used.
+   */
+  @Nullable private FrameCache frameCache;
+  private int lastCachedFrame = Integer.MIN_VALUE;
+  private final Canvas frameCacheCanvas = new Canvas();
+  private final Paint frameCachePaint = new LPaint(Paint.FILTER_BITMAP_FLAG);
+  /**
+   * Set with {@link #setFrameSequence(FrameSequence)}.
+   */
+  @Nullable private FrameSequence frameSequence;
+  @Nullable private Bitmap frameSequenceBitmap;
+  private int frameSequenceBitmapFrame = Integer.MIN_VALUE;
+  private final Rect frameSequenceDst = new Rect();
 
   @IntDef({RESTART, REVERSE})
   @Retention(RetentionPolicy.SOURCE)
@@ -197,7 +327,9 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
    * Sketch or Illustrator to avoid this.
    */
   public void setImagesAssetsFolder(@Nullable String imageAssetsFolder) {
-    this.imageAssetsFolder = imageAssetsFolder;
+    synchronized (asyncRenderLock) {
+      this.imageAssetsFolder = imageAssetsFolder;
+    }
   }
 
   @Nullable
@@ -268,9 +400,42 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
       return;
     }
     outlineMasksAndMattes = outline;
-    if (compositionLayer != null) {
-      compositionLayer.setOutlineMasksAndMattes(outline);
+    synchronized (asyncRenderLock) {
+      if (compositionLayer != null) {
+        compositionLayer.setOutlineMasksAndMattes(outline);
+      }
     }
+    clearFrameCache();
+  }
+
+  /**
+   * Experimental. When rendering in software, such as with {@link RenderMode#SOFTWARE}, draw the top level layers
+   * into separate bitmaps on a shared pool of worker threads and then draw the bitmaps in order. This can speed up
+   * compositions with several expensive layers, such as large masks, mattes or gradients, on multi-core devices.
+   * <p>
+   * Layers with a matte, layers that are the parent or child of another layer and layers that contain images, text or
+   * value callbacks are still drawn on the calling thread. Nothing is drawn in parallel while systrace markers or
+   * performance tracking are enabled. Each layer drawn in parallel uses a bitmap up to the size of the canvas.
+   * <p>
+   * The number of worker threads can be set with {@link LottieConfig.Builder#setLayerRenderThreadCount(int)}.
+   * <p>
+   * The default value is false.
+   */
+  public void setParallelLayerRenderingEnabled(boolean enabled) {
+    if (isParallelLayerRenderingEnabled == enabled) {
+      return;
+    }
+    isParallelLayerRenderingEnabled = enabled;
+    synchronized (asyncRenderLock) {
+      if (compositionLayer != null) {
+        compositionLayer.setParallelRenderingEnabled(enabled);
+      }
+    }
+    invalidateSelf();
+  }
+
+  public boolean isParallelLayerRenderingEnabled() {
+    return isParallelLayerRenderingEnabled;
   }
 
   @Nullable
@@ -295,7 +460,10 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
    * @see LottieAnimationView#setRenderMode(RenderMode)
    */
   public void setApplyingOpacityToLayersEnabled(boolean isApplyingOpacityToLayersEnabled) {
-    this.isApplyingOpacityToLayersEnabled = isApplyingOpacityToLayersEnabled;
+    synchronized (asyncRenderLock) {
+      this.isApplyingOpacityToLayersEnabled = isApplyingOpacityToLayersEnabled;
+    }
+    clearFrameCache();
   }
 
   /**
@@ -307,7 +475,7 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
    * <b>Attention:</b> Disable the extra scale mode can downgrade the performance and may lead to larger memory footprint. Please only disable this
    * mode when using animation with a reasonable dimension (smaller than screen size).
    *
-   * @see #drawWithNewAspectRatio(Canvas)
+   * @see #drawWithNewAspectRatio(Canvas, int, int, int)
    */
   public void disableExtraScaleModeInFitXY() {
     this.isExtraScaleEnabled = false;
@@ -317,25 +485,248 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
     return isApplyingOpacityToLayersEnabled;
   }
 
+  /**
+   * Render shape layers whose content stops changing into a bitmap once and draw the bitmap until their content
+   * changes again. Layers that only move, scale or fade are rendered again because their on screen matrix or alpha
+   * is part of the cache key.
+   * <p>
+   * This trades memory for draw time. It works best for compositions with large, complex background or decorative
+   * layers that don't animate. Layers with masks, mattes or value callbacks are never cached. Nothing is cached while
+   * the canvas itself is scaled, rotated or skewed because the bitmap would be blurry.
+   * <p>
+   * The default value is false.
+   */
+  public void setStaticLayerCacheEnabled(boolean enabled) {
+    if (isStaticLayerCacheEnabled == enabled) {
+      return;
+    }
+    isStaticLayerCacheEnabled = enabled;
+    invalidateSelf();
+  }
+
+  public boolean isStaticLayerCacheEnabled() {
+    return isStaticLayerCacheEnabled;
+  }
+
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public int getRenderCacheGeneration() {
+    return renderCacheGeneration;
+  }
+
   private void buildCompositionLayer() {
-    compositionLayer = new CompositionLayer(
-        this, LayerParser.parse(composition), composition.getLayers(), composition);
-    if (outlineMasksAndMattes) {
-      compositionLayer.setOutlineMasksAndMattes(true);
+    synchronized (asyncRenderLock) {
+      compositionLayer = new CompositionLayer(
+          this, LayerParser.parse(composition), composition.getLayers(), composition);
+      if (outlineMasksAndMattes) {
+        compositionLayer.setOutlineMasksAndMattes(true);
+      }
+      if (isParallelLayerRenderingEnabled) {
+        compositionLayer.setParallelRenderingEnabled(true);
+      }
     }
+    lastQuantizedFrame = Float.NaN;
+    clearFrameCache();
+  }
+
+  /**
+   * Only update and draw the animation when it reaches a new whole frame at the frame rate it was exported at.
+   * For example, an animation exported at 24fps would be drawn 24 times per second rather than on every display
+   * refresh. This saves a lot of work on high refresh rate displays with no visual difference for animations that
+   * were designed frame by frame. Animations that rely on interpolation between frames will look less smooth.
+   * <p>
+   * The default value is false.
+   *
+   * @see #setMaxFrameRate(float)
+   */
+  public void setUseCompositionFrameRate(boolean useCompositionFrameRate) {
+    if (this.useCompositionFrameRate == useCompositionFrameRate) {
+      return;
+    }
+    this.useCompositionFrameRate = useCompositionFrameRate;
+    updateQuantizedFrame();
+  }
+
+  public boolean getUseCompositionFrameRate() {
+    return useCompositionFrameRate;
+  }
+
+  /**
+   * Limit how many times per second the animation is updated and drawn, such as to save battery.
+   * Set 0 to remove the limit. This can be combined with {@link #setUseCompositionFrameRate(boolean)} in which case
+   * the lower of the two frame rates is used.
+   */
+  public void setMaxFrameRate(@FloatRange(from = 0f) float maxFrameRate) {
+    if (this.maxFrameRate == maxFrameRate) {
+      return;
+    }
+    this.maxFrameRate = maxFrameRate;
+    updateQuantizedFrame();
+  }
+
+  public float getMaxFrameRate() {
+    return maxFrameRate;
+  }
+
+  private boolean isQuantizingFrames() {
+    return useCompositionFrameRate || maxFrameRate > 0f;
+  }
+
+  /**
+   * Rounds a frame down to the last frame that should be shown with the current frame rate settings.
+   */
+  private float quantizeFrame(LottieComposition composition, float frame) {
+    float step = useCompositionFrameRate ? 1f : 0f;
+    if (maxFrameRate > 0f) {
+      step = Math.max(step, composition.getFrameRate() / maxFrameRate);
+    }
+    if (step <= 0f) {
+      return frame;
+    }
+    float startFrame = composition.getStartFrame();
+    return startFrame + (float) Math.floor((frame - startFrame) / step) * step;
+  }
+
+  private void updateQuantizedFrame() {
+    lastQuantizedFrame = Float.NaN;
+    if (compositionLayer != null && frameCache == null) {
+      progressUpdateListener.onAnimationUpdate(animator);
+    }
+    invalidateSelf();
   }
 
   public void clearComposition() {
     if (animator.isRunning()) {
       animator.cancel();
     }
-    composition = null;
-    compositionLayer = null;
+    synchronized (asyncRenderLock) {
+      composition = null;
+      compositionLayer = null;
+    }
     imageAssetManager = null;
     animator.clearComposition();
+    clearFrameCache();
+    setFrameSequence(null);
+    invalidateSelf();
+  }
+
+  /**
+   * Play frames from a sequence that was pre-rendered by {@link FrameSequenceCache} instead of rendering them.
+   * Frames outside of the sequence are rendered normally. The sequence is scaled to the bounds of this drawable
+   * so it should be rendered at the size it will be displayed at.
+   * <p>
+   * The frame sequence must have been rendered from the same composition. Set null to go back to rendering every frame.
+   */
+  public void setFrameSequence(@Nullable FrameSequence frameSequence) {
+    if (this.frameSequence == frameSequence) {
+      return;
+    }
+    this.frameSequence = frameSequence;
+    frameSequenceBitmapFrame = Integer.MIN_VALUE;
+    if (frameSequenceBitmap != null) {
+      frameSequenceBitmap.recycle();
+      frameSequenceBitmap = null;
+    }
+    synchronized (asyncRenderLock) {
+      if (compositionLayer != null && frameCache == null) {
+        compositionLayer.setProgress(animator.getAnimatedValueAbsolute());
+        lastQuantizedFrame = Float.NaN;
+      }
+    }
+    requestAsyncFrame();
+    invalidateSelf();
+  }
+
+  @Nullable
+  public FrameSequence getFrameSequence() {
+    return frameSequence;
+  }
+
+  /**
+   * Render each whole frame into a bitmap the first time it is drawn and draw it from the bitmap on later loops.
+   * This skips walking the layer tree entirely once every frame has been cached which makes it a good fit for small
+   * looping animations. Playback is quantized to whole frames.
+   * <p>
+   * Frames are dropped, least recently drawn first, to stay under maxBytes. The cache is cleared when value callbacks,
+   * text, images or the size change. If a value callback returns different values over time on its own, call
+   * {@link #clearFrameCache()} whenever its value changes.
+   *
+   * @see RenderMode#CACHED_FRAMES
+   */
+  public void enableFrameCache(long maxBytes) {
+    if (frameCache != null) {
+      if (frameCache.getMaxBytes() == maxBytes) {
+        return;
+      }
+      frameCache.recycle();
+    }
+    frameCache = new FrameCache(maxBytes);
+    lastCachedFrame = Integer.MIN_VALUE;
     invalidateSelf();
   }
 
+  public void disableFrameCache() {
+    if (frameCache == null) {
+      return;
+    }
+    frameCache.recycle();
+    frameCache = null;
+    synchronized (asyncRenderLock) {
+      if (compositionLayer != null) {
+        compositionLayer.setProgress(animator.getAnimatedValueAbsolute());
+        lastQuantizedFrame = Float.NaN;
+      }
+    }
+    requestAsyncFrame();
+    invalidateSelf();
+  }
+
+  /**
+   * Returns the frame cache and its hit rate metrics if {@link #enableFrameCache(long)} was called.
+   */
+  @Nullable
+  public FrameCache getFrameCache() {
+    return frameCache;
+  }
+
+  /**
+   * Drops every cached frame so that they get rendered again. Layers cached by
+   * {@link #setStaticLayerCacheEnabled(boolean)} are rendered again as well.
+   *
+   * @see #enableFrameCache(long)
+   */
+  public void clearFrameCache() {
+    renderCacheGeneration++;
+    if (frameCache != null) {
+      frameCache.invalidate();
+      lastCachedFrame = Integer.MIN_VALUE;
+      invalidateSelf();
+    }
+    requestAsyncFrame();
+  }
+
+  /**
+   * The frame cache and frame sequence draw on the UI thread so the render thread is only used while neither of them
+   * is set. Otherwise both threads could update and draw the same layers at once.
+   */
+  private boolean isAsyncRendering() {
+    return asyncRenderer != null && frameCache == null && frameSequence == null;
+  }
+
+  /**
+   * Renders the current progress again if async rendering is being used. The UI thread is invalidated once it is ready.
+   */
+  private void requestAsyncFrame() {
+    requestAsyncFrame(animator.getAnimatedValueAbsolute());
+  }
+
+  private void requestAsyncFrame(float progress) {
+    AsyncRenderer asyncRenderer = this.asyncRenderer;
+    if (asyncRenderer != null && isAsyncRendering()) {
+      Rect bounds = getBounds();
+      asyncRenderer.requestFrame(progress, bounds.width(), bounds.height(), scale);
+    }
+  }
+
   /**
    * If you are experiencing a device specific crash that happens during drawing, you can set this to true
    * for those devices. If set to true, draw will be wrapped with a try/catch which will cause Lottie to
@@ -348,12 +739,151 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
     this.safeMode = safeMode;
   }
 
+  /**
+   * Only invalidate the part of the drawable that changed when the animation progresses. The changed region is the
+   * union of the bounds of every layer whose values changed, before and after the change.
+   * <p>
+   * This reduces the work done by software rendering such as {@link RenderMode#SOFTWARE}. Hardware accelerated views
+   * redraw their whole display list on newer versions of Android regardless of the invalidated region.
+   * <p>
+   * The default value is false.
+   *
+   * @see #setShowDirtyRegions(boolean)
+   */
+  public void setDirtyRegionInvalidationEnabled(boolean enabled) {
+    isDirtyRegionInvalidationEnabled = enabled;
+    invalidateSelf();
+  }
+
+  public boolean isDirtyRegionInvalidationEnabled() {
+    return isDirtyRegionInvalidationEnabled;
+  }
+
+  /**
+   * Update the layers and render each frame into a bitmap on a shared background render thread. draw only copies the
+   * most recently rendered frame so the UI thread no longer spends time on complex animations. If rendering falls
+   * behind the animation, frames that haven't been rendered yet are dropped in favor of the latest one.
+   * <p>
+   * Frames lag the animation by roughly one frame and each drawable holds three bitmaps the size of its bounds.
+   * Changes to the composition, value callbacks, text, image and font delegates and the other settings that layers
+   * read while drawing are synchronized with the render thread but value callbacks are called on the render thread.
+   * <p>
+   * This has no effect while {@link RenderMode#CACHED_FRAMES} or a frame sequence is being used. Dirty regions
+   * aren't tracked while this is enabled.
+   * <p>
+   * The default value is false.
+   */
+  public void setAsyncRenderingEnabled(boolean enabled) {
+    if (enabled == (asyncRenderer != null)) {
+      return;
+    }
+    if (enabled) {
+      asyncRenderer = new AsyncRenderer(asyncFrameRenderer);
+      requestAsyncFrame();
+    } else {
+      asyncRenderer.release();
+      asyncRenderer = null;
+      synchronized (asyncRenderLock) {
+        if (compositionLayer != null) {
+          compositionLayer.setProgress(animator.getAnimatedValueAbsolute());
+          lastQuantizedFrame = Float.NaN;
+        }
+      }
+    }
+    invalidateSelf();
+  }
+
+  public boolean isAsyncRenderingEnabled() {
+    return asyncRenderer != null;
+  }
+
+  /**
+   * The number of frames that were dropped because the render thread fell behind since async rendering was enabled.
+   *
+   * @see #setAsyncRenderingEnabled(boolean)
+   */
+  public int getAsyncDroppedFrameCount() {
+    return asyncRenderer == null ? 0 : asyncRenderer.getDroppedFrameCount();
+  }
+
+  /**
+   * Outline the region that was invalidated for each frame drawn with {@link #setDirtyRegionInvalidationEnabled(boolean)}.
+   * <p>
+   * DO NOT leave this enabled in production.
+   */
+  public void setShowDirtyRegions(boolean show) {
+    if (show && dirtyRegionPaint == null) {
+      dirtyRegionPaint = new LPaint();
+    }
+    showDirtyRegions = show;
+    invalidateSelf();
+  }
+
+  /**
+   * Returns the region that is being invalidated while a dirty region invalidation is being dispatched or the
+   * whole bounds otherwise.
+   *
+   * @see #setDirtyRegionInvalidationEnabled(boolean)
+   */
+  @NonNull
+  @Override
+  public Rect getDirtyBounds() {
+    return isDispatchingDirtyRegion ? dirtyRect : getBounds();
+  }
+
+  private void invalidateDirtyRegion(LottieComposition composition, CompositionLayer compositionLayer) {
+    if (isDirty && !isDirtyRegionPending) {
+      // The whole drawable will be redrawn anyway.
+      return;
+    }
+    L.beginSection("Drawable#invalidateDirtyRegion");
+    dirtyRegion.set(0, 0, 0, 0);
+    dirtyRegionMatrix.reset();
+    compositionLayer.collectAndClearDirtyBounds(dirtyRegion, dirtyRegionMatrix);
+    // Layers are drawn from the canvas origin, scaled from the composition to the drawable bounds.
+    Rect bounds = getBounds();
+    Rect compositionBounds = composition.getBounds();
+    dirtyRegionMatrix.setScale(bounds.width() / (float) compositionBounds.width(), bounds.height() / (float) compositionBounds.height());
+    dirtyRegionMatrix.mapRect(dirtyRegion);
+    dirtyRegion.roundOut(dirtyRect);
+    // Pad the region for anti-aliasing.
+    dirtyRect.inset(-2, -2);
+    L.endSection("Drawable#invalidateDirtyRegion");
+    if (!dirtyRect.intersect(0, 0, bounds.width(), bounds.height())) {
+      return;
+    }
+    isDirty = true;
+    isDirtyRegionPending = true;
+    final Callback callback = getCallback();
+    if (callback != null) {
+      isDispatchingDirtyRegion = true;
+      callback.invalidateDrawable(this);
+      isDispatchingDirtyRegion = false;
+    }
+  }
+
+  @Override
+  protected void onBoundsChange(Rect bounds) {
+    super.onBoundsChange(bounds);
+    // The last rendered frame no longer matches the bounds.
+    requestAsyncFrame();
+  }
+
   @Override
   public void invalidateSelf() {
-    if (isDirty) {
+    if (AsyncRenderer.isRenderThread()) {
+      // The UI thread is invalidated once the frame has been rendered.
+      return;
+    }
+    if (isCollectingInvalidations) {
+      requestedInvalidationCount++;
+      return;
+    }
+    if (isDirty && !isDirtyRegionPending) {
       return;
     }
     isDirty = true;
+    isDirtyRegionPending = false;
     final Callback callback = getCallback();
     if (callback != null) {
       callback.invalidateDrawable(this);
@@ -383,7 +913,9 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
 
   @Override
   public void draw(@NonNull Canvas canvas) {
+    boolean drawDirtyRegion = showDirtyRegions && isDirtyRegionPending;
     isDirty = false;
+    isDirtyRegionPending = false;
 
     L.beginSection("Drawable#draw");
 
@@ -397,23 +929,145 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
       drawInternal(canvas);
     }
 
+    if (drawDirtyRegion && dirtyRegionPaint != null) {
+      dirtyRegionPaint.setStyle(Paint.Style.STROKE);
+      dirtyRegionPaint.setColor(0xFF03A9F4);
+      dirtyRegionPaint.setStrokeWidth(4);
+      canvas.drawRect(dirtyRect, dirtyRegionPaint);
+      dirtyRegionPaint.setStyle(Paint.Style.FILL);
+      dirtyRegionPaint.setColor(0x3003A9F4);
+      canvas.drawRect(dirtyRect, dirtyRegionPaint);
+    }
+
     L.endSection("Drawable#draw");
   }
 
   private void drawInternal(@NonNull Canvas canvas) {
-    if (!boundsMatchesCompositionAspectRatio()) {
-      drawWithNewAspectRatio(canvas);
+    if (frameSequence != null && drawFromFrameSequence(canvas, frameSequence)) {
+      return;
+    }
+    if (frameCache != null && drawFromFrameCache(canvas, frameCache)) {
+      return;
+    }
+    if (isAsyncRendering()) {
+      //noinspection ConstantConditions
+      drawFromAsyncRenderer(canvas, asyncRenderer);
+      return;
+    }
+    synchronized (asyncRenderLock) {
+      drawComposition(canvas, alpha);
+    }
+  }
+
+  private void drawFromAsyncRenderer(Canvas canvas, AsyncRenderer asyncRenderer) {
+    frameCachePaint.setAlpha(alpha);
+    if (asyncRenderer.draw(canvas, frameCachePaint)) {
+      return;
+    }
+    // Nothing has been rendered in the background yet. Draw this frame directly so the drawable isn't blank.
+    synchronized (asyncRenderLock) {
+      if (compositionLayer != null) {
+        // Updating the layers calls invalidateSelf but this frame is about to be drawn anyway.
+        isDirty = true;
+        compositionLayer.setProgress(animator.getAnimatedValueAbsolute());
+        isDirty = false;
+      }
+      drawComposition(canvas, alpha);
+    }
+    requestAsyncFrame();
+  }
+
+  /**
+   * Returns false if the frame can't be cached and has to be drawn directly.
+   */
+  private boolean drawFromFrameCache(Canvas canvas, FrameCache frameCache) {
+    LottieComposition composition = this.composition;
+    if (composition == null || compositionLayer == null) {
+      return false;
+    }
+    Rect bounds = getBounds();
+    int frame = (int) animator.getFrame();
+    lastCachedFrame = frame;
+    Bitmap bitmap = frameCache.get(frame, bounds.width(), bounds.height());
+    if (bitmap == null) {
+      bitmap = frameCache.obtain(frame);
+      if (bitmap == null) {
+        synchronized (asyncRenderLock) {
+          compositionLayer.setProgress(animator.getAnimatedValueAbsolute());
+        }
+        return false;
+      }
+      L.beginSection("Drawable#renderFrameToCache");
+      // Updating the layers calls invalidateSelf but this frame is about to be drawn anyway.
+      isDirty = true;
+      synchronized (asyncRenderLock) {
+        compositionLayer.setProgress((frame - composition.getStartFrame()) / composition.getDurationFrames());
+        frameCacheCanvas.setBitmap(bitmap);
+        // Alpha is applied when the cached frame is drawn.
+        drawComposition(frameCacheCanvas, 255);
+        frameCacheCanvas.setBitmap(null);
+      }
+      isDirty = false;
+      L.endSection("Drawable#renderFrameToCache");
+    }
+    frameCachePaint.setAlpha(alpha);
+    // Like the layers, the cached frame is drawn from the canvas origin.
+    canvas.drawBitmap(bitmap, 0, 0, frameCachePaint);
+    return true;
+  }
+
+  /**
+   * Returns false if the current frame isn't part of the frame sequence and has to be rendered.
+   */
+  private boolean drawFromFrameSequence(Canvas canvas, FrameSequence frameSequence) {
+    if (composition == null) {
+      return false;
+    }
+    int frame = (int) animator.getFrame();
+    if (!frameSequence.hasFrame(frame)) {
+      return false;
+    }
+    Bitmap bitmap = frameSequenceBitmap;
+    if (bitmap == null) {
+      bitmap = Bitmap.createBitmap(frameSequence.getWidth(), frameSequence.getHeight(), Bitmap.Config.ARGB_8888);
+      frameSequenceBitmap = bitmap;
+    }
+    if (frame != frameSequenceBitmapFrame) {
+      L.beginSection("Drawable#copyFrameFromSequence");
+      frameSequence.copyFrameInto(frame, bitmap);
+      frameSequenceBitmapFrame = frame;
+      L.endSection("Drawable#copyFrameFromSequence");
+    }
+    Rect bounds = getBounds();
+    frameSequenceDst.set(0, 0, bounds.width(), bounds.height());
+    frameCachePaint.setAlpha(alpha);
+    canvas.drawBitmap(bitmap, null, frameSequenceDst, frameCachePaint);
+    return true;
+  }
+
+  private void drawComposition(@NonNull Canvas canvas, int alpha) {
+    Rect bounds = getBounds();
+    drawComposition(canvas, alpha, bounds.width(), bounds.height(), scale);
+  }
+
+  /**
+   * Draws the layers at the given size and scale rather than the drawable's current ones so that the render thread can
+   * draw a frame at the size it was requested at.
+   */
+  private void drawComposition(@NonNull Canvas canvas, int alpha, int width, int height, float scale) {
+    if (!boundsMatchesCompositionAspectRatio(width, height)) {
+      drawWithNewAspectRatio(canvas, alpha, width, height);
     } else {
-      drawWithOriginalAspectRatio(canvas);
+      drawWithOriginalAspectRatio(canvas, alpha, scale);
     }
   }
 
-  private boolean boundsMatchesCompositionAspectRatio() {
+  private boolean boundsMatchesCompositionAspectRatio(int width, int height) {
     LottieComposition composition = this.composition;
-    if (composition == null || getBounds().isEmpty()) {
+    if (composition == null || width <= 0 || height <= 0) {
       return true;
     }
-    return aspectRatio(getBounds()) == aspectRatio(composition.getBounds());
+    return width / (float) height == aspectRatio(composition.getBounds());
   }
 
   private float aspectRatio(Rect rect) {
@@ -922,6 +1576,7 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
    */
   public void setScale(float scale) {
     this.scale = scale;
+    clearFrameCache();
   }
 
   /**
@@ -936,9 +1591,11 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
    * Sketch or Illustrator to avoid this.
    */
   public void setImageAssetDelegate(ImageAssetDelegate assetDelegate) {
-    this.imageAssetDelegate = assetDelegate;
-    if (imageAssetManager != null) {
-      imageAssetManager.setDelegate(assetDelegate);
+    synchronized (asyncRenderLock) {
+      this.imageAssetDelegate = assetDelegate;
+      if (imageAssetManager != null) {
+        imageAssetManager.setDelegate(assetDelegate);
+      }
     }
   }
 
@@ -946,14 +1603,19 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
    * Use this to manually set fonts.
    */
   public void setFontAssetDelegate(FontAssetDelegate assetDelegate) {
-    this.fontAssetDelegate = assetDelegate;
-    if (fontAssetManager != null) {
-      fontAssetManager.setDelegate(assetDelegate);
+    synchronized (asyncRenderLock) {
+      this.fontAssetDelegate = assetDelegate;
+      if (fontAssetManager != null) {
+        fontAssetManager.setDelegate(assetDelegate);
+      }
     }
   }
 
   public void setTextDelegate(@SuppressWarnings("NullableProblems") TextDelegate textDelegate) {
-    this.textDelegate = textDelegate;
+    synchronized (asyncRenderLock) {
+      this.textDelegate = textDelegate;
+    }
+    clearFrameCache();
   }
 
   @Nullable
@@ -1012,7 +1674,10 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
       return Collections.emptyList();
     }
     List<KeyPath> keyPaths = new ArrayList<>();
-    compositionLayer.resolveKeyPath(keyPath, 0, keyPaths, new KeyPath());
+    // Resolving a key path caches the resolved contents on the layers.
+    synchronized (asyncRenderLock) {
+      compositionLayer.resolveKeyPath(keyPath, 0, keyPaths, new KeyPath());
+    }
     return keyPaths;
   }
 
@@ -1035,22 +1700,25 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
       return;
     }
     boolean invalidate;
-    if (keyPath == KeyPath.COMPOSITION) {
-      compositionLayer.addValueCallback(property, callback);
-      invalidate = true;
-    } else if (keyPath.getResolvedElement() != null) {
-      keyPath.getResolvedElement().addValueCallback(property, callback);
-      invalidate = true;
-    } else {
-      List<KeyPath> elements = resolveKeyPath(keyPath);
-
-      for (int i = 0; i < elements.size(); i++) {
-        //noinspection ConstantConditions
-        elements.get(i).getResolvedElement().addValueCallback(property, callback);
+    synchronized (asyncRenderLock) {
+      if (keyPath == KeyPath.COMPOSITION) {
+        compositionLayer.addValueCallback(property, callback);
+        invalidate = true;
+      } else if (keyPath.getResolvedElement() != null) {
+        keyPath.getResolvedElement().addValueCallback(property, callback);
+        invalidate = true;
+      } else {
+        List<KeyPath> elements = resolveKeyPath(keyPath);
+
+        for (int i = 0; i < elements.size(); i++) {
+          //noinspection ConstantConditions
+          elements.get(i).getResolvedElement().addValueCallback(property, callback);
+        }
+        invalidate = !elements.isEmpty();
       }
-      invalidate = !elements.isEmpty();
     }
     if (invalidate) {
+      clearFrameCache();
       invalidateSelf();
       if (property == LottieProperty.TIME_REMAP) {
         // Time remapping values are read in setProgress. In order for the new value
@@ -1085,13 +1753,17 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
    */
   @Nullable
   public Bitmap updateBitmap(String id, @Nullable Bitmap bitmap) {
-    ImageAssetManager bm = getImageAssetManager();
-    if (bm == null) {
-      Logger.warning("Cannot update bitmap. Most likely the drawable is not added to a View " +
-          "which prevents Lottie from getting a Context.");
-      return null;
+    Bitmap ret;
+    synchronized (asyncRenderLock) {
+      ImageAssetManager bm = getImageAssetManager();
+      if (bm == null) {
+        Logger.warning("Cannot update bitmap. Most likely the drawable is not added to a View " +
+            "which prevents Lottie from getting a Context.");
+        return null;
+      }
+      ret = bm.updateBitmap(id, bitmap);
     }
-    Bitmap ret = bm.updateBitmap(id, bitmap);
+    clearFrameCache();
     invalidateSelf();
     return ret;
   }
@@ -1110,7 +1782,9 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
    */
   @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
   void setImageAssetManager(@Nullable ImageAssetManager imageAssetManager) {
-    this.imageAssetManagerOverride = imageAssetManager;
+    synchronized (asyncRenderLock) {
+      this.imageAssetManagerOverride = imageAssetManager;
+    }
   }
 
   private ImageAssetManager getImageAssetManager() {
@@ -1129,6 +1803,7 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
     if (imageAssetManager == null) {
       imageAssetManager = new ImageAssetManager(getCallback(),
           imageAssetsFolder, imageAssetDelegate, composition.getImages());
+      imageAssetManager.setCacheKey(composition.getCacheKey());
     }
 
     return imageAssetManager;
@@ -1143,7 +1818,20 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
     return null;
   }
 
+  /**
+   * Use by Lottie internally when outside of a normal View tree such as for offscreen rendering.
+   */
+  @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+  void setFontAssetManager(@Nullable FontAssetManager fontAssetManager) {
+    synchronized (asyncRenderLock) {
+      this.fontAssetManagerOverride = fontAssetManager;
+    }
+  }
+
   private FontAssetManager getFontAssetManager() {
+    if (fontAssetManagerOverride != null) {
+      return fontAssetManagerOverride;
+    }
     if (getCallback() == null) {
       // We can't get a bitmap since we can't get a Context from the callback.
       return null;
@@ -1210,16 +1898,15 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
     return Math.min(maxScaleX, maxScaleY);
   }
 
-  private void drawWithNewAspectRatio(Canvas canvas) {
+  private void drawWithNewAspectRatio(Canvas canvas, int alpha, int width, int height) {
     if (compositionLayer == null) {
       return;
     }
 
     int saveCount = -1;
-    Rect bounds = getBounds();
     // In fitXY mode, the scale doesn't take effect.
-    float scaleX = bounds.width() / (float) composition.getBounds().width();
-    float scaleY = bounds.height() / (float) composition.getBounds().height();
+    float scaleX = width / (float) composition.getBounds().width();
+    float scaleY = height / (float) composition.getBounds().height();
 
     if (isExtraScaleEnabled) {
       float maxScale = Math.min(scaleX, scaleY);
@@ -1232,8 +1919,8 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
 
       if (extraScale > 1) {
         saveCount = canvas.save();
-        float halfWidth = bounds.width() / 2f;
-        float halfHeight = bounds.height() / 2f;
+        float halfWidth = width / 2f;
+        float halfHeight = height / 2f;
         float scaledHalfWidth = halfWidth * maxScale;
         float scaledHalfHeight = halfHeight * maxScale;
 
@@ -1253,17 +1940,17 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
     }
   }
 
-  private void drawWithOriginalAspectRatio(Canvas canvas) {
+  private void drawWithOriginalAspectRatio(Canvas canvas, int alpha, float requestedScale) {
     if (compositionLayer == null) {
       return;
     }
 
-    float scale = this.scale;
+    float scale = requestedScale;
     float extraScale = 1f;
     float maxScale = getMaxScale(canvas);
     if (scale > maxScale) {
       scale = maxScale;
-      extraScale = this.scale / scale;
+      extraScale = requestedScale / scale;
     }
 
     int saveCount = -1;
@@ -1284,8 +1971,8 @@ public class LottieDrawable extends Drawable implements Drawable.Callback, Anima
       float scaledHalfHeight = halfHeight * scale;
 
       canvas.translate(
-          getScale() * halfWidth - scaledHalfWidth,
-          getScale() * halfHeight - scaledHalfHeight);
+          requestedScale * halfWidth - scaledHalfWidth,
+          requestedScale * halfHeight - scaledHalfHeight);
       canvas.scale(extraScale, extraScale, scaledHalfWidth, scaledHalfHeight);
     }
 
@@ -0,0 +1,158 @@
+package com.airbnb.lottie;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * A single stage of loading a composition.
+ *
+ * @see LottieEventListener
+ */
+public final class LottieEvent {
+
+  public enum Stage {
+    /**
+     * The whole load, from the moment a {@link LottieTask} starts running until it has a result.
+     */
+    LOAD,
+    /**
+     * The in-memory composition cache lookup.
+     */
+    MEMORY_CACHE,
+    /**
+     * Looking up a url in the network disk cache.
+     */
+    DISK_CACHE,
+    /**
+     * Making the http request, up until the response headers are available.
+     */
+    NETWORK_REQUEST,
+    /**
+     * Downloading the response body into the network disk cache.
+     */
+    DISK_WRITE,
+    /**
+     * Parsing the json into a composition.
+     */
+    PARSE,
+    /**
+     * Decoding a single image.
+     */
+    IMAGE_DECODE
+  }
+
+  public enum SourceType {
+    ASSET,
+    RAW_RES,
+    URL,
+    FILE,
+    INPUT_STREAM,
+    JSON,
+    ZIP,
+    DOT_LOTTIE,
+    BUNDLE,
+    /**
+     * An image embedded in the json as a base64 data url.
+     */
+    DATA_URL,
+    /**
+     * An image provided by an {@link ImageAssetDelegate}.
+     */
+    IMAGE_DELEGATE
+  }
+
+  public enum Outcome {
+    HIT,
+    MISS,
+    SUCCESS,
+    FAILURE
+  }
+
+  private final Stage stage;
+  @Nullable private final SourceType sourceType;
+  @Nullable private final String key;
+  @Nullable private final String assetId;
+  private final long startTimeNanos;
+  private final long durationNanos;
+  private final long bytes;
+  private final Outcome outcome;
+  @Nullable private final Throwable error;
+
+  LottieEvent(Stage stage, @Nullable SourceType sourceType, @Nullable String key, @Nullable String assetId,
+      long startTimeNanos, long durationNanos, long bytes, Outcome outcome, @Nullable Throwable error) {
+    this.stage = stage;
+    this.sourceType = sourceType;
+    this.key = key;
+    this.assetId = assetId;
+    this.startTimeNanos = startTimeNanos;
+    this.durationNanos = durationNanos;
+    this.bytes = bytes;
+    this.outcome = outcome;
+    this.error = error;
+  }
+
+  public Stage getStage() {
+    return stage;
+  }
+
+  /**
+   * Where the composition or image is being loaded from. Null if this stage doesn't know, such as parsing.
+   */
+  @Nullable
+  public SourceType getSourceType() {
+    return sourceType;
+  }
+
+  /**
+   * The composition cache key. Every stage of the same load, including network, parse and image decoding stages,
+   * reports the same key. Null if the composition isn't being cached.
+   */
+  @Nullable
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * The id of the image asset for {@link Stage#IMAGE_DECODE}. Null for every other stage.
+   */
+  @Nullable
+  public String getAssetId() {
+    return assetId;
+  }
+
+  /**
+   * When the stage started, in the {@link System#nanoTime()} time base.
+   */
+  public long getStartTimeNanos() {
+    return startTimeNanos;
+  }
+
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  /**
+   * The number of bytes read, written or decoded in this stage or -1 if it isn't known.
+   */
+  public long getBytes() {
+    return bytes;
+  }
+
+  public Outcome getOutcome() {
+    return outcome;
+  }
+
+  /**
+   * The reason the stage failed, if it is known.
+   */
+  @Nullable
+  public Throwable getError() {
+    return error;
+  }
+
+  @NonNull @Override public String toString() {
+    return "LottieEvent{" + stage + " " + outcome + ", source=" + sourceType + ", key=" + key +
+        (assetId == null ? "" : ", assetId=" + assetId) +
+        ", durationMs=" + (durationNanos / 1000000f) + ", bytes=" + bytes + '}';
+  }
+}
@@ -0,0 +1,17 @@
+package com.airbnb.lottie;
+
+import androidx.annotation.AnyThread;
+
+/**
+ * Receives an event for each stage of loading a composition: the memory cache lookup, the network disk cache,
+ * the http request, writing the response to disk, parsing and decoding images.
+ * <p>
+ * Events are delivered synchronously on whichever thread the stage ran on, which is usually a background thread.
+ * Implementations should be fast and thread safe.
+ *
+ * @see LottieConfig.Builder#setEventListener(LottieEventListener)
+ */
+public interface LottieEventListener {
+  @AnyThread
+  void onEvent(LottieEvent event);
+}
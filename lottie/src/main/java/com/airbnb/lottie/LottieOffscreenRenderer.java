@@ -0,0 +1,186 @@
+package com.airbnb.lottie;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
+
+import com.airbnb.lottie.manager.FontAssetManager;
+import com.airbnb.lottie.manager.ImageAssetManager;
+
+/**
+ * Renders frames of a composition into bitmaps without a view, such as to generate share images or to encode a video.
+ * <p>
+ * A renderer doesn't need a {@link android.os.Looper} and can be used from any thread, but only from one thread at a
+ * time. Create one renderer per thread to render frames of the same composition in parallel.
+ */
+public class LottieOffscreenRenderer {
+
+  /**
+   * Receives each rendered frame from {@link #render(float, float, float, FrameSink)}.
+   */
+  public interface FrameSink {
+    /**
+     * The bitmap is reused for the next frame so it must be copied, encoded or drawn before this returns.
+     */
+    void onFrame(float frame, Bitmap bitmap);
+  }
+
+  @Nullable private final Context context;
+  private final LottieComposition composition;
+  private final LottieDrawable drawable = new LottieDrawable();
+  private final FontAssetManager fontAssetManager;
+  private final int width;
+  private final int height;
+  private final Canvas canvas = new Canvas();
+  private ImageAssetManager imageAssetManager;
+  @Nullable private Bitmap bitmap;
+
+  /**
+   * Images that are embedded in the composition, such as those from a zip file, are rendered. Images and fonts from
+   * assets require a {@link Context}. Use {@link #LottieOffscreenRenderer(Context, LottieComposition, int, int)} for those.
+   *
+   * @param width  the width of the rendered frames. The composition is scaled to fill it.
+   * @param height the height of the rendered frames. The composition is scaled to fill it.
+   */
+  public LottieOffscreenRenderer(LottieComposition composition, int width, int height) {
+    this(null, composition, width, height);
+  }
+
+  /**
+   * @param context used to load images from {@link #setImagesAssetsFolder(String)} and fonts from assets.
+   * @param width   the width of the rendered frames. The composition is scaled to fill it.
+   * @param height  the height of the rendered frames. The composition is scaled to fill it.
+   */
+  public LottieOffscreenRenderer(@Nullable Context context, LottieComposition composition, int width, int height) {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Invalid size " + width + "x" + height + ".");
+    }
+    this.context = context == null ? null : context.getApplicationContext();
+    this.composition = composition;
+    this.width = width;
+    this.height = height;
+    fontAssetManager = new FontAssetManager(this.context == null ? null : this.context.getAssets(), null);
+    drawable.setComposition(composition);
+    // The drawable is never attached to a view so it can't create its own asset managers.
+    imageAssetManager = new ImageAssetManager(this.context, null, null, composition.getImages());
+    imageAssetManager.setCacheKey(composition.getCacheKey());
+    drawable.setImageAssetManager(imageAssetManager);
+    drawable.setFontAssetManager(fontAssetManager);
+    drawable.setBounds(0, 0, width, height);
+    // When the aspect ratios match, the drawable draws the composition at its scale rather than filling its bounds.
+    Rect compositionBounds = composition.getBounds();
+    if (!compositionBounds.isEmpty()) {
+      drawable.setScale(Math.min(
+          width / (float) compositionBounds.width(), height / (float) compositionBounds.height()));
+    }
+  }
+
+  /**
+   * The drawable that frames are rendered with. Value callbacks or a {@link TextDelegate} can be set on it. Image and
+   * font delegates must be set on this renderer instead. It must not be attached to a view.
+   */
+  public LottieDrawable getDrawable() {
+    return drawable;
+  }
+
+  /**
+   * The folder in assets that images are loaded from. This requires a {@link Context}.
+   *
+   * @see LottieDrawable#setImagesAssetsFolder(String)
+   */
+  public void setImagesAssetsFolder(@Nullable String imagesFolder) {
+    imageAssetManager = new ImageAssetManager(context, imagesFolder, imageAssetManager.getDelegate(), composition.getImages());
+    imageAssetManager.setCacheKey(composition.getCacheKey());
+    drawable.setImageAssetManager(imageAssetManager);
+  }
+
+  /**
+   * @see LottieDrawable#setImageAssetDelegate(ImageAssetDelegate)
+   */
+  public void setImageAssetDelegate(@Nullable ImageAssetDelegate assetDelegate) {
+    imageAssetManager.setDelegate(assetDelegate);
+  }
+
+  /**
+   * @see LottieDrawable#setFontAssetDelegate(FontAssetDelegate)
+   */
+  public void setFontAssetDelegate(@Nullable FontAssetDelegate assetDelegate) {
+    fontAssetManager.setDelegate(assetDelegate);
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Renders every step frames from startFrame through endFrame, inclusive, and passes them to the sink.
+   * Steps smaller than 1 render the animation between its whole frames.
+   *
+   * @return the number of frames that were rendered.
+   */
+  @WorkerThread
+  public int render(float startFrame, float endFrame, float step, FrameSink sink) {
+    if (step <= 0f) {
+      throw new IllegalArgumentException("Step must be greater than 0 but was " + step + ".");
+    }
+    L.beginSection("LottieOffscreenRenderer#render");
+    Bitmap bitmap = this.bitmap;
+    if (bitmap == null) {
+      bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+      this.bitmap = bitmap;
+    }
+    int frameCount = 0;
+    // Multiply rather than accumulate so that rounding errors don't skip the end frame.
+    for (float frame = startFrame; frame <= endFrame; frame = startFrame + ++frameCount * step) {
+      renderFrame(frame, bitmap);
+      sink.onFrame(frame, bitmap);
+    }
+    L.endSection("LottieOffscreenRenderer#render");
+    return frameCount;
+  }
+
+  /**
+   * Renders a single frame into the given bitmap or into a new bitmap if it is null or the wrong size.
+   *
+   * @return the bitmap that the frame was rendered into.
+   */
+  @WorkerThread
+  public Bitmap renderFrame(float frame, @Nullable Bitmap reuse) {
+    Bitmap bitmap = reuse;
+    if (bitmap == null || bitmap.getWidth() != width || bitmap.getHeight() != height || !bitmap.isMutable()) {
+      bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    } else {
+      bitmap.eraseColor(0);
+    }
+    canvas.setBitmap(bitmap);
+    drawFrame(frame, canvas);
+    canvas.setBitmap(null);
+    return bitmap;
+  }
+
+  @VisibleForTesting
+  void drawFrame(float frame, Canvas canvas) {
+    float durationFrames = composition.getDurationFrames();
+    drawable.setProgress(durationFrames == 0f ? 0f : (frame - composition.getStartFrame()) / durationFrames);
+    drawable.draw(canvas);
+  }
+
+  /**
+   * Recycles the bitmap that is reused by {@link #render(float, float, float, FrameSink)}.
+   */
+  public void release() {
+    if (bitmap != null) {
+      bitmap.recycle();
+      bitmap = null;
+    }
+  }
+}
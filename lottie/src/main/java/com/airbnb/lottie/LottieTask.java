@@ -49,7 +49,7 @@ public class LottieTask<T> {
   }
 
   /**
-   * runNow is only used for testing.
+   * runNow is used for testing and for results that are already available, such as from a cache.
    */
   @RestrictTo(RestrictTo.Scope.LIBRARY) LottieTask(Callable<LottieResult<T>> runnable, boolean runNow) {
     if (runNow) {
@@ -24,6 +24,11 @@ public class PerformanceTracker {
   private boolean enabled = false;
   private final Set<FrameListener> frameListeners = new ArraySet<>();
   private final Map<String, MeanCalculator> layerRenderTimes = new HashMap<>();
+  private int skippedFrameCount;
+  private int quantizedFrameCount;
+  private int avoidedSaveLayerCount;
+  private MeanCalculator invalidationFanOut = new MeanCalculator();
+  private int coalescedInvalidationCount;
   private final Comparator<Pair<String, Float>> floatComparator =
       new Comparator<Pair<String, Float>>() {
         @Override public int compare(Pair<String, Float> o1, Pair<String, Float> o2) {
@@ -42,6 +47,10 @@ public class PerformanceTracker {
     this.enabled = enabled;
   }
 
+  public boolean isEnabled() {
+    return enabled;
+  }
+
   public void recordRenderTime(String layerName, float millis) {
     if (!enabled) {
       return;
@@ -60,6 +69,86 @@ public class PerformanceTracker {
     }
   }
 
+  /**
+   * Called when the animation progressed but no animated value changed so the frame didn't have to be drawn.
+   */
+  public void recordSkippedFrame() {
+    if (!enabled) {
+      return;
+    }
+    skippedFrameCount++;
+  }
+
+  /**
+   * The number of animation updates that didn't change anything on screen and were not drawn.
+   */
+  public int getSkippedFrameCount() {
+    return skippedFrameCount;
+  }
+
+  /**
+   * Called when the animation progressed but was held on the same frame by
+   * {@link LottieDrawable#setUseCompositionFrameRate(boolean)} or {@link LottieDrawable#setMaxFrameRate(float)}.
+   */
+  public void recordQuantizedFrame() {
+    if (!enabled) {
+      return;
+    }
+    quantizedFrameCount++;
+  }
+
+  /**
+   * The number of animation updates that were not drawn because of the frame rate settings.
+   */
+  public int getQuantizedFrameCount() {
+    return quantizedFrameCount;
+  }
+
+  /**
+   * Called when a masked layer was drawn with a clip instead of the given number of offscreen buffers.
+   */
+  public void recordAvoidedSaveLayers(int count) {
+    if (!enabled) {
+      return;
+    }
+    avoidedSaveLayerCount += count;
+  }
+
+  /**
+   * The number of offscreen buffers that weren't needed because masks could be applied as a clip.
+   */
+  public int getAvoidedSaveLayerCount() {
+    return avoidedSaveLayerCount;
+  }
+
+  /**
+   * Called after the layers were updated to a new progress with the number of times they asked the drawable to be
+   * invalidated. They are dispatched as at most one invalidation.
+   */
+  public void recordInvalidations(int requestedCount) {
+    if (!enabled) {
+      return;
+    }
+    invalidationFanOut.add(requestedCount);
+    if (requestedCount > 1) {
+      coalescedInvalidationCount += requestedCount - 1;
+    }
+  }
+
+  /**
+   * The average number of invalidations that the layers requested per progress update.
+   */
+  public float getInvalidationFanOut() {
+    return invalidationFanOut.getMean();
+  }
+
+  /**
+   * The number of invalidations that were merged into another invalidation from the same progress update.
+   */
+  public int getCoalescedInvalidationCount() {
+    return coalescedInvalidationCount;
+  }
+
   public void addFrameListener(FrameListener frameListener) {
     frameListeners.add(frameListener);
   }
@@ -70,6 +159,11 @@ public class PerformanceTracker {
 
   public void clearRenderTimes() {
     layerRenderTimes.clear();
+    skippedFrameCount = 0;
+    quantizedFrameCount = 0;
+    avoidedSaveLayerCount = 0;
+    invalidationFanOut = new MeanCalculator();
+    coalescedInvalidationCount = 0;
   }
 
   public void logRenderTimes() {
@@ -77,6 +171,10 @@ public class PerformanceTracker {
       return;
     }
     List<Pair<String, Float>> sortedRenderTimes = getSortedRenderTimes();
+    Log.d(L.TAG, "Skipped frames: " + skippedFrameCount);
+    Log.d(L.TAG, "Quantized frames: " + quantizedFrameCount);
+    Log.d(L.TAG, "Avoided save layers: " + avoidedSaveLayerCount);
+    Log.d(L.TAG, String.format("Invalidation fan-out: %.2f, coalesced: %d", invalidationFanOut.getMean(), coalescedInvalidationCount));
     Log.d(L.TAG, "Render times:");
     for (int i = 0; i < sortedRenderTimes.size(); i++) {
       Pair<String, Float> layer = sortedRenderTimes.get(i);
@@ -0,0 +1,151 @@
+package com.airbnb.lottie;
+
+import android.graphics.Bitmap;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.collection.LruCache;
+
+import com.airbnb.lottie.model.Marker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Renders single frames of compositions into bitmaps in the background and keeps them in memory, such as to show a
+ * poster frame for each row of a list before the full animation is needed.
+ * <p>
+ * Bitmaps are shared by everyone who requests the same frame so they must not be modified or recycled. They are kept,
+ * least recently used first, until they add up to maxBytes.
+ * <p>
+ * Frames are rendered with a {@link LottieOffscreenRenderer} without a {@link android.content.Context}, so only images
+ * that are already decoded in the composition, such as those from a zip file, or that are embedded as data URLs are
+ * drawn.
+ */
+public class PosterFrameCache {
+  private final LruCache<String, Bitmap> cache;
+  /* Only accessed on the main thread, where task listeners are called. */
+  private final Map<String, LottieTask<Bitmap>> tasks = new HashMap<>();
+
+  public PosterFrameCache(int maxBytes) {
+    cache = new LruCache<String, Bitmap>(maxBytes) {
+      @Override protected int sizeOf(String key, Bitmap bitmap) {
+        return bitmap.getByteCount();
+      }
+    };
+  }
+
+  /**
+   * Returns the poster frame if it has already been rendered.
+   *
+   * @param cacheKey identifies the composition, such as the cache key it was loaded with.
+   */
+  @Nullable
+  public Bitmap get(String cacheKey, float frame, int width, int height) {
+    return cache.get(posterKey(cacheKey, frame, width, height));
+  }
+
+  /**
+   * Returns the poster frame from the cache or renders it in the background if it hasn't been rendered yet.
+   * A cached poster frame is returned in a task that has already completed.
+   *
+   * @param cacheKey identifies the composition, such as the cache key it was loaded with.
+   */
+  @MainThread
+  public LottieTask<Bitmap> getOrRender(final String cacheKey, final LottieComposition composition, final float frame,
+      final int width, final int height) {
+    final String key = posterKey(cacheKey, frame, width, height);
+    final Bitmap cachedBitmap = cache.get(key);
+    if (cachedBitmap != null) {
+      return new LottieTask<>(new Callable<LottieResult<Bitmap>>() {
+        @Override
+        public LottieResult<Bitmap> call() {
+          return new LottieResult<>(cachedBitmap);
+        }
+      }, true);
+    }
+    LottieTask<Bitmap> existingTask = tasks.get(key);
+    if (existingTask != null) {
+      return existingTask;
+    }
+    LottieTask<Bitmap> task = new LottieTask<>(new Callable<LottieResult<Bitmap>>() {
+      @Override
+      public LottieResult<Bitmap> call() {
+        return getOrRenderSync(cacheKey, composition, frame, width, height);
+      }
+    });
+    task.addListener(new LottieListener<Bitmap>() {
+      @Override
+      public void onResult(Bitmap result) {
+        tasks.remove(key);
+      }
+    });
+    task.addFailureListener(new LottieListener<Throwable>() {
+      @Override
+      public void onResult(Throwable result) {
+        tasks.remove(key);
+      }
+    });
+    tasks.put(key, task);
+    return task;
+  }
+
+  /**
+   * Renders the first frame of a marker.
+   *
+   * @see #getOrRender(String, LottieComposition, float, int, int)
+   */
+  @MainThread
+  public LottieTask<Bitmap> getOrRenderMarker(String cacheKey, final LottieComposition composition, final String markerName,
+      int width, int height) {
+    Marker marker = composition.getMarker(markerName);
+    if (marker == null) {
+      return new LottieTask<>(new Callable<LottieResult<Bitmap>>() {
+        @Override
+        public LottieResult<Bitmap> call() {
+          return new LottieResult<>(new IllegalArgumentException("Cannot find marker with name " + markerName + "."));
+        }
+      }, true);
+    }
+    return getOrRender(cacheKey, composition, marker.startFrame, width, height);
+  }
+
+  /**
+   * @see #getOrRender(String, LottieComposition, float, int, int)
+   */
+  @WorkerThread
+  public LottieResult<Bitmap> getOrRenderSync(String cacheKey, LottieComposition composition, float frame, int width,
+      int height) {
+    String key = posterKey(cacheKey, frame, width, height);
+    Bitmap bitmap = cache.get(key);
+    if (bitmap != null) {
+      return new LottieResult<>(bitmap);
+    }
+    if (width <= 0 || height <= 0) {
+      return new LottieResult<>(new IllegalArgumentException("Invalid poster frame size " + width + "x" + height + "."));
+    }
+    L.beginSection("PosterFrameCache#render");
+    try {
+      bitmap = new LottieOffscreenRenderer(composition, width, height).renderFrame(frame, null);
+    } catch (OutOfMemoryError e) {
+      return new LottieResult<Bitmap>(e);
+    } finally {
+      L.endSection("PosterFrameCache#render");
+    }
+    cache.put(key, bitmap);
+    return new LottieResult<>(bitmap);
+  }
+
+  /**
+   * Drops every cached poster frame. Bitmaps that are in use are left for the garbage collector.
+   */
+  public void clear() {
+    cache.evictAll();
+  }
+
+  private static String posterKey(String cacheKey, float frame, int width, int height) {
+    return cacheKey + "_" + frame + "_" + width + "x" + height;
+  }
+}
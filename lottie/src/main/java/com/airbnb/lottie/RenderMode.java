@@ -9,5 +9,12 @@ package com.airbnb.lottie;
 public enum RenderMode {
   AUTOMATIC,
   HARDWARE,
-  SOFTWARE
+  SOFTWARE,
+  /**
+   * Render each frame into a bitmap once and draw the bitmaps on later loops. This is much cheaper for small
+   * animations that loop forever at the cost of memory and playback that is quantized to whole frames.
+   *
+   * @see LottieDrawable#enableFrameCache(long)
+   */
+  CACHED_FRAMES
 }
@@ -92,9 +92,11 @@ public class TextDelegate {
 
   private void invalidate() {
     if (animationView != null) {
+      animationView.clearFrameCache();
       animationView.invalidate();
     }
     if (drawable != null) {
+      drawable.clearFrameCache();
       drawable.invalidateSelf();
     }
   }
@@ -8,7 +8,6 @@ import android.graphics.DashPathEffect;
 import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
-import android.graphics.PathMeasure;
 import android.graphics.RectF;
 
 import androidx.annotation.CallSuper;
@@ -27,6 +26,7 @@ import com.airbnb.lottie.model.animatable.AnimatableFloatValue;
 import com.airbnb.lottie.model.animatable.AnimatableIntegerValue;
 import com.airbnb.lottie.model.content.ShapeTrimPath;
 import com.airbnb.lottie.model.layer.BaseLayer;
+import com.airbnb.lottie.utils.MeasuredPath;
 import com.airbnb.lottie.utils.MiscUtils;
 import com.airbnb.lottie.utils.Utils;
 import com.airbnb.lottie.value.LottieValueCallback;
@@ -37,7 +37,6 @@ import java.util.List;
 public abstract class BaseStrokeContent
     implements BaseKeyframeAnimation.AnimationListener, KeyPathElementContent, DrawingContent {
 
-  private final PathMeasure pm = new PathMeasure();
   private final Path path = new Path();
   private final Path trimPathPath = new Path();
   private final RectF rect = new RectF();
@@ -185,15 +184,10 @@ public abstract class BaseStrokeContent
       L.endSection("StrokeContent#applyTrimPath");
       return;
     }
-    path.reset();
-    for (int j = pathGroup.paths.size() - 1; j >= 0; j--) {
-      path.addPath(pathGroup.paths.get(j).getPath(), parentMatrix);
-    }
-    pm.setPath(path, false);
-    float totalLength = pm.getLength();
-    while (pm.nextContour()) {
-      totalLength += pm.getLength();
-    }
+    // Measuring the paths is the expensive part so they are only measured again when they change. Trim path
+    // animations only change how the measured paths get sliced.
+    pathGroup.measureIfNeeded(parentMatrix);
+    float totalLength = pathGroup.totalLength;
     float offsetLength = totalLength * pathGroup.trimPath.getOffset().getValue() / 360f;
     float startLength =
         totalLength * pathGroup.trimPath.getStart().getValue() / 100f + offsetLength;
@@ -202,10 +196,8 @@ public abstract class BaseStrokeContent
 
     float currentLength = 0;
     for (int j = pathGroup.paths.size() - 1; j >= 0; j--) {
-      trimPathPath.set(pathGroup.paths.get(j).getPath());
-      trimPathPath.transform(parentMatrix);
-      pm.setPath(trimPathPath, false);
-      float length = pm.getLength();
+      MeasuredPath measuredPath = pathGroup.measuredPaths.get(j);
+      float length = measuredPath.getLength();
       if (endLength > totalLength && endLength - totalLength < currentLength + length &&
           currentLength < endLength - totalLength) {
         // Draw the segment when the end is greater than the length which wraps around to the
@@ -217,14 +209,14 @@ public abstract class BaseStrokeContent
           startValue = 0;
         }
         float endValue = Math.min((endLength - totalLength) / length, 1);
-        Utils.applyTrimPathIfNeeded(trimPathPath, startValue, endValue, 0);
+        measuredPath.trim(trimPathPath, startValue, endValue, 0);
         canvas.drawPath(trimPathPath, paint);
       } else
         //noinspection StatementWithEmptyBody
         if (currentLength + length < startLength || currentLength > endLength) {
           // Do nothing
         } else if (currentLength + length <= endLength && startLength < currentLength) {
-          canvas.drawPath(trimPathPath, paint);
+          canvas.drawPath(measuredPath.getPath(), paint);
         } else {
           float startValue;
           if (startLength < currentLength) {
@@ -238,7 +230,7 @@ public abstract class BaseStrokeContent
           } else {
             endValue = (endLength - currentLength) / length;
           }
-          Utils.applyTrimPathIfNeeded(trimPathPath, startValue, endValue, 0);
+          measuredPath.trim(trimPathPath, startValue, endValue, 0);
           canvas.drawPath(trimPathPath, paint);
         }
       currentLength += length;
@@ -336,9 +328,61 @@ public abstract class BaseStrokeContent
   private static final class PathGroup {
     private final List<PathContent> paths = new ArrayList<>();
     @Nullable private final TrimPathContent trimPath;
+    /**
+     * The paths transformed by measuredMatrix and measured, in the same order as paths.
+     */
+    private final List<MeasuredPath> measuredPaths = new ArrayList<>();
+    private final Matrix measuredMatrix = new Matrix();
+    private int[] measuredPathVersions;
+    private boolean isMeasured;
+    private float totalLength;
 
     private PathGroup(@Nullable TrimPathContent trimPath) {
       this.trimPath = trimPath;
     }
+
+    private void measureIfNeeded(Matrix parentMatrix) {
+      if (isMeasurementValid(parentMatrix)) {
+        return;
+      }
+      L.beginSection("StrokeContent#measurePaths");
+      if (measuredPathVersions == null) {
+        measuredPathVersions = new int[paths.size()];
+        for (int i = 0; i < paths.size(); i++) {
+          measuredPaths.add(new MeasuredPath());
+        }
+      }
+      totalLength = 0;
+      for (int i = 0; i < paths.size(); i++) {
+        PathContent pathContent = paths.get(i);
+        MeasuredPath measuredPath = measuredPaths.get(i);
+        measuredPath.set(pathContent.getPath(), parentMatrix);
+        totalLength += measuredPath.getTotalLength();
+        if (pathContent instanceof CachedPathContent) {
+          measuredPathVersions[i] = ((CachedPathContent) pathContent).getPathVersion();
+        }
+      }
+      measuredMatrix.set(parentMatrix);
+      isMeasured = true;
+      L.endSection("StrokeContent#measurePaths");
+    }
+
+    /**
+     * The measurements can be reused if the paths are drawn with the same matrix and none of them have changed. Paths
+     * that aren't cached, such as the paths of groups, are rebuilt every time so they are always measured again.
+     */
+    private boolean isMeasurementValid(Matrix parentMatrix) {
+      if (!isMeasured || !measuredMatrix.equals(parentMatrix)) {
+        return false;
+      }
+      for (int i = 0; i < paths.size(); i++) {
+        PathContent pathContent = paths.get(i);
+        if (!(pathContent instanceof CachedPathContent) ||
+            ((CachedPathContent) pathContent).getPathVersion() != measuredPathVersions[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
   }
 }
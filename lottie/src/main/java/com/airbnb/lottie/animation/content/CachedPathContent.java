@@ -0,0 +1,12 @@
+package com.airbnb.lottie.animation.content;
+
+/**
+ * A {@link PathContent} that rebuilds its path only when it changes.
+ */
+interface CachedPathContent extends PathContent {
+  /**
+   * Changes every time the path returned by {@link #getPath()} may have changed so that anything derived from the
+   * path, such as its measurements, can be reused until then.
+   */
+  int getPathVersion();
+}
@@ -2,6 +2,7 @@ package com.airbnb.lottie.animation.content;
 
 import android.graphics.Path;
 
+import com.airbnb.lottie.utils.MeasuredPath;
 import com.airbnb.lottie.utils.Utils;
 
 import java.util.ArrayList;
@@ -9,14 +10,35 @@ import java.util.List;
 
 public class CompoundTrimPathContent {
   private List<TrimPathContent> contents = new ArrayList<>();
+  /**
+   * The path before it is trimmed. It is measured once and reused while only the trim paths animate.
+   */
+  private final MeasuredPath untrimmedPath = new MeasuredPath();
+  private boolean isUntrimmedPathValid;
 
   void addTrimPath(TrimPathContent trimPath) {
     contents.add(trimPath);
   }
 
+  /**
+   * Call this when the path that will be passed to {@link #apply(Path)} changes for a reason other than one of the
+   * trim paths changing.
+   */
+  void invalidatePath() {
+    isUntrimmedPathValid = false;
+  }
+
   public void apply(Path path) {
     for (int i = contents.size() - 1; i >= 0; i--) {
-      Utils.applyTrimPathIfNeeded(path, contents.get(i));
+      if (i == contents.size() - 1) {
+        if (!isUntrimmedPathValid) {
+          untrimmedPath.set(path);
+          isUntrimmedPathValid = true;
+        }
+        untrimmedPath.trim(path, contents.get(i));
+      } else {
+        Utils.applyTrimPathIfNeeded(path, contents.get(i));
+      }
     }
   }
 }
@@ -18,7 +18,7 @@ import com.airbnb.lottie.value.LottieValueCallback;
 import java.util.List;
 
 public class EllipseContent
-    implements PathContent, BaseKeyframeAnimation.AnimationListener, KeyPathElementContent {
+    implements CachedPathContent, BaseKeyframeAnimation.AnimationListener, KeyPathElementContent {
   private static final float ELLIPSE_CONTROL_POINT_PERCENTAGE = 0.55228f;
 
   private final Path path = new Path();
@@ -31,6 +31,12 @@ public class EllipseContent
 
   private CompoundTrimPathContent trimPaths = new CompoundTrimPathContent();
   private boolean isPathValid;
+  private int pathVersion;
+  private final BaseKeyframeAnimation.AnimationListener trimPathListener = new BaseKeyframeAnimation.AnimationListener() {
+    @Override public void onValueChanged() {
+      invalidate();
+    }
+  };
 
   public EllipseContent(LottieDrawable lottieDrawable, BaseLayer layer, CircleShape circleShape) {
     name = circleShape.getName();
@@ -47,11 +53,13 @@ public class EllipseContent
   }
 
   @Override public void onValueChanged() {
+    trimPaths.invalidatePath();
     invalidate();
   }
 
   private void invalidate() {
     isPathValid = false;
+    pathVersion++;
     lottieDrawable.invalidateSelf();
   }
 
@@ -61,7 +69,7 @@ public class EllipseContent
       if (content instanceof TrimPathContent && ((TrimPathContent) content).getType() == ShapeTrimPath.Type.SIMULTANEOUSLY) {
         TrimPathContent trimPath = (TrimPathContent) content;
         trimPaths.addTrimPath(trimPath);
-        trimPath.addListener(this);
+        trimPath.addListener(trimPathListener);
       }
     }
   }
@@ -70,6 +78,10 @@ public class EllipseContent
     return name;
   }
 
+  @Override public int getPathVersion() {
+    return pathVersion;
+  }
+
   @Override public Path getPath() {
     if (isPathValid) {
       return path;
@@ -4,19 +4,17 @@ import static com.airbnb.lottie.utils.MiscUtils.clamp;
 
 import android.graphics.Canvas;
 import android.graphics.ColorFilter;
-import android.graphics.LinearGradient;
 import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.PointF;
-import android.graphics.RadialGradient;
 import android.graphics.RectF;
 import android.graphics.Shader;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.collection.LongSparseArray;
 
+import com.airbnb.lottie.GradientCache;
 import com.airbnb.lottie.L;
 import com.airbnb.lottie.LottieDrawable;
 import com.airbnb.lottie.LottieProperty;
@@ -36,18 +34,12 @@ import java.util.List;
 
 public class GradientFillContent
     implements DrawingContent, BaseKeyframeAnimation.AnimationListener, KeyPathElementContent {
-  /**
-   * Cache the gradients such that it runs at 30fps.
-   */
-  private static final int CACHE_STEPS_MS = 32;
   @NonNull private final String name;
   private final boolean hidden;
+  private final GradientCache gradientCache;
   private final BaseLayer layer;
-  private final LongSparseArray<LinearGradient> linearGradientCache = new LongSparseArray<>();
-  private final LongSparseArray<RadialGradient> radialGradientCache = new LongSparseArray<>();
   private final Path path = new Path();
   private final Paint paint = new LPaint(Paint.ANTI_ALIAS_FLAG);
-  private final RectF boundsRect = new RectF();
   private final List<PathContent> paths = new ArrayList<>();
   private final GradientType type;
   private final BaseKeyframeAnimation<GradientColor, GradientColor> colorAnimation;
@@ -57,7 +49,6 @@ public class GradientFillContent
   @Nullable private BaseKeyframeAnimation<ColorFilter, ColorFilter> colorFilterAnimation;
   @Nullable private ValueCallbackKeyframeAnimation colorCallbackAnimation;
   private final LottieDrawable lottieDrawable;
-  private final int cacheSteps;
 
   public GradientFillContent(final LottieDrawable lottieDrawable, BaseLayer layer, GradientFill fill) {
     this.layer = layer;
@@ -66,7 +57,7 @@ public class GradientFillContent
     this.lottieDrawable = lottieDrawable;
     type = fill.getGradientType();
     path.setFillType(fill.getFillType());
-    cacheSteps = (int) (lottieDrawable.getComposition().getDuration() / CACHE_STEPS_MS);
+    gradientCache = lottieDrawable.getComposition().getGradientCache();
 
     colorAnimation = fill.getGradientColor().createAnimation();
     colorAnimation.addUpdateListener(this);
@@ -103,20 +94,18 @@ public class GradientFillContent
       return;
     }
     L.beginSection("GradientFillContent#draw");
+    // The shared gradients can't be given a local matrix so the layer transform is applied to the canvas instead.
     path.reset();
     for (int i = 0; i < paths.size(); i++) {
-      path.addPath(paths.get(i).getPath(), parentMatrix);
+      path.addPath(paths.get(i).getPath());
     }
 
-    path.computeBounds(boundsRect, false);
-
     Shader shader;
     if (type == GradientType.LINEAR) {
       shader = getLinearGradient();
     } else {
       shader = getRadialGradient();
     }
-    shader.setLocalMatrix(parentMatrix);
     paint.setShader(shader);
 
     if (colorFilterAnimation != null) {
@@ -126,7 +115,10 @@ public class GradientFillContent
     int alpha = (int) ((parentAlpha / 255f * opacityAnimation.getValue() / 100f) * 255);
     paint.setAlpha(clamp(alpha, 0, 255));
 
+    int saveCount = canvas.save();
+    canvas.concat(parentMatrix);
     canvas.drawPath(path, paint);
+    canvas.restoreToCount(saveCount);
     L.endSection("GradientFillContent#draw");
   }
 
@@ -150,29 +142,16 @@ public class GradientFillContent
     return name;
   }
 
-  private LinearGradient getLinearGradient() {
-    int gradientHash = getGradientHash();
-    LinearGradient gradient = linearGradientCache.get(gradientHash);
-    if (gradient != null) {
-      return gradient;
-    }
+  private Shader getLinearGradient() {
     PointF startPoint = startPointAnimation.getValue();
     PointF endPoint = endPointAnimation.getValue();
     GradientColor gradientColor = colorAnimation.getValue();
     int[] colors = applyDynamicColorsIfNeeded(gradientColor.getColors());
     float[] positions = gradientColor.getPositions();
-    gradient = new LinearGradient(startPoint.x, startPoint.y, endPoint.x, endPoint.y, colors,
-        positions, Shader.TileMode.CLAMP);
-    linearGradientCache.put(gradientHash, gradient);
-    return gradient;
+    return gradientCache.getLinearGradient(startPoint.x, startPoint.y, endPoint.x, endPoint.y, colors, positions);
   }
 
-  private RadialGradient getRadialGradient() {
-    int gradientHash = getGradientHash();
-    RadialGradient gradient = radialGradientCache.get(gradientHash);
-    if (gradient != null) {
-      return gradient;
-    }
+  private Shader getRadialGradient() {
     PointF startPoint = startPointAnimation.getValue();
     PointF endPoint = endPointAnimation.getValue();
     GradientColor gradientColor = colorAnimation.getValue();
@@ -186,26 +165,7 @@ public class GradientFillContent
     if (r <= 0) {
       r = 0.001f;
     }
-    gradient = new RadialGradient(x0, y0, r, colors, positions, Shader.TileMode.CLAMP);
-    radialGradientCache.put(gradientHash, gradient);
-    return gradient;
-  }
-
-  private int getGradientHash() {
-    int startPointProgress = Math.round(startPointAnimation.getProgress() * cacheSteps);
-    int endPointProgress = Math.round(endPointAnimation.getProgress() * cacheSteps);
-    int colorProgress = Math.round(colorAnimation.getProgress() * cacheSteps);
-    int hash = 17;
-    if (startPointProgress != 0) {
-      hash = hash * 31 * startPointProgress;
-    }
-    if (endPointProgress != 0) {
-      hash = hash * 31 * endPointProgress;
-    }
-    if (colorProgress != 0) {
-      hash = hash * 31 * colorProgress;
-    }
-    return hash;
+    return gradientCache.getRadialGradient(x0, y0, r, colors, positions);
   }
 
   private int[] applyDynamicColorsIfNeeded(int[] colors) {
@@ -257,8 +217,6 @@ public class GradientFillContent
         colorCallbackAnimation = null;
       } else {
         //noinspection rawtypes
-        linearGradientCache.clear();
-        radialGradientCache.clear();
         colorCallbackAnimation = new ValueCallbackKeyframeAnimation<>(callback);
         colorCallbackAnimation.addUpdateListener(this);
         layer.addAnimation(colorCallbackAnimation);
@@ -1,16 +1,14 @@
 package com.airbnb.lottie.animation.content;
 
 import android.graphics.Canvas;
-import android.graphics.LinearGradient;
 import android.graphics.Matrix;
 import android.graphics.PointF;
-import android.graphics.RadialGradient;
 import android.graphics.RectF;
 import android.graphics.Shader;
 
 import androidx.annotation.Nullable;
-import androidx.collection.LongSparseArray;
 
+import com.airbnb.lottie.GradientCache;
 import com.airbnb.lottie.LottieDrawable;
 import com.airbnb.lottie.LottieProperty;
 import com.airbnb.lottie.animation.keyframe.BaseKeyframeAnimation;
@@ -22,19 +20,16 @@ import com.airbnb.lottie.model.layer.BaseLayer;
 import com.airbnb.lottie.value.LottieValueCallback;
 
 public class GradientStrokeContent extends BaseStrokeContent {
-  /**
-   * Cache the gradients such that it runs at 30fps.
-   */
-  private static final int CACHE_STEPS_MS = 32;
-
   private final String name;
   private final boolean hidden;
-  private final LongSparseArray<LinearGradient> linearGradientCache = new LongSparseArray<>();
-  private final LongSparseArray<RadialGradient> radialGradientCache = new LongSparseArray<>();
+  /**
+   * The shaders are given the layer transform as their local matrix so they can't come from the composition's shared
+   * cache. This only keeps the current gradient so that it is reused while the gradient doesn't change.
+   */
+  private final GradientCache gradientCache = new GradientCache(1);
   private final RectF boundsRect = new RectF();
 
   private final GradientType type;
-  private final int cacheSteps;
   private final BaseKeyframeAnimation<GradientColor, GradientColor> colorAnimation;
   private final BaseKeyframeAnimation<PointF, PointF> startPointAnimation;
   private final BaseKeyframeAnimation<PointF, PointF> endPointAnimation;
@@ -49,7 +44,6 @@ public class GradientStrokeContent extends BaseStrokeContent {
     name = stroke.getName();
     type = stroke.getGradientType();
     hidden = stroke.isHidden();
-    cacheSteps = (int) (lottieDrawable.getComposition().getDuration() / CACHE_STEPS_MS);
 
     colorAnimation = stroke.getGradientColor().createAnimation();
     colorAnimation.addUpdateListener(this);
@@ -86,32 +80,16 @@ public class GradientStrokeContent extends BaseStrokeContent {
     return name;
   }
 
-  private LinearGradient getLinearGradient() {
-    int gradientHash = getGradientHash();
-    LinearGradient gradient = linearGradientCache.get(gradientHash);
-    if (gradient != null) {
-      return gradient;
-    }
+  private Shader getLinearGradient() {
     PointF startPoint = startPointAnimation.getValue();
     PointF endPoint = endPointAnimation.getValue();
     GradientColor gradientColor = colorAnimation.getValue();
     int[] colors = applyDynamicColorsIfNeeded(gradientColor.getColors());
     float[] positions = gradientColor.getPositions();
-    float x0 = startPoint.x;
-    float y0 = startPoint.y;
-    float x1 = endPoint.x;
-    float y1 = endPoint.y;
-    gradient = new LinearGradient(x0, y0, x1, y1, colors, positions, Shader.TileMode.CLAMP);
-    linearGradientCache.put(gradientHash, gradient);
-    return gradient;
+    return gradientCache.getLinearGradient(startPoint.x, startPoint.y, endPoint.x, endPoint.y, colors, positions);
   }
 
-  private RadialGradient getRadialGradient() {
-    int gradientHash = getGradientHash();
-    RadialGradient gradient = radialGradientCache.get(gradientHash);
-    if (gradient != null) {
-      return gradient;
-    }
+  private Shader getRadialGradient() {
     PointF startPoint = startPointAnimation.getValue();
     PointF endPoint = endPointAnimation.getValue();
     GradientColor gradientColor = colorAnimation.getValue();
@@ -122,26 +100,7 @@ public class GradientStrokeContent extends BaseStrokeContent {
     float x1 = endPoint.x;
     float y1 = endPoint.y;
     float r = (float) Math.hypot(x1 - x0, y1 - y0);
-    gradient = new RadialGradient(x0, y0, r, colors, positions, Shader.TileMode.CLAMP);
-    radialGradientCache.put(gradientHash, gradient);
-    return gradient;
-  }
-
-  private int getGradientHash() {
-    int startPointProgress = Math.round(startPointAnimation.getProgress() * cacheSteps);
-    int endPointProgress = Math.round(endPointAnimation.getProgress() * cacheSteps);
-    int colorProgress = Math.round(colorAnimation.getProgress() * cacheSteps);
-    int hash = 17;
-    if (startPointProgress != 0) {
-      hash = hash * 31 * startPointProgress;
-    }
-    if (endPointProgress != 0) {
-      hash = hash * 31 * endPointProgress;
-    }
-    if (colorProgress != 0) {
-      hash = hash * 31 * colorProgress;
-    }
-    return hash;
+    return gradientCache.getRadialGradient(x0, y0, r, colors, positions);
   }
 
   private int[] applyDynamicColorsIfNeeded(int[] colors) {
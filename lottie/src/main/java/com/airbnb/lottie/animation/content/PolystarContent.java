@@ -18,7 +18,7 @@ import com.airbnb.lottie.value.LottieValueCallback;
 import java.util.List;
 
 public class PolystarContent
-    implements PathContent, BaseKeyframeAnimation.AnimationListener, KeyPathElementContent {
+    implements CachedPathContent, BaseKeyframeAnimation.AnimationListener, KeyPathElementContent {
   /**
    * This was empirically derived by creating polystars, converting them to
    * curves, and calculating a scale factor.
@@ -43,6 +43,12 @@ public class PolystarContent
 
   private CompoundTrimPathContent trimPaths = new CompoundTrimPathContent();
   private boolean isPathValid;
+  private int pathVersion;
+  private final BaseKeyframeAnimation.AnimationListener trimPathListener = new BaseKeyframeAnimation.AnimationListener() {
+    @Override public void onValueChanged() {
+      invalidate();
+    }
+  };
 
   public PolystarContent(LottieDrawable lottieDrawable, BaseLayer layer,
       PolystarShape polystarShape) {
@@ -86,11 +92,13 @@ public class PolystarContent
   }
 
   @Override public void onValueChanged() {
+    trimPaths.invalidatePath();
     invalidate();
   }
 
   private void invalidate() {
     isPathValid = false;
+    pathVersion++;
     lottieDrawable.invalidateSelf();
   }
 
@@ -101,11 +109,15 @@ public class PolystarContent
           ((TrimPathContent) content).getType() == ShapeTrimPath.Type.SIMULTANEOUSLY) {
         TrimPathContent trimPath = (TrimPathContent) content;
         trimPaths.addTrimPath(trimPath);
-        trimPath.addListener(this);
+        trimPath.addListener(trimPathListener);
       }
     }
   }
 
+  @Override public int getPathVersion() {
+    return pathVersion;
+  }
+
   @Override public Path getPath() {
     if (isPathValid) {
       return path;
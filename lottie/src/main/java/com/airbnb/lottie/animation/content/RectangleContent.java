@@ -20,7 +20,7 @@ import com.airbnb.lottie.value.LottieValueCallback;
 import java.util.List;
 
 public class RectangleContent
-    implements BaseKeyframeAnimation.AnimationListener, KeyPathElementContent, PathContent {
+    implements BaseKeyframeAnimation.AnimationListener, KeyPathElementContent, CachedPathContent {
   private final Path path = new Path();
   private final RectF rect = new RectF();
 
@@ -33,6 +33,12 @@ public class RectangleContent
 
   private CompoundTrimPathContent trimPaths = new CompoundTrimPathContent();
   private boolean isPathValid;
+  private int pathVersion;
+  private final BaseKeyframeAnimation.AnimationListener trimPathListener = new BaseKeyframeAnimation.AnimationListener() {
+    @Override public void onValueChanged() {
+      invalidate();
+    }
+  };
 
   public RectangleContent(LottieDrawable lottieDrawable, BaseLayer layer, RectangleShape rectShape) {
     name = rectShape.getName();
@@ -58,11 +64,13 @@ public class RectangleContent
 
   @Override
   public void onValueChanged() {
+    trimPaths.invalidatePath();
     invalidate();
   }
 
   private void invalidate() {
     isPathValid = false;
+    pathVersion++;
     lottieDrawable.invalidateSelf();
   }
 
@@ -74,11 +82,15 @@ public class RectangleContent
           ((TrimPathContent) content).getType() == ShapeTrimPath.Type.SIMULTANEOUSLY) {
         TrimPathContent trimPath = (TrimPathContent) content;
         trimPaths.addTrimPath(trimPath);
-        trimPath.addListener(this);
+        trimPath.addListener(trimPathListener);
       }
     }
   }
 
+  @Override public int getPathVersion() {
+    return pathVersion;
+  }
+
   @Override
   public Path getPath() {
     if (isPathValid) {
@@ -10,7 +10,7 @@ import com.airbnb.lottie.model.layer.BaseLayer;
 
 import java.util.List;
 
-public class ShapeContent implements PathContent, BaseKeyframeAnimation.AnimationListener {
+public class ShapeContent implements CachedPathContent, BaseKeyframeAnimation.AnimationListener {
   private final Path path = new Path();
 
   private final String name;
@@ -19,6 +19,12 @@ public class ShapeContent implements PathContent, BaseKeyframeAnimation.Animatio
   private final BaseKeyframeAnimation<?, Path> shapeAnimation;
 
   private boolean isPathValid;
+  private int pathVersion;
+  private final BaseKeyframeAnimation.AnimationListener trimPathListener = new BaseKeyframeAnimation.AnimationListener() {
+    @Override public void onValueChanged() {
+      invalidate();
+    }
+  };
   private CompoundTrimPathContent trimPaths = new CompoundTrimPathContent();
 
   public ShapeContent(LottieDrawable lottieDrawable, BaseLayer layer, ShapePath shape) {
@@ -31,11 +37,13 @@ public class ShapeContent implements PathContent, BaseKeyframeAnimation.Animatio
   }
 
   @Override public void onValueChanged() {
+    trimPaths.invalidatePath();
     invalidate();
   }
 
   private void invalidate() {
     isPathValid = false;
+    pathVersion++;
     lottieDrawable.invalidateSelf();
   }
 
@@ -47,11 +55,15 @@ public class ShapeContent implements PathContent, BaseKeyframeAnimation.Animatio
         // Trim path individually will be handled by the stroke where paths are combined.
         TrimPathContent trimPath = (TrimPathContent) content;
         trimPaths.addTrimPath(trimPath);
-        trimPath.addListener(this);
+        trimPath.addListener(trimPathListener);
       }
     }
   }
 
+  @Override public int getPathVersion() {
+    return pathVersion;
+  }
+
   @Override public Path getPath() {
     if (isPathValid) {
       return path;
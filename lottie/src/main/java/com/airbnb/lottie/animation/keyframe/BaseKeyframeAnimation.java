@@ -29,6 +29,10 @@ public abstract class BaseKeyframeAnimation<K, A> {
   @Nullable protected LottieValueCallback<A> valueCallback;
 
   @Nullable private A cachedGetValue = null;
+  /**
+   * True if the value may have changed since {@link #getValue()} last interpolated it.
+   */
+  private boolean isValueDirty = true;
 
   private float cachedStartDelayProgress = -1f;
   private float cachedEndProgress = -1f;
@@ -45,6 +49,10 @@ public abstract class BaseKeyframeAnimation<K, A> {
     listeners.add(listener);
   }
 
+  /**
+   * Records the progress and notifies listeners if the value may have changed. The value itself is interpolated the next
+   * time it is requested.
+   */
   public void setProgress(@FloatRange(from = 0f, to = 1f) float progress) {
     if (keyframesWrapper.isEmpty()) {
       return;
@@ -59,12 +67,14 @@ public abstract class BaseKeyframeAnimation<K, A> {
       return;
     }
     this.progress = progress;
-    if (keyframesWrapper.isValueChanged(progress)) {
+    // Value callbacks may depend on the progress even if the keyframe value is held.
+    if (keyframesWrapper.isValueChanged(progress, valueCallback == null)) {
       notifyListeners();
     }
   }
 
   public void notifyListeners() {
+    isValueDirty = true;
     for (int i = 0; i < listeners.size(); i++) {
       listeners.get(i).onValueChanged();
     }
@@ -125,10 +135,14 @@ public abstract class BaseKeyframeAnimation<K, A> {
   }
 
   public A getValue() {
+    if (!isValueDirty && valueCallback == null) {
+      return cachedGetValue;
+    }
     A value;
 
     float linearProgress = getLinearCurrentKeyframeProgress();
     if (valueCallback == null && keyframesWrapper.isCachedValueEnabled(linearProgress)) {
+      isValueDirty = false;
       return cachedGetValue;
     }
     final Keyframe<K> keyframe = getCurrentKeyframe();
@@ -143,6 +157,7 @@ public abstract class BaseKeyframeAnimation<K, A> {
     }
 
     cachedGetValue = value;
+    isValueDirty = false;
     return value;
   }
 
@@ -150,6 +165,13 @@ public abstract class BaseKeyframeAnimation<K, A> {
     return progress;
   }
 
+  /**
+   * Value callbacks can return a different value on every frame without notifying listeners.
+   */
+  public boolean hasValueCallback() {
+    return valueCallback != null;
+  }
+
   public void setValueCallback(@Nullable LottieValueCallback<A> valueCallback) {
     if (this.valueCallback != null) {
       this.valueCallback.setAnimation(null);
@@ -158,6 +180,8 @@ public abstract class BaseKeyframeAnimation<K, A> {
     if (valueCallback != null) {
       valueCallback.setAnimation(this);
     }
+    // The cached value may have come from the previous value callback.
+    isValueDirty = true;
   }
 
   /**
@@ -186,7 +210,10 @@ public abstract class BaseKeyframeAnimation<K, A> {
   private interface KeyframesWrapper<T> {
     boolean isEmpty();
 
-    boolean isValueChanged(float progress);
+    /**
+     * @param skipHeldKeyframes true if progress changes within a keyframe whose value is held can be ignored.
+     */
+    boolean isValueChanged(float progress, boolean skipHeldKeyframes);
 
     Keyframe<T> getCurrentKeyframe();
 
@@ -206,7 +233,7 @@ public abstract class BaseKeyframeAnimation<K, A> {
     }
 
     @Override
-    public boolean isValueChanged(float progress) {
+    public boolean isValueChanged(float progress, boolean skipHeldKeyframes) {
       return false;
     }
 
@@ -246,8 +273,8 @@ public abstract class BaseKeyframeAnimation<K, A> {
     }
 
     @Override
-    public boolean isValueChanged(float progress) {
-      return !keyframe.isStatic();
+    public boolean isValueChanged(float progress, boolean skipHeldKeyframes) {
+      return !keyframe.isStatic() && !(skipHeldKeyframes && keyframe.isHeld());
     }
 
     @Override
@@ -277,14 +304,28 @@ public abstract class BaseKeyframeAnimation<K, A> {
 
   private static final class KeyframesWrapperImpl<T> implements KeyframesWrapper<T> {
     private final List<? extends Keyframe<T>> keyframes;
+    /**
+     * The start and end progress of each keyframe, in order. They are read once so that lookups don't go through the
+     * composition.
+     */
+    private final float[] startProgress;
+    private final float[] endProgress;
     @NonNull
     private Keyframe<T> currentKeyframe;
+    private int currentIndex;
     private Keyframe<T> cachedCurrentKeyframe = null;
     private float cachedInterpolatedProgress = -1f;
 
     KeyframesWrapperImpl(List<? extends Keyframe<T>> keyframes) {
       this.keyframes = keyframes;
-      currentKeyframe = findKeyframe(0);
+      startProgress = new float[keyframes.size()];
+      endProgress = new float[keyframes.size()];
+      for (int i = 0; i < keyframes.size(); i++) {
+        startProgress[i] = keyframes.get(i).getStartProgress();
+        endProgress[i] = keyframes.get(i).getEndProgress();
+      }
+      currentIndex = findKeyframeIndex(0);
+      currentKeyframe = keyframes.get(currentIndex);
     }
 
     @Override
@@ -292,30 +333,54 @@ public abstract class BaseKeyframeAnimation<K, A> {
       return false;
     }
 
+    /**
+     * The current keyframe is found here rather than when it is requested so that the animation doesn't keep reporting
+     * changes while nobody reads its value. This is usually the current keyframe or a neighbor of it.
+     */
     @Override
-    public boolean isValueChanged(float progress) {
-      if (currentKeyframe.containsProgress(progress)) {
-        return !currentKeyframe.isStatic();
+    public boolean isValueChanged(float progress, boolean skipHeldKeyframes) {
+      if (!containsProgress(currentIndex, progress)) {
+        int index = findKeyframeIndex(progress);
+        if (index != currentIndex) {
+          currentIndex = index;
+          currentKeyframe = keyframes.get(index);
+          return true;
+        }
       }
-      currentKeyframe = findKeyframe(progress);
-      return true;
+      return !currentKeyframe.isStatic() && !(skipHeldKeyframes && currentKeyframe.isHeld());
     }
 
-    private Keyframe<T> findKeyframe(float progress) {
-      Keyframe<T> keyframe = keyframes.get(keyframes.size() - 1);
-      if (progress >= keyframe.getStartProgress()) {
-        return keyframe;
+    private boolean containsProgress(int index, float progress) {
+      return progress >= startProgress[index] && progress < endProgress[index];
+    }
+
+    /**
+     * Checks the keyframes next to the current one first because playback moves from one keyframe to its neighbor.
+     * Seeks fall back to a binary search.
+     */
+    private int findKeyframeIndex(float progress) {
+      int lastIndex = keyframes.size() - 1;
+      if (progress >= startProgress[lastIndex]) {
+        return lastIndex;
       }
-      for (int i = keyframes.size() - 2; i >= 1; i--) {
-        keyframe = keyframes.get(i);
-        if (currentKeyframe == keyframe) {
-          continue;
-        }
-        if (keyframe.containsProgress(progress)) {
-          return keyframe;
+      if (currentIndex < lastIndex && containsProgress(currentIndex + 1, progress)) {
+        return currentIndex + 1;
+      }
+      if (currentIndex > 0 && containsProgress(currentIndex - 1, progress)) {
+        return currentIndex - 1;
+      }
+      // Find the last keyframe that starts at or before the progress.
+      int low = 0;
+      int high = lastIndex - 1;
+      while (low < high) {
+        int mid = (low + high + 1) >>> 1;
+        if (startProgress[mid] <= progress) {
+          low = mid;
+        } else {
+          high = mid - 1;
         }
       }
-      return keyframes.get(0);
+      return low;
     }
 
     @Override
@@ -336,6 +401,7 @@ public abstract class BaseKeyframeAnimation<K, A> {
 
     @Override
     public boolean isCachedValueEnabled(float progress) {
+      Keyframe<T> currentKeyframe = getCurrentKeyframe();
       if (cachedCurrentKeyframe == currentKeyframe
           && cachedInterpolatedProgress == progress) {
         return true;
@@ -1,16 +1,32 @@
 package com.airbnb.lottie.animation.keyframe;
 
 import android.graphics.Path;
+import android.graphics.PathMeasure;
 import android.graphics.PointF;
 
 import androidx.annotation.Nullable;
 
+import com.airbnb.lottie.L;
 import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.utils.MiscUtils;
 import com.airbnb.lottie.utils.Utils;
 import com.airbnb.lottie.value.Keyframe;
 
 public class PathKeyframe extends Keyframe<PointF> {
+  /**
+   * The maximum distance along the path between two entries of the position table. Between entries, the path is
+   * approximated with a straight line which is well under a pixel off for all but the tightest curves.
+   */
+  private static final float MAX_SEGMENT_LENGTH = 2f;
+  private static final int MAX_SEGMENTS = 1000;
+
   @Nullable private Path path;
+  /**
+   * Positions evenly spaced along the length of the path with x and y interleaved. This is created the first time
+   * a position is requested. Keyframes are shared by every drawable that draws the composition so this may be
+   * created from several threads at once. Each thread would create the same table.
+   */
+  @Nullable private volatile float[] positions;
 
   private final Keyframe<PointF> pointKeyFrame;
 
@@ -28,6 +44,7 @@ public class PathKeyframe extends Keyframe<PointF> {
         startValue.equals(endValue.x, endValue.y);
     if (startValue != null && endValue != null && !equals) {
       path = Utils.createPath(startValue, endValue, pointKeyFrame.pathCp1, pointKeyFrame.pathCp2);
+      positions = null;
     }
   }
 
@@ -37,4 +54,39 @@ public class PathKeyframe extends Keyframe<PointF> {
   @Nullable Path getPath() {
     return path;
   }
+
+  /**
+   * Sets outPoint to the point at progress along the length of the path. The path must not be null.
+   */
+  void getPosition(float progress, PointF outPoint) {
+    float[] positions = this.positions;
+    if (positions == null) {
+      positions = createPositions(path);
+      this.positions = positions;
+    }
+    int segments = positions.length / 2 - 1;
+    float position = MiscUtils.clamp(progress, 0f, 1f) * segments;
+    int index = Math.min((int) position, segments - 1);
+    float fraction = position - index;
+    int i = index * 2;
+    outPoint.set(
+        MiscUtils.lerp(positions[i], positions[i + 2], fraction),
+        MiscUtils.lerp(positions[i + 1], positions[i + 3], fraction));
+  }
+
+  private static float[] createPositions(Path path) {
+    L.beginSection("PathKeyframe#createPositions");
+    PathMeasure pathMeasure = new PathMeasure(path, false);
+    float length = pathMeasure.getLength();
+    int segments = Math.max(1, Math.min((int) Math.ceil(length / MAX_SEGMENT_LENGTH), MAX_SEGMENTS));
+    float[] positions = new float[(segments + 1) * 2];
+    float[] pos = new float[2];
+    for (int i = 0; i <= segments; i++) {
+      pathMeasure.getPosTan(length * i / segments, pos, null);
+      positions[i * 2] = pos[0];
+      positions[i * 2 + 1] = pos[1];
+    }
+    L.endSection("PathKeyframe#createPositions");
+    return positions;
+  }
 }
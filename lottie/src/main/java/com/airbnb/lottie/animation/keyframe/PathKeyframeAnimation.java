@@ -1,7 +1,6 @@
 package com.airbnb.lottie.animation.keyframe;
 
 import android.graphics.Path;
-import android.graphics.PathMeasure;
 import android.graphics.PointF;
 
 import com.airbnb.lottie.value.Keyframe;
@@ -10,9 +9,6 @@ import java.util.List;
 
 public class PathKeyframeAnimation extends KeyframeAnimation<PointF> {
   private final PointF point = new PointF();
-  private final float[] pos = new float[2];
-  private final PathMeasure pathMeasure = new PathMeasure();
-  private PathKeyframe pathMeasureKeyframe;
 
   public PathKeyframeAnimation(List<? extends Keyframe<PointF>> keyframes) {
     super(keyframes);
@@ -34,13 +30,7 @@ public class PathKeyframeAnimation extends KeyframeAnimation<PointF> {
       }
     }
 
-    if (pathMeasureKeyframe != pathKeyframe) {
-      pathMeasure.setPath(path, false);
-      pathMeasureKeyframe = pathKeyframe;
-    }
-
-    pathMeasure.getPosTan(keyframeProgress * pathMeasure.getLength(), pos, null);
-    point.set(pos[0], pos[1]);
+    pathKeyframe.getPosition(keyframeProgress, point);
     return point;
   }
 }
@@ -17,6 +17,10 @@ public class SplitDimensionPathKeyframeAnimation extends BaseKeyframeAnimation<P
 
   @Nullable protected LottieValueCallback<Float> xValueCallback;
   @Nullable protected LottieValueCallback<Float> yValueCallback;
+  /**
+   * True if the x or y value changed since the point was last read from them.
+   */
+  private boolean isPointDirty = true;
 
 
   public SplitDimensionPathKeyframeAnimation(
@@ -26,8 +30,13 @@ public class SplitDimensionPathKeyframeAnimation extends BaseKeyframeAnimation<P
 
     this.xAnimation = xAnimation;
     this.yAnimation = yAnimation;
-    // We need to call an initial setProgress so point gets set with the initial value.
-    setProgress(getProgress());
+    AnimationListener pointListener = new AnimationListener() {
+      @Override public void onValueChanged() {
+        isPointDirty = true;
+      }
+    };
+    xAnimation.addUpdateListener(pointListener);
+    yAnimation.addUpdateListener(pointListener);
   }
 
   public void setXValueCallback(@Nullable LottieValueCallback<Float> xValueCallback) {
@@ -53,17 +62,27 @@ public class SplitDimensionPathKeyframeAnimation extends BaseKeyframeAnimation<P
   @Override public void setProgress(float progress) {
     xAnimation.setProgress(progress);
     yAnimation.setProgress(progress);
-    point.set(xAnimation.getValue(), yAnimation.getValue());
-    for (int i = 0; i < listeners.size(); i++) {
-      listeners.get(i).onValueChanged();
+    // The point is read from the x and y animations when it is requested.
+    if (isPointDirty || xValueCallback != null || yValueCallback != null) {
+      for (int i = 0; i < listeners.size(); i++) {
+        listeners.get(i).onValueChanged();
+      }
     }
   }
 
+  @Override public boolean hasValueCallback() {
+    return super.hasValueCallback() || xValueCallback != null || yValueCallback != null;
+  }
+
   @Override public PointF getValue() {
     return getValue(null, 0);
   }
 
   @Override PointF getValue(Keyframe<PointF> keyframe, float keyframeProgress) {
+    if (isPointDirty) {
+      point.set(xAnimation.getValue(), yAnimation.getValue());
+      isPointDirty = false;
+    }
     Float xCallbackValue = null;
     Float yCallbackValue = null;
 
@@ -28,6 +28,16 @@ import java.util.Collections;
 
 public class TransformKeyframeAnimation {
   private final Matrix matrix = new Matrix();
+  /**
+   * True if the matrix has to be rebuilt because one of the animations it is built from changed.
+   */
+  private boolean isMatrixDirty = true;
+  private final BaseKeyframeAnimation.AnimationListener matrixListener = new BaseKeyframeAnimation.AnimationListener() {
+    @Override
+    public void onValueChanged() {
+      isMatrixDirty = true;
+    }
+  };
   private final Matrix skewMatrix1;
   private final Matrix skewMatrix2;
   private final Matrix skewMatrix3;
@@ -76,6 +86,18 @@ public class TransformKeyframeAnimation {
     } else {
       endOpacity = null;
     }
+    addMatrixListener(anchorPoint);
+    addMatrixListener(position);
+    addMatrixListener(scale);
+    addMatrixListener(rotation);
+    addMatrixListener(skew);
+    addMatrixListener(skewAngle);
+  }
+
+  private void addMatrixListener(@Nullable BaseKeyframeAnimation<?, ?> animation) {
+    if (animation != null) {
+      animation.addUpdateListener(matrixListener);
+    }
   }
 
   public void addAnimationsToLayer(BaseLayer layer) {
@@ -165,7 +187,27 @@ public class TransformKeyframeAnimation {
     return endOpacity;
   }
 
+  /**
+   * Returns true if one of the animations that the matrix is built from has a value callback, which can change the
+   * matrix on every frame without notifying listeners.
+   */
+  public boolean hasMatrixValueCallbacks() {
+    return hasValueCallback(anchorPoint) || hasValueCallback(position) || hasValueCallback(scale)
+        || hasValueCallback(rotation) || hasValueCallback(skew) || hasValueCallback(skewAngle);
+  }
+
+  private static boolean hasValueCallback(@Nullable BaseKeyframeAnimation<?, ?> animation) {
+    return animation != null && animation.hasValueCallback();
+  }
+
+  /**
+   * The matrix is only rebuilt when one of the animations it is built from changed. It must not be modified.
+   */
   public Matrix getMatrix() {
+    if (!isMatrixDirty && !hasMatrixValueCallbacks()) {
+      return matrix;
+    }
+    isMatrixDirty = false;
     matrix.reset();
     if (position != null) {
       PointF position = this.position.getValue();
@@ -246,6 +288,8 @@ public class TransformKeyframeAnimation {
     PointF position = this.position == null ? null : this.position.getValue();
     ScaleXY scale = this.scale == null ? null : this.scale.getValue();
 
+    // This reuses the matrix of getMatrix so it has to be rebuilt.
+    isMatrixDirty = true;
     matrix.reset();
     if (position != null) {
       matrix.preTranslate(position.x * amount, position.y * amount);
@@ -328,6 +372,8 @@ public class TransformKeyframeAnimation {
     } else {
       return false;
     }
+    // Value callbacks don't notify listeners when they are set or removed.
+    isMatrixDirty = true;
     return true;
   }
 }
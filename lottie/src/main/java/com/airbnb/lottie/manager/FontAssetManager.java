@@ -25,7 +25,7 @@ public class FontAssetManager {
    * Map of font families to their fonts. Necessary to create a font with a different style
    */
   private final Map<String, Typeface> fontFamilies = new HashMap<>();
-  private final AssetManager assetManager;
+  @Nullable private final AssetManager assetManager;
   @Nullable private FontAssetDelegate delegate;
   private String defaultFontFileExtension = ".ttf";
 
@@ -40,6 +40,14 @@ public class FontAssetManager {
     assetManager = ((View) callback).getContext().getAssets();
   }
 
+  /**
+   * Fonts are only loaded from assets if assetManager is set. Otherwise, they must be fetched by the delegate.
+   */
+  public FontAssetManager(@Nullable AssetManager assetManager, @Nullable FontAssetDelegate delegate) {
+    this.assetManager = assetManager;
+    this.delegate = delegate;
+  }
+
   public void setDelegate(@Nullable FontAssetDelegate assetDelegate) {
     this.delegate = assetDelegate;
   }
@@ -55,19 +63,22 @@ public class FontAssetManager {
     this.defaultFontFileExtension = defaultFontFileExtension;
   }
 
-  public Typeface getTypeface(String fontFamily, String style) {
+  @Nullable public Typeface getTypeface(String fontFamily, String style) {
     tempPair.set(fontFamily, style);
     Typeface typeface = fontMap.get(tempPair);
     if (typeface != null) {
       return typeface;
     }
     Typeface typefaceWithDefaultStyle = getFontFamily(fontFamily);
+    if (typefaceWithDefaultStyle == null) {
+      return null;
+    }
     typeface = typefaceForStyle(typefaceWithDefaultStyle, style);
     fontMap.put(tempPair, typeface);
     return typeface;
   }
 
-  private Typeface getFontFamily(String fontFamily) {
+  @Nullable private Typeface getFontFamily(String fontFamily) {
     Typeface defaultTypeface = fontFamilies.get(fontFamily);
     if (defaultTypeface != null) {
       return defaultTypeface;
@@ -78,6 +89,11 @@ public class FontAssetManager {
       typeface = delegate.fetchFont(fontFamily);
     }
 
+    if (typeface == null && assetManager == null) {
+      Logger.warning("Unable to load font " + fontFamily + " without a Context.");
+      return null;
+    }
+
     if (delegate != null && typeface == null) {
       String path = delegate.getFontPath(fontFamily);
       if (path != null) {
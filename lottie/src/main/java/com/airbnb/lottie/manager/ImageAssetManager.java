@@ -11,6 +11,8 @@ import android.view.View;
 import androidx.annotation.Nullable;
 
 import com.airbnb.lottie.ImageAssetDelegate;
+import com.airbnb.lottie.L;
+import com.airbnb.lottie.LottieEvent;
 import com.airbnb.lottie.LottieImageAsset;
 import com.airbnb.lottie.utils.Logger;
 import com.airbnb.lottie.utils.Utils;
@@ -27,6 +29,7 @@ public class ImageAssetManager {
   private final String imagesFolder;
   @Nullable private ImageAssetDelegate delegate;
   private final Map<String, LottieImageAsset> imageAssets;
+  @Nullable private String cacheKey;
 
   public ImageAssetManager(Drawable.Callback callback, String imagesFolder,
       ImageAssetDelegate delegate, Map<String, LottieImageAsset> imageAssets) {
@@ -48,7 +51,7 @@ public class ImageAssetManager {
     setDelegate(delegate);
   }
 
-  public ImageAssetManager(Context context, String imagesFolder, ImageAssetDelegate delegate, Map<String, LottieImageAsset> imageAssets) {
+  public ImageAssetManager(@Nullable Context context, String imagesFolder, ImageAssetDelegate delegate, Map<String, LottieImageAsset> imageAssets) {
     this.context = context;
     if (!TextUtils.isEmpty(imagesFolder) && imagesFolder.charAt(imagesFolder.length() - 1) != '/') {
       this.imagesFolder = imagesFolder + '/';
@@ -63,6 +66,17 @@ public class ImageAssetManager {
     this.delegate = assetDelegate;
   }
 
+  @Nullable public ImageAssetDelegate getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * The cache key of the composition that the images belong to. It is reported with each decoded image.
+   */
+  public void setCacheKey(@Nullable String cacheKey) {
+    this.cacheKey = cacheKey;
+  }
+
   /**
    * Returns the previously set bitmap or null.
    */
@@ -88,11 +102,13 @@ public class ImageAssetManager {
       return bitmap;
     }
 
+    long startNanos = System.nanoTime();
     if (delegate != null) {
       bitmap = delegate.fetchBitmap(asset);
       if (bitmap != null) {
         putBitmap(id, bitmap);
       }
+      onDecoded(LottieEvent.SourceType.IMAGE_DELEGATE, id, startNanos, bitmap, null);
       return bitmap;
     }
 
@@ -108,12 +124,20 @@ public class ImageAssetManager {
         data = Base64.decode(filename.substring(filename.indexOf(',') + 1), Base64.DEFAULT);
       } catch (IllegalArgumentException e) {
         Logger.warning("data URL did not have correct base64 format.", e);
+        onDecoded(LottieEvent.SourceType.DATA_URL, id, startNanos, null, e);
         return null;
       }
       bitmap = BitmapFactory.decodeByteArray(data, 0, data.length, opts);
+      onDecoded(LottieEvent.SourceType.DATA_URL, id, startNanos, bitmap, null);
       return putBitmap(id, bitmap);
     }
 
+    if (context == null) {
+      Logger.warning("Unable to load image " + filename + " without a Context.");
+      onDecoded(LottieEvent.SourceType.ASSET, id, startNanos, null, null);
+      return null;
+    }
+
     InputStream is;
     try {
       if (TextUtils.isEmpty(imagesFolder)) {
@@ -123,18 +147,28 @@ public class ImageAssetManager {
       is = context.getAssets().open(imagesFolder + filename);
     } catch (IOException e) {
       Logger.warning("Unable to open asset.", e);
+      onDecoded(LottieEvent.SourceType.ASSET, id, startNanos, null, e);
       return null;
     }
     try {
       bitmap = BitmapFactory.decodeStream(is, null, opts);
     } catch (IllegalArgumentException e) {
       Logger.warning("Unable to decode image.", e);
+      onDecoded(LottieEvent.SourceType.ASSET, id, startNanos, null, e);
       return null;
     }
     bitmap = Utils.resizeBitmapIfNeeded(bitmap, asset.getWidth(), asset.getHeight());
+    onDecoded(LottieEvent.SourceType.ASSET, id, startNanos, bitmap, null);
     return putBitmap(id, bitmap);
   }
 
+  private void onDecoded(LottieEvent.SourceType sourceType, String id, long startNanos, @Nullable Bitmap bitmap,
+      @Nullable Throwable error) {
+    L.onEvent(LottieEvent.Stage.IMAGE_DECODE, sourceType, cacheKey, id, startNanos,
+        bitmap == null ? -1 : bitmap.getByteCount(),
+        bitmap == null ? LottieEvent.Outcome.FAILURE : LottieEvent.Outcome.SUCCESS, error);
+  }
+
   public boolean hasSameContext(Context context) {
     return context == null && this.context == null || this.context.equals(context);
   }
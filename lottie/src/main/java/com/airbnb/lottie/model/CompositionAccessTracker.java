@@ -0,0 +1,244 @@
+package com.airbnb.lottie.model;
+
+import static com.airbnb.lottie.utils.Utils.closeQuietly;
+import static okio.Okio.buffer;
+import static okio.Okio.sink;
+import static okio.Okio.source;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+import androidx.annotation.WorkerThread;
+
+import com.airbnb.lottie.utils.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import okio.BufferedSink;
+import okio.BufferedSource;
+
+/**
+ * Counts how often each composition cache key is requested and persists the counts to a small file so that they
+ * survive across sessions.
+ * <p>
+ * Counts are halved, rounding down, every time the file is loaded so animations that are no longer used sink below the
+ * ones that are. A key that hasn't been requested for more than {@value #MAX_IDLE_SESSIONS} sessions is dropped, so an
+ * animation that was only used once is still warmed for a few sessions. At most {@value #MAX_KEYS} keys are kept.
+ * Raw resource ids change between builds so rawRes keys are dropped whenever the app version changes.
+ * <p>
+ * The estimated in-memory size of each composition is persisted alongside its count so that it can be checked against
+ * a memory budget before the composition is loaded again.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public class CompositionAccessTracker {
+  private static final int VERSION = 3;
+  private static final int MAX_KEYS = 64;
+  private static final int MAX_IDLE_SESSIONS = 3;
+
+  private final File file;
+  private final String appVersion;
+  private final Executor executor;
+  private final Map<String, Integer> counts = new HashMap<>();
+  private final Map<String, Long> sizes = new HashMap<>();
+  /* The number of sessions since each key was last requested. Keys that were requested in this session aren't in it. */
+  private final Map<String, Integer> idleSessions = new HashMap<>();
+  private boolean writePending = false;
+  /* Don't overwrite the file until its counts have been merged in. */
+  private boolean loaded = false;
+
+  public CompositionAccessTracker(File file, String appVersion, Executor executor) {
+    this.file = file;
+    this.appVersion = appVersion;
+    this.executor = executor;
+  }
+
+  public synchronized void recordAccess(@Nullable String cacheKey) {
+    if (cacheKey == null || cacheKey.indexOf('\n') >= 0) {
+      return;
+    }
+    Integer count = counts.get(cacheKey);
+    counts.put(cacheKey, count == null ? 1 : count + 1);
+    idleSessions.remove(cacheKey);
+    scheduleWrite();
+  }
+
+  public synchronized void recordSize(@Nullable String cacheKey, long sizeBytes) {
+    if (cacheKey == null || cacheKey.indexOf('\n') >= 0 || sizeBytes <= 0) {
+      return;
+    }
+    Long existing = sizes.put(cacheKey, sizeBytes);
+    if ((existing == null || existing != sizeBytes) && counts.containsKey(cacheKey)) {
+      scheduleWrite();
+    }
+  }
+
+  /**
+   * Returns the estimated size of the composition from the last time it was loaded, or 0 if it isn't known.
+   */
+  public synchronized long getEstimatedSize(String cacheKey) {
+    Long size = sizes.get(cacheKey);
+    return size == null ? 0 : size;
+  }
+
+  /**
+   * Returns up to maxKeys cache keys, most frequently accessed first.
+   */
+  public synchronized List<String> getMostAccessedKeys(int maxKeys) {
+    List<String> keys = sortedKeys();
+    return keys.size() > maxKeys ? new ArrayList<>(keys.subList(0, maxKeys)) : keys;
+  }
+
+  /**
+   * Merges the persisted counts into any accesses that have already been recorded in this session.
+   */
+  @WorkerThread
+  public void load() {
+    try {
+      loadInternal();
+    } finally {
+      synchronized (this) {
+        loaded = true;
+        if (!counts.isEmpty()) {
+          scheduleWrite();
+        }
+      }
+    }
+  }
+
+  private void loadInternal() {
+    if (!file.exists()) {
+      return;
+    }
+    BufferedSource source = null;
+    try {
+      source = buffer(source(file));
+      String version = source.readUtf8Line();
+      String fileAppVersion = source.readUtf8Line();
+      if (version == null || Integer.parseInt(version) != VERSION) {
+        return;
+      }
+      boolean appUpdated = !appVersion.equals(fileAppVersion);
+      String line;
+      while ((line = source.readUtf8Line()) != null) {
+        // count size idleSessions cacheKey
+        int countSeparator = line.indexOf(' ');
+        int sizeSeparator = countSeparator < 0 ? -1 : line.indexOf(' ', countSeparator + 1);
+        int idleSeparator = sizeSeparator < 0 ? -1 : line.indexOf(' ', sizeSeparator + 1);
+        if (countSeparator <= 0 || idleSeparator < 0) {
+          continue;
+        }
+        String cacheKey = line.substring(idleSeparator + 1);
+        if (appUpdated && cacheKey.startsWith("rawRes")) {
+          continue;
+        }
+        int count = Integer.parseInt(line.substring(0, countSeparator)) / 2;
+        long size = Long.parseLong(line.substring(countSeparator + 1, sizeSeparator));
+        int idle = Integer.parseInt(line.substring(sizeSeparator + 1, idleSeparator)) + 1;
+        synchronized (this) {
+          Integer existing = counts.get(cacheKey);
+          if (existing == null && idle > MAX_IDLE_SESSIONS) {
+            continue;
+          }
+          counts.put(cacheKey, existing == null ? count : existing + count);
+          if (existing == null) {
+            idleSessions.put(cacheKey, idle);
+          }
+          if (size > 0 && !sizes.containsKey(cacheKey)) {
+            sizes.put(cacheKey, size);
+          }
+        }
+      }
+    } catch (IOException | NumberFormatException e) {
+      Logger.warning("Unable to read composition access counts.", e);
+    } finally {
+      closeQuietly(source);
+    }
+  }
+
+  private void scheduleWrite() {
+    if (!loaded || writePending) {
+      return;
+    }
+    writePending = true;
+    executor.execute(new Runnable() {
+      @Override public void run() {
+        write();
+      }
+    });
+  }
+
+  @WorkerThread
+  private void write() {
+    List<String> keys;
+    Map<String, Integer> snapshot;
+    Map<String, Long> sizesSnapshot;
+    Map<String, Integer> idleSnapshot;
+    synchronized (this) {
+      writePending = false;
+      keys = sortedKeys();
+      if (keys.size() > MAX_KEYS) {
+        for (String key : keys.subList(MAX_KEYS, keys.size())) {
+          counts.remove(key);
+          sizes.remove(key);
+          idleSessions.remove(key);
+        }
+        keys = new ArrayList<>(keys.subList(0, MAX_KEYS));
+      }
+      snapshot = new HashMap<>(counts);
+      sizesSnapshot = new HashMap<>(sizes);
+      idleSnapshot = new HashMap<>(idleSessions);
+    }
+
+    File tempFile = new File(file.getPath() + ".temp");
+    BufferedSink sink = null;
+    try {
+      sink = buffer(sink(tempFile));
+      sink.writeUtf8(String.valueOf(VERSION)).writeByte('\n');
+      sink.writeUtf8(appVersion).writeByte('\n');
+      for (String key : keys) {
+        Long size = sizesSnapshot.get(key);
+        Integer idle = idleSnapshot.get(key);
+        sink.writeUtf8(String.valueOf(snapshot.get(key))).writeByte(' ')
+            .writeUtf8(String.valueOf(size == null ? 0 : size)).writeByte(' ')
+            .writeUtf8(String.valueOf(idle == null ? 0 : idle)).writeByte(' ')
+            .writeUtf8(key).writeByte('\n');
+      }
+      sink.close();
+      sink = null;
+      if (!tempFile.renameTo(file)) {
+        Logger.warning("Unable to save composition access counts.");
+      }
+    } catch (IOException e) {
+      Logger.warning("Unable to save composition access counts.", e);
+    } finally {
+      closeQuietly(sink);
+    }
+  }
+
+  /**
+   * Most accessed first. Ties are broken by the most recently requested.
+   */
+  private List<String> sortedKeys() {
+    List<String> keys = new ArrayList<>(counts.keySet());
+    Collections.sort(keys, new Comparator<String>() {
+      @Override public int compare(String a, String b) {
+        int countA = counts.get(a);
+        int countB = counts.get(b);
+        if (countA != countB) {
+          return countA > countB ? -1 : 1;
+        }
+        int idleA = idleSessions.containsKey(a) ? idleSessions.get(a) : 0;
+        int idleB = idleSessions.containsKey(b) ? idleSessions.get(b) : 0;
+        return idleA == idleB ? a.compareTo(b) : (idleA < idleB ? -1 : 1);
+      }
+    });
+    return keys;
+  }
+}
@@ -0,0 +1,229 @@
+package com.airbnb.lottie.model.layer;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the layers of a composition that need to be updated and drawn for a given progress without visiting the others.
+ * <p>
+ * Each layer is only shown between its in and out points. The range of progress values that may show it is indexed
+ * into buckets along the timeline so a lookup only checks the layers whose range overlaps the bucket of the progress.
+ * <p>
+ * A layer that is active also needs the layers it depends on to be up to date: its parents, whose transforms it
+ * concatenates, and the parents of its matte. Layers that were active for the previous progress are included once
+ * more so that their in/out animation gets the update that hides them.
+ */
+class ActiveLayerIndex {
+  private static final int MAX_BUCKET_COUNT = 64;
+  /**
+   * The ranges are widened slightly so that rounding never leaves out a layer on the frame it appears.
+   */
+  private static final float RANGE_PADDING = 0.001f;
+
+  private final float[] startProgress;
+  private final float[] endProgress;
+  private final int[][] dependencies;
+  private final int[][] buckets;
+  private final float rangeStart;
+  private final float rangeEnd;
+
+  private final boolean[] isAdded;
+  /**
+   * Layers whose range contained the previous progress along with their dependencies.
+   */
+  private int[] previousInRange;
+  private int previousInRangeCount;
+  private int[] inRange;
+  private int inRangeCount;
+  private final int[] active;
+  private int activeCount;
+
+  /**
+   * Returns null if the layers aren't limited to parts of the timeline so an index wouldn't skip anything.
+   */
+  @Nullable
+  static ActiveLayerIndex create(List<BaseLayer> layers) {
+    int layerCount = layers.size();
+    float[] startProgress = new float[layerCount];
+    float[] endProgress = new float[layerCount];
+    float rangeStart = Float.POSITIVE_INFINITY;
+    float rangeEnd = Float.NEGATIVE_INFINITY;
+    for (int i = 0; i < layerCount; i++) {
+      BaseLayer layer = layers.get(i);
+      startProgress[i] = layer.getActiveStartProgress() - RANGE_PADDING;
+      endProgress[i] = layer.getActiveEndProgress() + RANGE_PADDING;
+      if (!Float.isInfinite(startProgress[i])) {
+        rangeStart = Math.min(rangeStart, startProgress[i]);
+        rangeEnd = Math.max(rangeEnd, startProgress[i]);
+      }
+      if (!Float.isInfinite(endProgress[i])) {
+        rangeStart = Math.min(rangeStart, endProgress[i]);
+        rangeEnd = Math.max(rangeEnd, endProgress[i]);
+      }
+    }
+    if (!(rangeEnd > rangeStart)) {
+      return null;
+    }
+    return new ActiveLayerIndex(layers, startProgress, endProgress, rangeStart, rangeEnd);
+  }
+
+  private ActiveLayerIndex(List<BaseLayer> layers, float[] startProgress, float[] endProgress, float rangeStart,
+      float rangeEnd) {
+    int layerCount = layers.size();
+    this.startProgress = startProgress;
+    this.endProgress = endProgress;
+    this.rangeStart = rangeStart;
+    this.rangeEnd = rangeEnd;
+    dependencies = buildDependencies(layers);
+
+    int bucketCount = Math.min(MAX_BUCKET_COUNT, layerCount);
+    buckets = new int[bucketCount][];
+    List<List<Integer>> bucketLists = new ArrayList<>(bucketCount);
+    for (int b = 0; b < bucketCount; b++) {
+      bucketLists.add(new ArrayList<Integer>());
+    }
+    for (int i = 0; i < layerCount; i++) {
+      if (!(endProgress[i] > startProgress[i])) {
+        continue;
+      }
+      int lastBucket = bucketFor(endProgress[i]);
+      for (int b = bucketFor(startProgress[i]); b <= lastBucket; b++) {
+        bucketLists.get(b).add(i);
+      }
+    }
+    for (int b = 0; b < bucketCount; b++) {
+      List<Integer> bucketList = bucketLists.get(b);
+      buckets[b] = new int[bucketList.size()];
+      for (int i = 0; i < bucketList.size(); i++) {
+        buckets[b][i] = bucketList.get(i);
+      }
+    }
+
+    isAdded = new boolean[layerCount];
+    previousInRange = new int[layerCount];
+    inRange = new int[layerCount];
+    active = new int[layerCount];
+    // Update and draw every layer until the first update.
+    for (int i = 0; i < layerCount; i++) {
+      inRange[i] = i;
+      active[i] = i;
+    }
+    inRangeCount = layerCount;
+    activeCount = layerCount;
+  }
+
+  /**
+   * Maps each layer to the layers that have to be updated for it to be drawn. Parents that are mattes are updated by
+   * the layer they are the matte of.
+   */
+  private static int[][] buildDependencies(List<BaseLayer> layers) {
+    Map<BaseLayer, Integer> updatedBy = new HashMap<>(layers.size());
+    for (int i = 0; i < layers.size(); i++) {
+      BaseLayer layer = layers.get(i);
+      updatedBy.put(layer, i);
+      BaseLayer matteLayer = layer.getMatteLayer();
+      if (matteLayer != null) {
+        updatedBy.put(matteLayer, i);
+      }
+    }
+    int[][] dependencies = new int[layers.size()][];
+    List<Integer> layerDependencies = new ArrayList<>();
+    for (int i = 0; i < layers.size(); i++) {
+      layerDependencies.clear();
+      BaseLayer layer = layers.get(i);
+      addParents(layer, i, updatedBy, layerDependencies);
+      BaseLayer matteLayer = layer.getMatteLayer();
+      if (matteLayer != null) {
+        addParents(matteLayer, i, updatedBy, layerDependencies);
+      }
+      dependencies[i] = new int[layerDependencies.size()];
+      for (int d = 0; d < layerDependencies.size(); d++) {
+        dependencies[i][d] = layerDependencies.get(d);
+      }
+    }
+    return dependencies;
+  }
+
+  private static void addParents(BaseLayer layer, int index, Map<BaseLayer, Integer> updatedBy, List<Integer> outDependencies) {
+    BaseLayer parent = layer.getParentLayer();
+    while (parent != null) {
+      Integer parentIndex = updatedBy.get(parent);
+      if (parentIndex != null && parentIndex != index && !outDependencies.contains(parentIndex)) {
+        outDependencies.add(parentIndex);
+      }
+      parent = parent.getParentLayer();
+    }
+  }
+
+  private int bucketFor(float progress) {
+    if (progress <= rangeStart) {
+      return 0;
+    }
+    if (progress >= rangeEnd) {
+      return buckets.length - 1;
+    }
+    return Math.min(buckets.length - 1, (int) ((progress - rangeStart) / (rangeEnd - rangeStart) * buckets.length));
+  }
+
+  /**
+   * Finds the layers to update and draw for the given progress. They can be read with {@link #getActiveLayer(int)}
+   * in the same order as the layers.
+   *
+   * @return the number of active layers.
+   */
+  int update(float progress) {
+    int[] swap = previousInRange;
+    previousInRange = inRange;
+    previousInRangeCount = inRangeCount;
+    inRange = swap;
+
+    inRangeCount = 0;
+    int[] bucket = buckets[bucketFor(progress)];
+    for (int i = 0; i < bucket.length; i++) {
+      int layer = bucket[i];
+      if (progress < startProgress[layer] || progress >= endProgress[layer]) {
+        continue;
+      }
+      addInRange(layer);
+      int[] layerDependencies = dependencies[layer];
+      for (int d = 0; d < layerDependencies.length; d++) {
+        addInRange(layerDependencies[d]);
+      }
+    }
+    System.arraycopy(inRange, 0, active, 0, inRangeCount);
+    activeCount = inRangeCount;
+    for (int i = 0; i < previousInRangeCount; i++) {
+      int layer = previousInRange[i];
+      if (!isAdded[layer]) {
+        isAdded[layer] = true;
+        active[activeCount++] = layer;
+      }
+    }
+    for (int i = 0; i < activeCount; i++) {
+      isAdded[active[i]] = false;
+    }
+    Arrays.sort(active, 0, activeCount);
+    return activeCount;
+  }
+
+  private void addInRange(int layer) {
+    if (isAdded[layer]) {
+      return;
+    }
+    isAdded[layer] = true;
+    inRange[inRangeCount++] = layer;
+  }
+
+  int getActiveCount() {
+    return activeCount;
+  }
+
+  int getActiveLayer(int i) {
+    return active[i];
+  }
+}
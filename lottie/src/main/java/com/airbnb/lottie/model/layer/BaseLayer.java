@@ -1,5 +1,6 @@
 package com.airbnb.lottie.model.layer;
 
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Matrix;
@@ -30,6 +31,7 @@ import com.airbnb.lottie.model.content.Mask;
 import com.airbnb.lottie.model.content.ShapeData;
 import com.airbnb.lottie.utils.Logger;
 import com.airbnb.lottie.utils.Utils;
+import com.airbnb.lottie.value.Keyframe;
 import com.airbnb.lottie.value.LottieValueCallback;
 
 import java.util.ArrayList;
@@ -83,6 +85,15 @@ public abstract class BaseLayer
   private final RectF maskBoundsRect = new RectF();
   private final RectF matteBoundsRect = new RectF();
   private final RectF tempMaskBoundsRect = new RectF();
+  /**
+   * The clip that the masks are equivalent to, set by {@link #buildMaskClip(Matrix)}.
+   */
+  private final Path maskClipPath = new Path();
+  private final RectF maskClipRect = new RectF();
+  private final Matrix maskClipMatrix = new Matrix();
+  private boolean hasMaskClip;
+  private boolean isMaskClipRect;
+  private int maskClipAvoidedSaveLayers;
   private final String drawTraceName;
   final Matrix boundsMatrix = new Matrix();
   final LottieDrawable lottieDrawable;
@@ -94,12 +105,32 @@ public abstract class BaseLayer
   @Nullable
   private BaseLayer matteLayer;
   /**
-   * This should only be used by {@link #buildParentLayerListIfNeeded()}
-   * to construct the list of parent layers.
+   * Parent transforms are applied through {@link #getParentChainMatrix()}. The list of every parent layer is built
+   * by {@link #buildParentLayerListIfNeeded()}.
    */
   @Nullable
   private BaseLayer parentLayer;
   private List<BaseLayer> parentLayers;
+  /**
+   * Layers that have this layer as their parent.
+   */
+  @Nullable private List<BaseLayer> childLayers;
+  /**
+   * The transforms of every parent concatenated, from the outermost one in. Only valid while
+   * isParentChainMatrixValid is true.
+   */
+  private final Matrix parentChainMatrix = new Matrix();
+  private boolean isParentChainMatrixValid;
+  /**
+   * True if another layer reads this layer's transform or bounds even while this layer is hidden because this layer is
+   * its parent or its matte.
+   */
+  private boolean isDependedOn;
+  /**
+   * The progress that was set while this layer was hidden and hasn't been applied to its animations yet.
+   */
+  private float pendingProgress;
+  private boolean hasPendingProgress;
 
   private final List<BaseKeyframeAnimation<?, ?>> animations = new ArrayList<>();
   final TransformKeyframeAnimation transform;
@@ -108,6 +139,44 @@ public abstract class BaseLayer
   private boolean outlineMasksAndMattes;
   @Nullable private Paint outlineMasksAndMattesPaint;
 
+  /**
+   * Content rendered by {@link #drawFromStaticCache(Canvas, Matrix, int)} along with the matrix, alpha and render cache
+   * generation it was rendered with.
+   */
+  @Nullable private Bitmap staticBitmap;
+  @Nullable private Canvas staticCanvas;
+  private final Matrix staticMatrix = new Matrix();
+  private final Matrix staticDrawMatrix = new Matrix();
+  private final RectF staticBounds = new RectF();
+  private final Matrix canvasMatrix = new Matrix();
+  private final float[] canvasMatrixValues = new float[9];
+  private int staticLeft;
+  private int staticTop;
+  private int staticAlpha;
+  private int staticGeneration;
+  private boolean isStaticBitmapValid;
+  private boolean isStaticBitmapTooLarge;
+  /**
+   * True if one of this layer's animations changed its value since the last draw.
+   */
+  private boolean contentChanged = true;
+  private final BaseKeyframeAnimation.AnimationListener contentChangedListener = new BaseKeyframeAnimation.AnimationListener() {
+    @Override
+    public void onValueChanged() {
+      contentChanged = true;
+      boundsChanged = true;
+    }
+  };
+  /**
+   * True if this layer's transform, content or visibility changed since the last {@link #clearDirtyFlags()}.
+   */
+  private boolean boundsChanged = true;
+  /**
+   * The bounds from the last {@link #collectDirtyBounds(RectF, Matrix, boolean)}.
+   */
+  private final RectF lastDirtyBounds = new RectF();
+  private final RectF dirtyBounds = new RectF();
+
   BaseLayer(LottieDrawable lottieDrawable, Layer layerModel) {
     this.lottieDrawable = lottieDrawable;
     this.layerModel = layerModel;
@@ -151,15 +220,61 @@ public abstract class BaseLayer
 
   @Override
   public void onValueChanged() {
+    boundsChanged = true;
+    invalidateChildParentChainMatrices();
     invalidateSelf();
   }
 
+  /**
+   * Returns the transforms of every parent of this layer concatenated. It is rebuilt after the transform of one of
+   * the parents changed or every time if one of them has a value callback.
+   */
+  private Matrix getParentChainMatrix() {
+    BaseLayer parent = parentLayer;
+    if (parent == null) {
+      parentChainMatrix.reset();
+      return parentChainMatrix;
+    }
+    if (isParentChainMatrixValid) {
+      return parentChainMatrix;
+    }
+    if (parent.parentLayer == null) {
+      parentChainMatrix.set(parent.transform.getMatrix());
+    } else {
+      parentChainMatrix.set(parent.getParentChainMatrix());
+      parentChainMatrix.preConcat(parent.transform.getMatrix());
+    }
+    isParentChainMatrixValid = (parent.parentLayer == null || parent.isParentChainMatrixValid)
+        && !parent.transform.hasMatrixValueCallbacks();
+    return parentChainMatrix;
+  }
+
+  /**
+   * A child's chain is only valid while its parent's is so there is no need to look past a child whose chain is
+   * already invalid.
+   */
+  private void invalidateChildParentChainMatrices() {
+    if (childLayers == null) {
+      return;
+    }
+    for (int i = 0; i < childLayers.size(); i++) {
+      BaseLayer child = childLayers.get(i);
+      if (child.isParentChainMatrixValid) {
+        child.isParentChainMatrixValid = false;
+        child.invalidateChildParentChainMatrices();
+      }
+    }
+  }
+
   Layer getLayerModel() {
     return layerModel;
   }
 
   void setMatteLayer(@Nullable BaseLayer matteLayer) {
     this.matteLayer = matteLayer;
+    if (matteLayer != null) {
+      matteLayer.isDependedOn = true;
+    }
   }
 
   boolean hasMatteOnThisLayer() {
@@ -168,6 +283,78 @@ public abstract class BaseLayer
 
   void setParentLayer(@Nullable BaseLayer parentLayer) {
     this.parentLayer = parentLayer;
+    isParentChainMatrixValid = false;
+    if (parentLayer != null) {
+      parentLayer.isDependedOn = true;
+      if (parentLayer.childLayers == null) {
+        parentLayer.childLayers = new ArrayList<>(1);
+      }
+      parentLayer.childLayers.add(this);
+    }
+  }
+
+  boolean hasParentLayer() {
+    return parentLayer != null;
+  }
+
+  @Nullable
+  BaseLayer getParentLayer() {
+    return parentLayer;
+  }
+
+  @Nullable
+  BaseLayer getMatteLayer() {
+    return matteLayer;
+  }
+
+  /**
+   * Returns the start of the range of progress values passed to {@link #setProgress(float)} in which the in/out
+   * animation can show this layer or negative infinity if it is shown for any progress before the end.
+   */
+  float getActiveStartProgress() {
+    List<Keyframe<Float>> keyframes = layerModel.getInOutKeyframes();
+    float timeStretch = layerModel.getTimeStretch();
+    if (keyframes.isEmpty() || timeStretch == 0) {
+      return Float.NEGATIVE_INFINITY;
+    }
+    for (int i = 0; i < keyframes.size(); i++) {
+      Keyframe<Float> keyframe = keyframes.get(i);
+      if (isVisibleKeyframe(keyframe)) {
+        // Progress before the first keyframe is clamped to it.
+        if (i == 0) {
+          return Float.NEGATIVE_INFINITY;
+        }
+        // The in/out animation is updated with the time stretch divided out.
+        return keyframe.getStartProgress() * timeStretch;
+      }
+    }
+    return Float.POSITIVE_INFINITY;
+  }
+
+  /**
+   * @see #getActiveStartProgress()
+   */
+  float getActiveEndProgress() {
+    List<Keyframe<Float>> keyframes = layerModel.getInOutKeyframes();
+    float timeStretch = layerModel.getTimeStretch();
+    if (keyframes.isEmpty() || timeStretch == 0) {
+      return Float.POSITIVE_INFINITY;
+    }
+    for (int i = keyframes.size() - 1; i >= 0; i--) {
+      Keyframe<Float> keyframe = keyframes.get(i);
+      if (isVisibleKeyframe(keyframe)) {
+        // Progress after the last keyframe is clamped to it.
+        if (i == keyframes.size() - 1) {
+          return Float.POSITIVE_INFINITY;
+        }
+        return keyframe.getEndProgress() * timeStretch;
+      }
+    }
+    return Float.NEGATIVE_INFINITY;
+  }
+
+  private static boolean isVisibleKeyframe(Keyframe<Float> keyframe) {
+    return keyframe.startValue != null && keyframe.startValue == 1f;
   }
 
   private void setupInOutAnimations() {
@@ -196,6 +383,7 @@ public abstract class BaseLayer
       return;
     }
     animations.add(newAnimation);
+    newAnimation.addUpdateListener(contentChangedListener);
   }
 
   public void removeAnimation(BaseKeyframeAnimation<?, ?> animation) {
@@ -206,18 +394,12 @@ public abstract class BaseLayer
   @Override
   public void getBounds(
       RectF outBounds, Matrix parentMatrix, boolean applyParents) {
+    applyPendingProgress();
     rect.set(0, 0, 0, 0);
-    buildParentLayerListIfNeeded();
     boundsMatrix.set(parentMatrix);
 
-    if (applyParents) {
-      if (parentLayers != null) {
-        for (int i = parentLayers.size() - 1; i >= 0; i--) {
-          boundsMatrix.preConcat(parentLayers.get(i).transform.getMatrix());
-        }
-      } else if (parentLayer != null) {
-        boundsMatrix.preConcat(parentLayer.transform.getMatrix());
-      }
+    if (applyParents && parentLayer != null) {
+      boundsMatrix.preConcat(getParentChainMatrix());
     }
 
     boundsMatrix.preConcat(transform.getMatrix());
@@ -230,18 +412,21 @@ public abstract class BaseLayer
       L.endSection(drawTraceName);
       return;
     }
-    buildParentLayerListIfNeeded();
     L.beginSection("Layer#parentMatrix");
     matrix.reset();
     matrix.set(parentMatrix);
-    for (int i = parentLayers.size() - 1; i >= 0; i--) {
-      matrix.preConcat(parentLayers.get(i).transform.getMatrix());
+    if (parentLayer != null) {
+      matrix.preConcat(getParentChainMatrix());
     }
     L.endSection("Layer#parentMatrix");
     int opacity = transform.getOpacity() == null ? 100 : transform.getOpacity().getValue();
     int alpha = (int)
         ((parentAlpha / 255f * (float) opacity / 100f) * 255);
     if (!hasMatteOnThisLayer() && !hasMasksOnThisLayer()) {
+      if (drawFromStaticCache(canvas, matrix, alpha)) {
+        recordRenderTime(L.endSection(drawTraceName));
+        return;
+      }
       matrix.preConcat(transform.getMatrix());
       L.beginSection("Layer#drawLayer");
       drawLayer(canvas, matrix, alpha);
@@ -249,6 +434,28 @@ public abstract class BaseLayer
       recordRenderTime(L.endSection(drawTraceName));
       return;
     }
+    releaseStaticCache();
+
+    if (!hasMatteOnThisLayer()) {
+      maskClipMatrix.set(matrix);
+      maskClipMatrix.preConcat(transform.getMatrix());
+      if (buildMaskClip(maskClipMatrix)) {
+        canvas.save();
+        // If every mask has no effect, there is nothing to clip.
+        if (hasMaskClip && isMaskClipRect) {
+          canvas.clipRect(maskClipRect);
+        } else if (hasMaskClip) {
+          canvas.clipPath(maskClipPath);
+        }
+        L.beginSection("Layer#drawLayer");
+        drawLayer(canvas, maskClipMatrix, alpha);
+        L.endSection("Layer#drawLayer");
+        canvas.restore();
+        lottieDrawable.getComposition().getPerformanceTracker().recordAvoidedSaveLayers(maskClipAvoidedSaveLayers);
+        recordRenderTime(L.endSection(drawTraceName));
+        return;
+      }
+    }
 
     L.beginSection("Layer#computeBounds");
     getBounds(rect, matrix, false);
@@ -315,6 +522,194 @@ public abstract class BaseLayer
     recordRenderTime(L.endSection(drawTraceName));
   }
 
+  boolean hasValueCallbacks() {
+    for (int i = 0; i < animations.size(); i++) {
+      if (animations.get(i).hasValueCallback()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Layers that return true only touch their own state while they are drawn. Unlike images or text, they don't load
+   * anything from the drawable.
+   */
+  boolean isThreadConfinedSupported() {
+    return false;
+  }
+
+  /**
+   * Returns true if drawing this layer, its matte and its children only reads and writes state that belongs to them so
+   * that it can be drawn on a worker thread by {@link ParallelLayerRenderer}. Value callbacks are never called from a
+   * worker thread.
+   */
+  boolean isThreadConfined() {
+    if (!isThreadConfinedSupported() || hasValueCallbacks()) {
+      return false;
+    }
+    return matteLayer == null || matteLayer.isThreadConfined();
+  }
+
+  /**
+   * Layers that return true have content that only depends on the animations added with
+   * {@link #addAnimation(BaseKeyframeAnimation)} so they can be cached by {@link #drawFromStaticCache(Canvas, Matrix, int)}.
+   */
+  boolean isStaticCacheSupported() {
+    return false;
+  }
+
+  /**
+   * Draws this layer from a bitmap if its content hasn't changed since the bitmap was rendered.
+   * The content is rendered into the bitmap once its content, matrix and alpha have been unchanged for two draws in
+   * a row so that layers that animate on every frame never pay for the extra bitmap.
+   *
+   * The bitmap is rendered in canvas pixels and drawn without scaling so it is only used while the canvas itself is
+   * translated at most.
+   *
+   * @param parentMatrix the canvas matrix including parent layers but not this layer's transform.
+   * @return false if the layer has to be drawn directly.
+   */
+  private boolean drawFromStaticCache(Canvas canvas, Matrix parentMatrix, int alpha) {
+    if (!lottieDrawable.isStaticLayerCacheEnabled() || !isStaticCacheSupported()) {
+      releaseStaticCache();
+      return false;
+    }
+    if (!isCanvasTranslateOnly(canvas)) {
+      // Keep the bitmap in case the canvas is only scaled briefly.
+      return false;
+    }
+    boolean changed = contentChanged || staticGeneration != lottieDrawable.getRenderCacheGeneration();
+    contentChanged = false;
+    staticGeneration = lottieDrawable.getRenderCacheGeneration();
+    if (!changed) {
+      changed = hasValueCallbacks();
+    }
+    staticDrawMatrix.set(parentMatrix);
+    staticDrawMatrix.preConcat(transform.getMatrix());
+    if (changed || staticAlpha != alpha || !staticMatrix.equals(staticDrawMatrix)) {
+      // Wait for the content and its position to settle before rendering it into a bitmap.
+      staticMatrix.set(staticDrawMatrix);
+      staticAlpha = alpha;
+      isStaticBitmapValid = false;
+      isStaticBitmapTooLarge = false;
+      return false;
+    }
+    if (!isStaticBitmapValid && (isStaticBitmapTooLarge || !renderStaticCache(canvas, parentMatrix, alpha))) {
+      return false;
+    }
+    L.beginSection("Layer#drawStaticCache");
+    //noinspection ConstantConditions
+    canvas.drawBitmap(staticBitmap, staticLeft, staticTop, null);
+    L.endSection("Layer#drawStaticCache");
+    return true;
+  }
+
+  /**
+   * Returns true if the canvas is neither scaled, rotated nor skewed so that a bitmap rendered in canvas pixels can
+   * be drawn to it without being resampled.
+   */
+  boolean isCanvasTranslateOnly(Canvas canvas) {
+    //noinspection deprecation
+    canvas.getMatrix(canvasMatrix);
+    canvasMatrix.getValues(canvasMatrixValues);
+    return canvasMatrixValues[Matrix.MSCALE_X] == 1f && canvasMatrixValues[Matrix.MSKEW_X] == 0f &&
+        canvasMatrixValues[Matrix.MSKEW_Y] == 0f && canvasMatrixValues[Matrix.MSCALE_Y] == 1f &&
+        canvasMatrixValues[Matrix.MPERSP_0] == 0f && canvasMatrixValues[Matrix.MPERSP_1] == 0f &&
+        canvasMatrixValues[Matrix.MPERSP_2] == 1f;
+  }
+
+  private boolean renderStaticCache(Canvas canvas, Matrix parentMatrix, int alpha) {
+    getBounds(staticBounds, parentMatrix, false);
+    // Pad the bounds for anti-aliasing.
+    int left = (int) Math.floor(staticBounds.left) - 1;
+    int top = (int) Math.floor(staticBounds.top) - 1;
+    int width = (int) Math.ceil(staticBounds.right) + 1 - left;
+    int height = (int) Math.ceil(staticBounds.bottom) + 1 - top;
+    // Don't allocate more than a canvas sized bitmap for a single layer.
+    if (staticBounds.isEmpty() || (long) width * height > (long) canvas.getWidth() * canvas.getHeight()) {
+      releaseStaticCache();
+      isStaticBitmapTooLarge = true;
+      return false;
+    }
+
+    L.beginSection("Layer#renderStaticCache");
+    if (staticBitmap == null || staticBitmap.getWidth() != width || staticBitmap.getHeight() != height) {
+      if (staticBitmap != null) {
+        staticBitmap.recycle();
+      }
+      staticBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    } else {
+      staticBitmap.eraseColor(0);
+    }
+    if (staticCanvas == null) {
+      staticCanvas = new Canvas();
+    }
+    staticCanvas.setBitmap(staticBitmap);
+    staticCanvas.save();
+    staticCanvas.translate(-left, -top);
+    drawLayer(staticCanvas, staticDrawMatrix, alpha);
+    staticCanvas.restore();
+    staticCanvas.setBitmap(null);
+    L.endSection("Layer#renderStaticCache");
+
+    staticLeft = left;
+    staticTop = top;
+    isStaticBitmapValid = true;
+    return true;
+  }
+
+  private void releaseStaticCache() {
+    isStaticBitmapValid = false;
+    if (staticBitmap != null) {
+      staticBitmap.recycle();
+      staticBitmap = null;
+    }
+  }
+
+  /**
+   * Returns true if anything that affects the area this layer draws to changed since the last
+   * {@link #clearDirtyFlags()}, including its parents' transforms and its matte.
+   */
+  boolean hasBoundsChanged() {
+    if (boundsChanged) {
+      return true;
+    }
+    buildParentLayerListIfNeeded();
+    for (int i = 0; i < parentLayers.size(); i++) {
+      if (parentLayers.get(i).boundsChanged) {
+        return true;
+      }
+    }
+    return matteLayer != null && matteLayer.hasBoundsChanged();
+  }
+
+  /**
+   * If this layer changed, adds the area it covered the last time this was called and the area it covers now to
+   * outDirty. Both are in the coordinate space of parentMatrix.
+   *
+   * @param ancestorChanged true if a containing precomp changed so this layer has to be treated as changed too.
+   */
+  void collectDirtyBounds(RectF outDirty, Matrix parentMatrix, boolean ancestorChanged) {
+    if (!ancestorChanged && !hasBoundsChanged()) {
+      return;
+    }
+    dirtyBounds.set(0, 0, 0, 0);
+    if (visible && !layerModel.isHidden()) {
+      getBounds(dirtyBounds, parentMatrix, true);
+    }
+    outDirty.union(lastDirtyBounds);
+    outDirty.union(dirtyBounds);
+    lastDirtyBounds.set(dirtyBounds);
+  }
+
+  void clearDirtyFlags() {
+    boundsChanged = false;
+    if (matteLayer != null) {
+      matteLayer.clearDirtyFlags();
+    }
+  }
+
   private void recordRenderTime(float ms) {
     lottieDrawable.getComposition()
         .getPerformanceTracker().recordRenderTime(layerModel.getName(), ms);
@@ -457,6 +852,67 @@ public abstract class BaseLayer
     L.endSection("Layer#restoreLayer");
   }
 
+  /**
+   * Masks that are all added or intersected at full opacity without being inverted cut the layer down to a shape
+   * without blending anything, which is the same as clipping the canvas to the shape. This combines them into
+   * {@link #maskClipPath} so the layer can be drawn without the offscreen buffers used by {@link #applyMasks(Canvas, Matrix)}.
+   *
+   * @return false if the masks have to be applied with offscreen buffers.
+   */
+  private boolean buildMaskClip(Matrix matrix) {
+    if (outlineMasksAndMattes) {
+      // Outlines show the bounds of the offscreen buffers.
+      return false;
+    }
+    //noinspection ConstantConditions
+    List<Mask> masks = mask.getMasks();
+    hasMaskClip = false;
+    // The layer and the masks each need a buffer. Intersect masks need one more each.
+    maskClipAvoidedSaveLayers = 2;
+    for (int i = 0; i < masks.size(); i++) {
+      Mask mask = masks.get(i);
+      Mask.MaskMode maskMode = mask.getMaskMode();
+      if (maskMode == Mask.MaskMode.MASK_MODE_NONE) {
+        continue;
+      }
+      if (mask.isInverted() || (maskMode != Mask.MaskMode.MASK_MODE_ADD && maskMode != Mask.MaskMode.MASK_MODE_INTERSECT)
+          || this.mask.getOpacityAnimations().get(i).getValue() != 100) {
+        return false;
+      }
+      path.set(this.mask.getMaskAnimations().get(i).getValue());
+      path.transform(matrix);
+      if (!hasMaskClip) {
+        if (maskMode == Mask.MaskMode.MASK_MODE_INTERSECT) {
+          // Intersecting with nothing hides the layer. This is rare enough to leave to the slow path.
+          return false;
+        }
+        maskClipPath.set(path);
+        hasMaskClip = true;
+        continue;
+      }
+      // Path.op was added in KitKat.
+      if (Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT) {
+        return false;
+      }
+      if (maskMode == Mask.MaskMode.MASK_MODE_ADD) {
+        if (!maskClipPath.op(path, Path.Op.UNION)) {
+          return false;
+        }
+      } else {
+        if (!maskClipPath.op(path, Path.Op.INTERSECT)) {
+          return false;
+        }
+        maskClipAvoidedSaveLayers++;
+      }
+    }
+    if (!hasMaskClip) {
+      return true;
+    }
+    isMaskClipRect = maskClipPath.isRect(maskClipRect);
+    // Older versions of Android don't anti-alias clip paths so only rectangles look the same as a mask.
+    return isMaskClipRect || Build.VERSION.SDK_INT >= Build.VERSION_CODES.P;
+  }
+
   private boolean areAllMasksNone() {
     if (mask.getMaskAnimations().isEmpty()) {
       return false;
@@ -541,11 +997,43 @@ public abstract class BaseLayer
   private void setVisible(boolean visible) {
     if (visible != this.visible) {
       this.visible = visible;
+      boundsChanged = true;
       invalidateSelf();
     }
   }
 
+  /**
+   * Updates the in/out animation right away because it decides whether this layer is shown. A layer that is hidden
+   * doesn't update its other animations until it is shown again or its bounds are requested, unless it is the parent
+   * or matte of another layer.
+   */
   void setProgress(@FloatRange(from = 0f, to = 1f) float progress) {
+    if (inOutAnimation != null) {
+      // The in/out animation is updated with the time stretch divided out like the other animations.
+      float timeStretch = layerModel.getTimeStretch();
+      inOutAnimation.setProgress(timeStretch == 0 ? progress : progress / timeStretch);
+    }
+    if ((!visible || layerModel.isHidden()) && !isDependedOn) {
+      pendingProgress = progress;
+      hasPendingProgress = true;
+      return;
+    }
+    hasPendingProgress = false;
+    applyProgress(progress);
+  }
+
+  private void applyPendingProgress() {
+    if (hasPendingProgress) {
+      hasPendingProgress = false;
+      applyProgress(pendingProgress);
+    }
+  }
+
+  /**
+   * Sets the progress of every animation of this layer. Animations only record it. Their values are interpolated when
+   * they are drawn.
+   */
+  void applyProgress(@FloatRange(from = 0f, to = 1f) float progress) {
     // Time stretch should not be applied to the layer transform.
     transform.setProgress(progress);
     if (mask != null) {
@@ -556,10 +1044,6 @@ public abstract class BaseLayer
     if (layerModel.getTimeStretch() != 0) {
       progress /= layerModel.getTimeStretch();
     }
-    if (inOutAnimation != null) {
-      // Time stretch needs to be divided again for the inOutAnimation.
-      inOutAnimation.setProgress(progress / layerModel.getTimeStretch());
-    }
     if (matteLayer != null) {
       // The matte layer's time stretch is pre-calculated.
       float matteTimeStretch = matteLayer.layerModel.getTimeStretch();
@@ -637,6 +1121,10 @@ public abstract class BaseLayer
   @CallSuper
   @Override
   public <T> void addValueCallback(T property, @Nullable LottieValueCallback<T> callback) {
-    transform.applyValueCallback(property, callback);
+    contentChanged = true;
+    boundsChanged = true;
+    if (transform.applyValueCallback(property, callback)) {
+      invalidateChildParentChainMatrices();
+    }
   }
 }
@@ -7,6 +7,7 @@ import android.graphics.RectF;
 
 import androidx.annotation.FloatRange;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import androidx.collection.LongSparseArray;
 
 import com.airbnb.lottie.L;
@@ -21,11 +22,22 @@ import com.airbnb.lottie.utils.Utils;
 import com.airbnb.lottie.value.LottieValueCallback;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class CompositionLayer extends BaseLayer {
+  /**
+   * Compositions with fewer layers than this visit every layer because the index wouldn't save much.
+   */
+  private static final int MIN_INDEXED_LAYER_COUNT = 8;
+
   @Nullable private BaseKeyframeAnimation<Float, Float> timeRemapping;
   private final List<BaseLayer> layers = new ArrayList<>();
+  /**
+   * Layers in {@link #layers} that are the parent of another layer.
+   */
+  private final Set<BaseLayer> layersWithChildren = new HashSet<>();
   private final RectF rect = new RectF();
   private final RectF newClipRect = new RectF();
   private Paint layerPaint = new Paint();
@@ -33,6 +45,16 @@ public class CompositionLayer extends BaseLayer {
   @Nullable private Boolean hasMatte;
   @Nullable private Boolean hasMasks;
 
+  /**
+   * Non-null when {@link #setParallelRenderingEnabled(boolean)} is enabled.
+   */
+  @Nullable private ParallelLayerRenderer parallelLayerRenderer;
+  @Nullable private boolean[] drawOnWorker;
+  /**
+   * Non-null if the layers only appear in parts of the timeline.
+   */
+  @Nullable private final ActiveLayerIndex activeLayerIndex;
+
   public CompositionLayer(LottieDrawable lottieDrawable, Layer layerModel, List<Layer> layerModels,
       LottieComposition composition) {
     super(lottieDrawable, layerModel);
@@ -84,8 +106,11 @@ public class CompositionLayer extends BaseLayer {
       BaseLayer parentLayer = layerMap.get(layerView.getLayerModel().getParentId());
       if (parentLayer != null) {
         layerView.setParentLayer(parentLayer);
+        layersWithChildren.add(parentLayer);
       }
     }
+
+    activeLayerIndex = layers.size() >= MIN_INDEXED_LAYER_COUNT ? ActiveLayerIndex.create(layers) : null;
   }
 
   @Override public void setOutlineMasksAndMattes(boolean outline) {
@@ -110,13 +135,24 @@ public class CompositionLayer extends BaseLayer {
     }
 
     int childAlpha = isDrawingWithOffScreen ? 255 : parentAlpha;
-    for (int i = layers.size() - 1; i >= 0; i--) {
+    if (parallelLayerRenderer != null && shouldDrawInParallel(canvas)) {
+      //noinspection ConstantConditions
+      if (newClipRect.isEmpty() || canvas.clipRect(newClipRect)) {
+        parallelLayerRenderer.draw(canvas, layers, drawOnWorker, parentMatrix, childAlpha, newClipRect);
+      }
+      canvas.restore();
+      L.endSection("CompositionLayer#draw");
+      return;
+    }
+    ActiveLayerIndex activeLayerIndex = this.activeLayerIndex;
+    int layerCount = activeLayerIndex == null ? layers.size() : activeLayerIndex.getActiveCount();
+    for (int i = layerCount - 1; i >= 0; i--) {
       boolean nonEmptyClip = true;
       if (!newClipRect.isEmpty()) {
         nonEmptyClip = canvas.clipRect(newClipRect);
       }
       if (nonEmptyClip) {
-        BaseLayer layer = layers.get(i);
+        BaseLayer layer = layers.get(activeLayerIndex == null ? i : activeLayerIndex.getActiveLayer(i));
         layer.draw(canvas, parentMatrix, childAlpha);
       }
     }
@@ -124,6 +160,80 @@ public class CompositionLayer extends BaseLayer {
     L.endSection("CompositionLayer#draw");
   }
 
+  /**
+   * Draw the layers of this composition on a pool of worker threads when rendering in software. Only layers that don't
+   * have a matte, aren't the parent or child of another layer and don't contain images, text or value callbacks are
+   * drawn on workers. The others are drawn on the calling thread.
+   */
+  public void setParallelRenderingEnabled(boolean enabled) {
+    if (enabled == (parallelLayerRenderer != null)) {
+      return;
+    }
+    if (enabled) {
+      parallelLayerRenderer = new ParallelLayerRenderer();
+      drawOnWorker = new boolean[layers.size()];
+    } else {
+      parallelLayerRenderer.release();
+      parallelLayerRenderer = null;
+      drawOnWorker = null;
+    }
+  }
+
+  /**
+   * Decides which layers can be drawn on a worker thread for this frame. Returns false if drawing in parallel isn't
+   * worth it.
+   * <p>
+   * Each layer drawn on a worker needs a canvas sized bitmap so no more layers than there are threads to draw them are
+   * drawn on workers. The rest are drawn directly.
+   */
+  private boolean shouldDrawInParallel(Canvas canvas) {
+    // The hardware renderer records the layers and rasterizes them on its own thread anyway. Trace sections and
+    // performance tracking aren't thread safe. The bitmaps are in canvas pixels so they would be blurry if the canvas
+    // was scaled.
+    if (canvas.isHardwareAccelerated() || L.isTraceEnabled()
+        || lottieDrawable.getComposition().getPerformanceTracker().isEnabled() || !isCanvasTranslateOnly(canvas)) {
+      return false;
+    }
+    //noinspection ConstantConditions
+    boolean[] drawOnWorker = this.drawOnWorker;
+    int maxWorkerLayerCount = ParallelLayerRenderer.getMaxBitmapCount();
+    int workerLayerCount = 0;
+    for (int i = 0; i < layers.size(); i++) {
+      BaseLayer layer = layers.get(i);
+      // Layers that are a parent or have a parent share their parent's transform with another layer.
+      drawOnWorker[i] = workerLayerCount < maxWorkerLayerCount && !layer.hasMatteOnThisLayer() && !layer.hasParentLayer()
+          && !layersWithChildren.contains(layer) && layer.isThreadConfined();
+      if (drawOnWorker[i]) {
+        workerLayerCount++;
+      }
+    }
+    return workerLayerCount >= 2;
+  }
+
+  @Override boolean isThreadConfinedSupported() {
+    return true;
+  }
+
+  @Override boolean isThreadConfined() {
+    if (!super.isThreadConfined()) {
+      return false;
+    }
+    for (int i = 0; i < layers.size(); i++) {
+      if (!layers.get(i).isThreadConfined()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The number of layers that were updated by the last {@link #setProgress(float)}.
+   */
+  @VisibleForTesting
+  int getActiveLayerCount() {
+    return activeLayerIndex == null ? layers.size() : activeLayerIndex.getActiveCount();
+  }
+
   @Override public void getBounds(RectF outBounds, Matrix parentMatrix, boolean applyParents) {
     super.getBounds(outBounds, parentMatrix, applyParents);
     for (int i = layers.size() - 1; i >= 0; i--) {
@@ -133,8 +243,33 @@ public class CompositionLayer extends BaseLayer {
     }
   }
 
-  @Override public void setProgress(@FloatRange(from = 0f, to = 1f) float progress) {
-    super.setProgress(progress);
+  @Override void collectDirtyBounds(RectF outDirty, Matrix parentMatrix, boolean ancestorChanged) {
+    boolean changed = ancestorChanged || hasBoundsChanged();
+    // This only sets boundsMatrix to the matrix of this layer. The children add their own bounds.
+    super.getBounds(rect, parentMatrix, true);
+    for (int i = layers.size() - 1; i >= 0; i--) {
+      layers.get(i).collectDirtyBounds(outDirty, boundsMatrix, changed);
+    }
+  }
+
+  /**
+   * Adds the area of every layer that changed since the last call to outDirty, in the coordinate space of
+   * parentMatrix, and starts tracking changes again.
+   */
+  public void collectAndClearDirtyBounds(RectF outDirty, Matrix parentMatrix) {
+    collectDirtyBounds(outDirty, parentMatrix, false);
+    clearDirtyFlags();
+  }
+
+  @Override void clearDirtyFlags() {
+    super.clearDirtyFlags();
+    for (int i = layers.size() - 1; i >= 0; i--) {
+      layers.get(i).clearDirtyFlags();
+    }
+  }
+
+  @Override void applyProgress(@FloatRange(from = 0f, to = 1f) float progress) {
+    super.applyProgress(progress);
     if (timeRemapping != null) {
       // The duration has 0.01 frame offset to show end of animation properly.
       // https://github.com/airbnb/lottie-android/pull/766
@@ -150,8 +285,15 @@ public class CompositionLayer extends BaseLayer {
     if (layerModel.getTimeStretch() != 0) {
       progress /= layerModel.getTimeStretch();
     }
-    for (int i = layers.size() - 1; i >= 0; i--) {
-      layers.get(i).setProgress(progress);
+    if (activeLayerIndex == null) {
+      for (int i = layers.size() - 1; i >= 0; i--) {
+        layers.get(i).setProgress(progress);
+      }
+      return;
+    }
+    // Layers that are hidden for this progress and the previous one are left as they are.
+    for (int i = activeLayerIndex.update(progress) - 1; i >= 0; i--) {
+      layers.get(activeLayerIndex.getActiveLayer(i)).setProgress(progress);
     }
   }
 
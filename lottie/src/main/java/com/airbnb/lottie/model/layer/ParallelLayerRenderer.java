@@ -0,0 +1,233 @@
+package com.airbnb.lottie.model.layer;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.RectF;
+
+import androidx.annotation.Nullable;
+
+import com.airbnb.lottie.L;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Draws layers into their own bitmaps on a pool of worker threads and then draws the bitmaps in z-order.
+ * <p>
+ * Drawing each layer into a transparent bitmap and drawing the bitmaps over each other gives the same result as drawing
+ * the layers directly because layers are always blended with source over and each layer applies its masks and mattes
+ * within its own bitmap. Layers that can't be drawn on a worker are drawn on the calling thread in between.
+ * <p>
+ * The calling thread doesn't sit idle while it waits for a layer. It draws any layer that no worker has picked up yet.
+ * <p>
+ * Every layer that is drawn on a worker holds a canvas sized bitmap so callers should limit them to
+ * {@link #getMaxBitmapCount()}.
+ */
+class ParallelLayerRenderer {
+  private static final Object executorLock = new Object();
+  @Nullable private static ExecutorService executor;
+
+  private final List<LayerTask> layerTasks = new ArrayList<>();
+
+  private static int threadCount() {
+    int threadCount = L.getLayerRenderThreadCount();
+    if (threadCount <= 0) {
+      // The calling thread draws layers too.
+      threadCount = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+    return threadCount;
+  }
+
+  /**
+   * The number of layers that can be drawn at the same time, by the workers and the calling thread. Drawing more layers
+   * into bitmaps than this doesn't make a frame any faster.
+   */
+  static int getMaxBitmapCount() {
+    return threadCount() + 1;
+  }
+
+  private static ExecutorService executor() {
+    synchronized (executorLock) {
+      if (executor == null) {
+        executor = Executors.newFixedThreadPool(threadCount(), new ThreadFactory() {
+          private final AtomicInteger count = new AtomicInteger();
+
+          @Override public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "LottieLayerRenderer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+      }
+      return executor;
+    }
+  }
+
+  /**
+   * @param drawOnWorker true for each layer that may be drawn on a worker thread.
+   * @param clipRect     the area that the layers are clipped to or an empty rect if they aren't clipped.
+   */
+  void draw(Canvas canvas, List<BaseLayer> layers, boolean[] drawOnWorker, Matrix parentMatrix, int parentAlpha,
+      RectF clipRect) {
+    L.beginSection("CompositionLayer#drawParallel");
+    // Bitmaps start at the canvas origin, like the canvas the layers are drawn to, so that layers can intersect their
+    // bounds with the canvas size.
+    int width = canvas.getWidth();
+    int height = canvas.getHeight();
+    if (!clipRect.isEmpty()) {
+      width = Math.min(width, (int) Math.ceil(clipRect.right));
+      height = Math.min(height, (int) Math.ceil(clipRect.bottom));
+    }
+    if (width <= 0 || height <= 0) {
+      L.endSection("CompositionLayer#drawParallel");
+      return;
+    }
+
+    // Tasks are assigned to worker layers in draw order so only as many bitmaps are kept as there are worker layers.
+    int taskCount = 0;
+    ExecutorService executor = executor();
+    for (int i = layers.size() - 1; i >= 0; i--) {
+      if (drawOnWorker[i]) {
+        if (layerTasks.size() == taskCount) {
+          layerTasks.add(new LayerTask());
+        }
+        LayerTask task = layerTasks.get(taskCount++);
+        task.prepare(layers.get(i), parentMatrix, parentAlpha, width, height, clipRect);
+        executor.execute(task);
+      }
+    }
+    // Every remaining task finished in an earlier frame so none of them can be running.
+    while (layerTasks.size() > taskCount) {
+      layerTasks.remove(layerTasks.size() - 1).release();
+    }
+
+    taskCount = 0;
+    for (int i = layers.size() - 1; i >= 0; i--) {
+      if (drawOnWorker[i]) {
+        LayerTask task = layerTasks.get(taskCount++);
+        task.await();
+        //noinspection ConstantConditions
+        canvas.drawBitmap(task.bitmap, 0, 0, null);
+      } else {
+        layers.get(i).draw(canvas, parentMatrix, parentAlpha);
+      }
+    }
+    L.endSection("CompositionLayer#drawParallel");
+  }
+
+  /**
+   * Recycles the bitmaps. This must not be called while {@link #draw(Canvas, List, boolean[], Matrix, int, RectF)}
+   * is running.
+   */
+  void release() {
+    for (int i = 0; i < layerTasks.size(); i++) {
+      layerTasks.get(i).release();
+    }
+    layerTasks.clear();
+  }
+
+  /**
+   * Draws a single layer into its bitmap. The same task is executed every frame. An execution that was queued for a
+   * frame whose layer the calling thread already drew either finds the task claimed or draws the current frame, which
+   * was fully prepared before the task was unclaimed.
+   */
+  private static class LayerTask implements Runnable {
+    private final AtomicBoolean claimed = new AtomicBoolean(true);
+    private final Matrix matrix = new Matrix();
+    private final RectF clipRect = new RectF();
+    private final Canvas canvas = new Canvas();
+    @Nullable private BaseLayer layer;
+    @Nullable private Bitmap bitmap;
+    private int alpha;
+    /* Guarded by this. */
+    private boolean done;
+    @Nullable private Throwable error;
+
+    void prepare(BaseLayer layer, Matrix parentMatrix, int alpha, int width, int height, RectF clipRect) {
+      this.layer = layer;
+      this.alpha = alpha;
+      matrix.set(parentMatrix);
+      this.clipRect.set(clipRect);
+      if (bitmap == null || bitmap.getWidth() != width || bitmap.getHeight() != height) {
+        if (bitmap != null) {
+          bitmap.recycle();
+        }
+        bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+      }
+      synchronized (this) {
+        done = false;
+        error = null;
+      }
+      claimed.set(false);
+    }
+
+    @Override public void run() {
+      if (!claimed.compareAndSet(false, true)) {
+        return;
+      }
+      Throwable error = null;
+      try {
+        //noinspection ConstantConditions
+        bitmap.eraseColor(0);
+        canvas.setBitmap(bitmap);
+        if (!clipRect.isEmpty()) {
+          canvas.clipRect(clipRect);
+        }
+        //noinspection ConstantConditions
+        layer.draw(canvas, matrix, alpha);
+      } catch (Throwable e) {
+        error = e;
+      } finally {
+        canvas.setBitmap(null);
+        synchronized (this) {
+          this.error = error;
+          done = true;
+          notifyAll();
+        }
+      }
+    }
+
+    /**
+     * Draws the layer on the calling thread if no worker has started it yet and waits for it otherwise.
+     */
+    void await() {
+      run();
+      boolean interrupted = false;
+      Throwable error;
+      synchronized (this) {
+        while (!done) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+        error = this.error;
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+      if (error instanceof RuntimeException) {
+        throw (RuntimeException) error;
+      } else if (error instanceof Error) {
+        throw (Error) error;
+      } else if (error != null) {
+        throw new IllegalStateException(error);
+      }
+    }
+
+    void release() {
+      layer = null;
+      if (bitmap != null) {
+        bitmap.recycle();
+        bitmap = null;
+      }
+    }
+  }
+}
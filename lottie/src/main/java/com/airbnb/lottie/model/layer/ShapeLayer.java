@@ -31,6 +31,14 @@ public class ShapeLayer extends BaseLayer {
     contentGroup.draw(canvas, parentMatrix, parentAlpha);
   }
 
+  @Override boolean isStaticCacheSupported() {
+    return true;
+  }
+
+  @Override boolean isThreadConfinedSupported() {
+    return true;
+  }
+
   @Override public void getBounds(RectF outBounds, Matrix parentMatrix, boolean applyParents) {
     super.getBounds(outBounds, parentMatrix, applyParents);
     contentGroup.getBounds(outBounds, boundsMatrix, applyParents);
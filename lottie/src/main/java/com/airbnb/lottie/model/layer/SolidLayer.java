@@ -70,6 +70,11 @@ public class SolidLayer extends BaseLayer {
     }
   }
 
+  @Override boolean isThreadConfinedSupported() {
+    // The color filter callback isn't one of the layer's animations.
+    return colorFilterAnimation == null;
+  }
+
   @Override public void getBounds(RectF outBounds, Matrix parentMatrix, boolean applyParents) {
     super.getBounds(outBounds, parentMatrix, applyParents);
     rect.set(0, 0, layerModel.getSolidWidth(), layerModel.getSolidHeight());
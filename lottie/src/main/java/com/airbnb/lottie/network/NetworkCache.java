@@ -7,10 +7,11 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.WorkerThread;
 
+import com.airbnb.lottie.L;
+import com.airbnb.lottie.LottieEvent;
 import com.airbnb.lottie.utils.Logger;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -45,27 +46,28 @@ public class NetworkCache {
   /**
    * If the animation doesn't exist in the cache, null will be returned.
    * <p>
+   * The cached file is returned rather than a stream so that it can be memory mapped or opened as a
+   * {@link java.util.zip.ZipFile} for random access.
+   * <p>
    * Once the animation is successfully parsed, {@link #renameTempFile(FileExtension)} must be
    * called to move the file from a temporary location to its permanent cache location so it can
    * be used in the future.
+   *
+   * @param cacheKey the composition cache key that is reported to the {@link com.airbnb.lottie.LottieEventListener}.
    */
   @Nullable
   @WorkerThread
-  Pair<FileExtension, InputStream> fetch(String url) {
+  Pair<FileExtension, File> fetch(String url, @Nullable String cacheKey) {
+    long startNanos = System.nanoTime();
     File cachedFile;
     try {
       cachedFile = getCachedFile(url);
     } catch (FileNotFoundException e) {
+      L.onEvent(LottieEvent.Stage.DISK_CACHE, LottieEvent.SourceType.URL, cacheKey, startNanos, -1, LottieEvent.Outcome.FAILURE, e);
       return null;
     }
     if (cachedFile == null) {
-      return null;
-    }
-
-    FileInputStream inputStream;
-    try {
-      inputStream = new FileInputStream(cachedFile);
-    } catch (FileNotFoundException e) {
+      L.onEvent(LottieEvent.Stage.DISK_CACHE, LottieEvent.SourceType.URL, cacheKey, startNanos, -1, LottieEvent.Outcome.MISS, null);
       return null;
     }
 
@@ -77,7 +79,11 @@ public class NetworkCache {
     }
 
     Logger.debug("Cache hit for " + url + " at " + cachedFile.getAbsolutePath());
-    return new Pair<>(extension, (InputStream) inputStream);
+    // Don't stat the file unless somebody is listening.
+    if (L.hasEventListener()) {
+      L.onEvent(LottieEvent.Stage.DISK_CACHE, LottieEvent.SourceType.URL, cacheKey, startNanos, cachedFile.length(), LottieEvent.Outcome.HIT, null);
+    }
+    return new Pair<>(extension, cachedFile);
   }
 
   /**
@@ -85,7 +91,10 @@ public class NetworkCache {
    * to an composition, {@link #renameTempFile(FileExtension)} should be called to move the file
    * to its final location for future cache hits.
    */
-  File writeTempCacheFile(String url, InputStream stream, FileExtension extension) throws IOException {
+  File writeTempCacheFile(String url, @Nullable String cacheKey, InputStream stream, FileExtension extension)
+      throws IOException {
+    long startNanos = System.nanoTime();
+    long bytes = 0;
     String fileName = filenameForUrl(url, extension, true);
     File file = new File(parentDir(), fileName);
     try {
@@ -97,20 +106,25 @@ public class NetworkCache {
 
         while ((read = stream.read(buffer)) != -1) {
           output.write(buffer, 0, read);
+          bytes += read;
         }
 
         output.flush();
       } finally {
         output.close();
       }
+    } catch (IOException e) {
+      L.onEvent(LottieEvent.Stage.DISK_WRITE, LottieEvent.SourceType.URL, cacheKey, startNanos, bytes, LottieEvent.Outcome.FAILURE, e);
+      throw e;
     } finally {
       stream.close();
     }
+    L.onEvent(LottieEvent.Stage.DISK_WRITE, LottieEvent.SourceType.URL, cacheKey, startNanos, bytes, LottieEvent.Outcome.SUCCESS, null);
     return file;
   }
 
   /**
-   * If the file created by {@link #writeTempCacheFile(InputStream, FileExtension)} was successfully parsed,
+   * If the file created by {@link #writeTempCacheFile(String, String, InputStream, FileExtension)} was successfully parsed,
    * this should be called to remove the temporary part of its name which will allow it to be a cache hit in the future.
    */
   void renameTempFile(String url, FileExtension extension) {
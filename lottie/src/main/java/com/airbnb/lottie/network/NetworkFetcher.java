@@ -6,15 +6,17 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.WorkerThread;
 
+import com.airbnb.lottie.L;
 import com.airbnb.lottie.LottieComposition;
 import com.airbnb.lottie.LottieCompositionFactory;
+import com.airbnb.lottie.LottieEvent;
 import com.airbnb.lottie.LottieResult;
 import com.airbnb.lottie.utils.Logger;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 public class NetworkFetcher {
@@ -42,25 +44,28 @@ public class NetworkFetcher {
     return fetchFromNetwork(url, cacheKey);
   }
 
+  /**
+   * Loads the animation from the network cache without ever hitting the network.
+   * Returns null if the animation hasn't been cached yet.
+   */
+  @Nullable
+  @WorkerThread
+  public LottieComposition fetchFromCacheSync(@NonNull String url, @Nullable String cacheKey) {
+    return fetchFromCache(url, cacheKey);
+  }
+
   @Nullable
   @WorkerThread
   private LottieComposition fetchFromCache(@NonNull String url, @Nullable String cacheKey) {
     if (cacheKey == null) {
       return null;
     }
-    Pair<FileExtension, InputStream> cacheResult = networkCache.fetch(url);
+    Pair<FileExtension, File> cacheResult = networkCache.fetch(url, cacheKey);
     if (cacheResult == null) {
       return null;
     }
 
-    FileExtension extension = cacheResult.first;
-    InputStream inputStream = cacheResult.second;
-    LottieResult<LottieComposition> result;
-    if (extension == FileExtension.ZIP) {
-      result = LottieCompositionFactory.fromZipStreamSync(new ZipInputStream(inputStream), url);
-    } else {
-      result = LottieCompositionFactory.fromJsonInputStreamSync(inputStream, url);
-    }
+    LottieResult<LottieComposition> result = LottieCompositionFactory.fromFileSync(cacheResult.second, cacheKey);
     if (result.getValue() != null) {
       return result.getValue();
     }
@@ -73,9 +78,13 @@ public class NetworkFetcher {
     Logger.debug("Fetching " + url);
 
     LottieFetchResult fetchResult = null;
+    long requestStartNanos = System.nanoTime();
     try {
       fetchResult = fetcher.fetchSync(url);
-      if (fetchResult.isSuccessful()) {
+      boolean successful = fetchResult.isSuccessful();
+      L.onEvent(LottieEvent.Stage.NETWORK_REQUEST, LottieEvent.SourceType.URL, cacheKey, requestStartNanos, -1,
+          successful ? LottieEvent.Outcome.SUCCESS : LottieEvent.Outcome.FAILURE, null);
+      if (successful) {
         InputStream inputStream = fetchResult.bodyByteStream();
         String contentType = fetchResult.contentType();
         LottieResult<LottieComposition> result = fromInputStream(url, inputStream, contentType, cacheKey);
@@ -85,6 +94,10 @@ public class NetworkFetcher {
         return new LottieResult<>(new IllegalArgumentException(fetchResult.error()));
       }
     } catch (Exception e) {
+      if (fetchResult == null) {
+        L.onEvent(LottieEvent.Stage.NETWORK_REQUEST, LottieEvent.SourceType.URL, cacheKey, requestStartNanos, -1,
+            LottieEvent.Outcome.FAILURE, e);
+      }
       return new LottieResult<>(e);
     } finally {
       if (fetchResult != null) {
@@ -130,8 +143,8 @@ public class NetworkFetcher {
     if (cacheKey == null) {
       return LottieCompositionFactory.fromZipStreamSync(new ZipInputStream(inputStream), null);
     }
-    File file = networkCache.writeTempCacheFile(url, inputStream, FileExtension.ZIP);
-    return LottieCompositionFactory.fromZipStreamSync(new ZipInputStream(new FileInputStream(file)), url);
+    File file = networkCache.writeTempCacheFile(url, cacheKey, inputStream, FileExtension.ZIP);
+    return LottieCompositionFactory.fromZipFileSync(new ZipFile(file), cacheKey);
   }
 
   @NonNull
@@ -140,7 +153,7 @@ public class NetworkFetcher {
     if (cacheKey == null) {
       return LottieCompositionFactory.fromJsonInputStreamSync(inputStream, null);
     }
-    File file = networkCache.writeTempCacheFile(url, inputStream, FileExtension.JSON);
-    return LottieCompositionFactory.fromJsonInputStreamSync(new FileInputStream(new File(file.getAbsolutePath())), url);
+    File file = networkCache.writeTempCacheFile(url, cacheKey, inputStream, FileExtension.JSON);
+    return LottieCompositionFactory.fromFileSync(file, cacheKey);
   }
 }
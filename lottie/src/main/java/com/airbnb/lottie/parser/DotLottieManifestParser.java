@@ -0,0 +1,71 @@
+package com.airbnb.lottie.parser;
+
+import androidx.annotation.RestrictTo;
+
+import com.airbnb.lottie.parser.moshi.JsonReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the animation ids out of a dotLottie manifest.json.
+ *
+ * @see <a href="https://dotlottie.io/structure/#manifestjson">dotLottie manifest</a>
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public class DotLottieManifestParser {
+  private static final JsonReader.Options NAMES = JsonReader.Options.of(
+      "animations"
+  );
+  private static final JsonReader.Options ANIMATION_NAMES = JsonReader.Options.of(
+      "id"
+  );
+
+  private DotLottieManifestParser() {
+  }
+
+  /**
+   * Returns the animation ids in the order they are declared in the manifest.
+   */
+  public static List<String> parseAnimationIds(JsonReader reader) throws IOException {
+    List<String> animationIds = new ArrayList<>();
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.selectName(NAMES)) {
+        case 0:
+          reader.beginArray();
+          while (reader.hasNext()) {
+            String id = parseAnimationId(reader);
+            if (id != null) {
+              animationIds.add(id);
+            }
+          }
+          reader.endArray();
+          break;
+        default:
+          reader.skipName();
+          reader.skipValue();
+      }
+    }
+    reader.endObject();
+    return animationIds;
+  }
+
+  private static String parseAnimationId(JsonReader reader) throws IOException {
+    String id = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.selectName(ANIMATION_NAMES)) {
+        case 0:
+          id = reader.nextString();
+          break;
+        default:
+          reader.skipName();
+          reader.skipValue();
+      }
+    }
+    reader.endObject();
+    return id;
+  }
+}
@@ -10,6 +10,7 @@ import androidx.core.view.animation.PathInterpolatorCompat;
 
 import com.airbnb.lottie.LottieComposition;
 import com.airbnb.lottie.parser.moshi.JsonReader;
+import com.airbnb.lottie.utils.CubicBezierInterpolator;
 import com.airbnb.lottie.utils.MiscUtils;
 import com.airbnb.lottie.utils.Utils;
 import com.airbnb.lottie.value.Keyframe;
@@ -136,7 +137,7 @@ class KeyframeParser {
 
     if (hold) {
       endValue = startValue;
-      // TODO: create a HoldInterpolator so progress changes don't invalidate.
+      // Keyframe#isHeld prevents progress changes within this keyframe from invalidating.
       interpolator = LINEAR_INTERPOLATOR;
     } else if (cp1 != null && cp2 != null) {
       interpolator = interpolatorFor(cp1, cp2);
@@ -302,7 +303,7 @@ class KeyframeParser {
 
     if (hold) {
       endValue = startValue;
-      // TODO: create a HoldInterpolator so progress changes don't invalidate.
+      // Keyframe#isHeld prevents progress changes within this keyframe from invalidating.
       interpolator = LINEAR_INTERPOLATOR;
     } else if (cp1 != null && cp2 != null) {
       interpolator = interpolatorFor(cp1, cp2);
@@ -337,17 +338,22 @@ class KeyframeParser {
       interpolator = interpolatorRef.get();
     }
     if (interpolatorRef == null || interpolator == null) {
-      try {
-        interpolator = PathInterpolatorCompat.create(cp1.x, cp1.y, cp2.x, cp2.y);
-      } catch (IllegalArgumentException e) {
-        if ("The Path cannot loop back on itself.".equals(e.getMessage())) {
-          // If a control point extends beyond the previous/next point then it will cause the value of the interpolator to no
-          // longer monotonously increase. This clips the control point bounds to prevent that from happening.
-          // NOTE: this will make the rendered animation behave slightly differently than the original.
-          interpolator = PathInterpolatorCompat.create(Math.min(cp1.x, 1f), cp1.y, Math.max(cp2.x, 0f), cp2.y);
-        } else {
-          // We failed to create the interpolator. Fall back to linear.
-          interpolator = new LinearInterpolator();
+      if (cp1.x >= 0f && cp1.x <= 1f && cp2.x >= 0f && cp2.x <= 1f) {
+        // x only increases along these curves so they can be solved directly instead of approximated as a path.
+        interpolator = new CubicBezierInterpolator(cp1.x, cp1.y, cp2.x, cp2.y);
+      } else {
+        try {
+          interpolator = PathInterpolatorCompat.create(cp1.x, cp1.y, cp2.x, cp2.y);
+        } catch (IllegalArgumentException e) {
+          if ("The Path cannot loop back on itself.".equals(e.getMessage())) {
+            // If a control point extends beyond the previous/next point then it will cause the value of the interpolator to no
+            // longer monotonously increase. This clips the control point bounds to prevent that from happening.
+            // NOTE: this will make the rendered animation behave slightly differently than the original.
+            interpolator = PathInterpolatorCompat.create(Math.min(cp1.x, 1f), cp1.y, Math.max(cp2.x, 0f), cp2.y);
+          } else {
+            // We failed to create the interpolator. Fall back to linear.
+            interpolator = new LinearInterpolator();
+          }
         }
       }
       try {
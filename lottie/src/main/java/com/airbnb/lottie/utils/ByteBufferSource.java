@@ -0,0 +1,49 @@
+package com.airbnb.lottie.utils;
+
+import androidx.annotation.RestrictTo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import okio.Buffer;
+import okio.Source;
+import okio.Timeout;
+
+/**
+ * An okio {@link Source} backed by a {@link ByteBuffer}.
+ * <p>
+ * When the buffer is a {@link java.nio.MappedByteBuffer}, bytes are copied straight from the page cache into
+ * the okio segments instead of first going through a {@link java.io.FileInputStream} and an intermediate
+ * stream buffer.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public final class ByteBufferSource implements Source {
+  private final ByteBuffer buffer;
+
+  public ByteBufferSource(ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  @Override public long read(Buffer sink, long byteCount) throws IOException {
+    if (!buffer.hasRemaining()) {
+      return -1;
+    }
+    int toRead = (int) Math.min(byteCount, buffer.remaining());
+    int limit = buffer.limit();
+    buffer.limit(buffer.position() + toRead);
+    try {
+      sink.write(buffer);
+    } finally {
+      buffer.limit(limit);
+    }
+    return toRead;
+  }
+
+  @Override public Timeout timeout() {
+    return Timeout.NONE;
+  }
+
+  @Override public void close() {
+    // Nothing to release. A mapped buffer is unmapped when it is garbage collected.
+  }
+}
@@ -0,0 +1,119 @@
+package com.airbnb.lottie.utils;
+
+import android.view.animation.Interpolator;
+
+/**
+ * Evaluates the easing curve of a keyframe, a cubic bezier from (0, 0) to (1, 1), with the same result as
+ * {@link androidx.core.view.animation.PathInterpolatorCompat} but without searching through an approximation of the
+ * curve on every call.
+ * <p>
+ * The curve is solved for x once per entry of a small table when the interpolator is created. getInterpolation
+ * interpolates between two entries of the table and refines the result with Newton's method, which usually takes a
+ * single step.
+ * <p>
+ * The x values of the control points must be in [0, 1] so that x only increases along the curve.
+ */
+public class CubicBezierInterpolator implements Interpolator {
+  /**
+   * Entries of the table, evenly spaced along x. With this many, interpolating between two entries is close enough
+   * for Newton's method to converge in one step for typical easing curves.
+   */
+  private static final int TABLE_SIZE = 33;
+  private static final int MAX_NEWTON_ITERATIONS = 4;
+  private static final float NEWTON_MIN_SLOPE = 0.001f;
+  /**
+   * Newton's method converges quadratically so once a step is this small, the next one would be negligible.
+   */
+  private static final float NEWTON_CONVERGED_STEP = 0.001f;
+  private static final float BISECTION_PRECISION = 0.00001f;
+  private static final float TABLE_PRECISION = 0.0000001f;
+
+  // The curve is x(t) = ((ax * t + bx) * t + cx) * t and likewise for y.
+  private final float ax;
+  private final float bx;
+  private final float cx;
+  private final float ay;
+  private final float by;
+  private final float cy;
+  /**
+   * The value of t along the curve for each x in the table.
+   */
+  private final float[] tForX = new float[TABLE_SIZE];
+
+  public CubicBezierInterpolator(float x1, float y1, float x2, float y2) {
+    if (x1 < 0f || x1 > 1f || x2 < 0f || x2 > 1f) {
+      throw new IllegalArgumentException("Control point x values must be in [0, 1] but were " + x1 + " and " + x2 + ".");
+    }
+    cx = 3f * x1;
+    bx = 3f * (x2 - x1) - cx;
+    ax = 1f - cx - bx;
+    cy = 3f * y1;
+    by = 3f * (y2 - y1) - cy;
+    ay = 1f - cy - by;
+
+    for (int i = 0; i < TABLE_SIZE; i++) {
+      tForX[i] = solveForX(i / (float) (TABLE_SIZE - 1), 0f, 1f, TABLE_PRECISION);
+    }
+  }
+
+  @Override
+  public float getInterpolation(float x) {
+    if (x <= 0f) {
+      return 0f;
+    }
+    if (x >= 1f) {
+      return 1f;
+    }
+    float position = x * (TABLE_SIZE - 1);
+    int index = (int) position;
+    // x only increases along the curve so t is between the entries on either side of x.
+    float low = tForX[index];
+    float high = tForX[index + 1];
+    float t = low + (high - low) * (position - index);
+    for (int i = 0; i < MAX_NEWTON_ITERATIONS; i++) {
+      float slope = getSlopeX(t);
+      if (slope < NEWTON_MIN_SLOPE) {
+        break;
+      }
+      float step = (getX(t) - x) / slope;
+      t -= step;
+      if (t < low || t > high) {
+        break;
+      }
+      if (Math.abs(step) < NEWTON_CONVERGED_STEP) {
+        return getY(t);
+      }
+    }
+    // Newton's method doesn't converge where the curve is nearly vertical. Bisect between the entries instead.
+    return getY(solveForX(x, tForX[index], tForX[index + 1], BISECTION_PRECISION));
+  }
+
+  private float getY(float t) {
+    return ((ay * t + by) * t + cy) * t;
+  }
+
+  private float getX(float t) {
+    return ((ax * t + bx) * t + cx) * t;
+  }
+
+  private float getSlopeX(float t) {
+    return (3f * ax * t + 2f * bx) * t + cx;
+  }
+
+  /**
+   * Bisects in double precision because x barely changes with t where the curve is vertical.
+   */
+  private float solveForX(float x, float low, float high, float precision) {
+    double lowT = low;
+    double highT = high;
+    while (highT - lowT > precision) {
+      double t = (lowT + highT) / 2;
+      if (((ax * t + bx) * t + cx) * t < x) {
+        lowT = t;
+      } else {
+        highT = t;
+      }
+    }
+    return (float) ((lowT + highT) / 2);
+  }
+}
@@ -0,0 +1,100 @@
+package com.airbnb.lottie.utils;
+
+import android.graphics.Matrix;
+import android.graphics.Path;
+import android.graphics.PathMeasure;
+
+import androidx.annotation.Nullable;
+
+import com.airbnb.lottie.L;
+import com.airbnb.lottie.animation.content.TrimPathContent;
+import com.airbnb.lottie.animation.keyframe.FloatKeyframeAnimation;
+
+/**
+ * A copy of a path along with its arc length measurements.
+ * <p>
+ * Measuring a path is the expensive part of trimming it. When only the trim path animates, the path can be measured
+ * once and trimmed from this on every frame until it changes.
+ */
+public class MeasuredPath {
+  private final Path path = new Path();
+  /**
+   * Always on the first contour so that it can be trimmed.
+   */
+  private final PathMeasure pathMeasure = new PathMeasure();
+  /**
+   * Walks every contour to total their lengths. nextContour can't go back so this is separate from pathMeasure.
+   */
+  private final PathMeasure contourMeasure = new PathMeasure();
+  /**
+   * The length of the first contour, which is the only one that gets trimmed.
+   */
+  private float length;
+  private float totalLength;
+
+  public void set(Path path) {
+    set(path, null);
+  }
+
+  public void set(Path path, @Nullable Matrix matrix) {
+    L.beginSection("MeasuredPath#set");
+    this.path.set(path);
+    if (matrix != null) {
+      this.path.transform(matrix);
+    }
+    pathMeasure.setPath(this.path, false);
+    length = pathMeasure.getLength();
+    totalLength = length;
+    contourMeasure.setPath(this.path, false);
+    while (contourMeasure.nextContour()) {
+      totalLength += contourMeasure.getLength();
+    }
+    L.endSection("MeasuredPath#set");
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * The length of the first contour.
+   */
+  public float getLength() {
+    return length;
+  }
+
+  /**
+   * The length of all contours.
+   */
+  public float getTotalLength() {
+    return totalLength;
+  }
+
+  /**
+   * Sets outPath to this path trimmed by trimPath.
+   *
+   * @see Utils#applyTrimPathIfNeeded(Path, TrimPathContent)
+   */
+  public void trim(Path outPath, @Nullable TrimPathContent trimPath) {
+    if (trimPath == null || trimPath.isHidden()) {
+      outPath.set(path);
+      return;
+    }
+    float start = ((FloatKeyframeAnimation) trimPath.getStart()).getFloatValue();
+    float end = ((FloatKeyframeAnimation) trimPath.getEnd()).getFloatValue();
+    float offset = ((FloatKeyframeAnimation) trimPath.getOffset()).getFloatValue();
+    trim(outPath, start / 100f, end / 100f, offset / 360f);
+  }
+
+  /**
+   * Sets outPath to this path trimmed between startValue and endValue, as fractions of its length.
+   *
+   * @see Utils#applyTrimPathIfNeeded(Path, float, float, float)
+   */
+  public void trim(Path outPath, float startValue, float endValue, float offsetValue) {
+    L.beginSection("MeasuredPath#trim");
+    outPath.set(path);
+    Utils.applyTrimPathIfNeeded(outPath, pathMeasure, length, startValue, endValue, offsetValue);
+    L.endSection("MeasuredPath#trim");
+  }
+}
@@ -13,8 +13,6 @@ import com.airbnb.lottie.model.content.ShapeData;
 import java.util.List;
 
 public class MiscUtils {
-  private static PointF pathFromDataCurrentPoint = new PointF();
-
   public static PointF addPoints(PointF p1, PointF p2) {
     return new PointF(p1.x + p2.x, p1.y + p2.y);
   }
@@ -23,14 +21,16 @@ public class MiscUtils {
     outPath.reset();
     PointF initialPoint = shapeData.getInitialPoint();
     outPath.moveTo(initialPoint.x, initialPoint.y);
-    pathFromDataCurrentPoint.set(initialPoint.x, initialPoint.y);
+    // Locals rather than a shared point because layers may be drawn on several threads at once.
+    float currentX = initialPoint.x;
+    float currentY = initialPoint.y;
     for (int i = 0; i < shapeData.getCurves().size(); i++) {
       CubicCurveData curveData = shapeData.getCurves().get(i);
       PointF cp1 = curveData.getControlPoint1();
       PointF cp2 = curveData.getControlPoint2();
       PointF vertex = curveData.getVertex();
 
-      if (cp1.equals(pathFromDataCurrentPoint) && cp2.equals(vertex)) {
+      if (cp1.equals(currentX, currentY) && cp2.equals(vertex)) {
         // On some phones like Samsung phones, zero valued control points can cause artifacting.
         // https://github.com/airbnb/lottie-android/issues/275
         //
@@ -41,7 +41,8 @@ public class MiscUtils {
       } else {
         outPath.cubicTo(cp1.x, cp1.y, cp2.x, cp2.y, vertex.x, vertex.y);
       }
-      pathFromDataCurrentPoint.set(vertex.x, vertex.y);
+      currentX = vertex.x;
+      currentY = vertex.y;
     }
     if (shapeData.isClosed()) {
       outPath.close();
@@ -141,18 +141,24 @@ public final class Utils {
       Path path, float startValue, float endValue, float offsetValue) {
     L.beginSection("applyTrimPathIfNeeded");
     final PathMeasure pathMeasure = threadLocalPathMeasure.get();
+    pathMeasure.setPath(path, false);
+    applyTrimPathIfNeeded(path, pathMeasure, pathMeasure.getLength(), startValue, endValue, offsetValue);
+    L.endSection("applyTrimPathIfNeeded");
+  }
+
+  /**
+   * Trims a path that has already been measured. pathMeasure must be set to path and length must be the length of
+   * its first contour.
+   */
+  public static void applyTrimPathIfNeeded(
+      Path path, PathMeasure pathMeasure, float length, float startValue, float endValue, float offsetValue) {
     final Path tempPath = threadLocalTempPath.get();
     final Path tempPath2 = threadLocalTempPath2.get();
 
-    pathMeasure.setPath(path, false);
-
-    float length = pathMeasure.getLength();
     if (startValue == 1f && endValue == 0f) {
-      L.endSection("applyTrimPathIfNeeded");
       return;
     }
     if (length < 1f || Math.abs(endValue - startValue - 1) < .01) {
-      L.endSection("applyTrimPathIfNeeded");
       return;
     }
     float start = length * startValue;
@@ -180,7 +186,6 @@ public final class Utils {
     // If the start and end are equals, return an empty path.
     if (newStart == newEnd) {
       path.reset();
-      L.endSection("applyTrimPathIfNeeded");
       return;
     }
 
@@ -213,7 +218,6 @@ public final class Utils {
       tempPath.addPath(tempPath2);
     }
     path.set(tempPath);
-    L.endSection("applyTrimPathIfNeeded");
   }
 
   @SuppressWarnings("SameParameterValue")
@@ -29,6 +29,7 @@ public class Keyframe<T> {
 
   private float startProgress = Float.MIN_VALUE;
   private float endProgress = Float.MIN_VALUE;
+  @Nullable private Boolean isHeld;
 
   // Used by PathKeyframe but it has to be parsed by KeyFrame because we use a JsonReader to
   // deserialzie the data so we have to parse everything in order
@@ -121,6 +122,19 @@ public class Keyframe<T> {
     return interpolator == null && xInterpolator == null && yInterpolator == null;
   }
 
+  /**
+   * Returns true if the value is the same for the whole keyframe such as a hold keyframe or a plateau between two
+   * keyframes with the same value. Progress changes within the keyframe don't change the rendered output.
+   */
+  public boolean isHeld() {
+    if (isHeld == null) {
+      // Motion paths can curve away from and back to the same point.
+      isHeld = pathCp1 == null && pathCp2 == null && startValue != null
+          && (startValue == endValue || startValue.equals(endValue));
+    }
+    return isHeld;
+  }
+
   public boolean containsProgress(@FloatRange(from = 0f, to = 1f) float progress) {
     return progress >= getStartProgress() && progress < getEndProgress();
   }
@@ -0,0 +1,71 @@
+package com.airbnb.lottie;
+
+import android.graphics.Bitmap;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class FrameCacheTest extends BaseTest {
+
+  private static final int FRAME_BYTES = 10 * 10 * 4;
+
+  @Test
+  public void testMissThenHit() {
+    FrameCache cache = new FrameCache(FRAME_BYTES * 2);
+    assertNull(cache.get(0, 10, 10));
+    Bitmap bitmap = cache.obtain(0);
+    assertNotNull(bitmap);
+    assertSame(bitmap, cache.get(0, 10, 10));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(0.5f, cache.getHitRate(), 0.001f);
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyDrawnFrame() {
+    FrameCache cache = new FrameCache(FRAME_BYTES * 2);
+    cache.get(0, 10, 10);
+    Bitmap frame0 = cache.obtain(0);
+    cache.get(1, 10, 10);
+    cache.obtain(1);
+    cache.get(0, 10, 10);
+
+    cache.get(2, 10, 10);
+    // Frame 1 was drawn least recently so its bitmap is reused.
+    Bitmap frame2 = cache.obtain(2);
+    assertEquals(1, cache.getEvictionCount());
+    assertNull(cache.get(1, 10, 10));
+    assertSame(frame0, cache.get(0, 10, 10));
+    assertNotNull(frame2);
+    assertEquals(FRAME_BYTES * 2, cache.getSizeBytes());
+  }
+
+  @Test
+  public void testInvalidateReusesBitmaps() {
+    FrameCache cache = new FrameCache(FRAME_BYTES * 2);
+    cache.get(0, 10, 10);
+    Bitmap bitmap = cache.obtain(0);
+    cache.invalidate();
+    assertNull(cache.get(0, 10, 10));
+    assertSame(bitmap, cache.obtain(0));
+  }
+
+  @Test
+  public void testSizeChangeClearsFrames() {
+    FrameCache cache = new FrameCache(FRAME_BYTES * 2);
+    cache.get(0, 10, 10);
+    cache.obtain(0);
+    assertNull(cache.get(0, 5, 5));
+  }
+
+  @Test
+  public void testFrameLargerThanBudget() {
+    FrameCache cache = new FrameCache(FRAME_BYTES - 1);
+    cache.get(0, 10, 10);
+    assertNull(cache.obtain(0));
+  }
+}
@@ -0,0 +1,105 @@
+package com.airbnb.lottie;
+
+import android.graphics.Rect;
+
+import androidx.collection.LongSparseArray;
+import androidx.collection.SparseArrayCompat;
+
+import com.airbnb.lottie.model.Font;
+import com.airbnb.lottie.model.FontCharacter;
+import com.airbnb.lottie.model.Marker;
+import com.airbnb.lottie.model.layer.Layer;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class FrameSequenceCacheTest extends BaseTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private LottieDrawable drawable;
+
+  @Before
+  public void setup() {
+    LottieComposition composition = new LottieComposition();
+    composition.init(new Rect(0, 0, 4, 4), 0, 9, 30, new ArrayList<Layer>(),
+        new LongSparseArray<Layer>(0), new HashMap<String, List<Layer>>(0),
+        new HashMap<String, LottieImageAsset>(0), new SparseArrayCompat<FontCharacter>(0),
+        new HashMap<String, Font>(0), Collections.singletonList(new Marker("intro", 2, 3)));
+    drawable = new LottieDrawable();
+    drawable.setComposition(composition);
+  }
+
+  @Test
+  public void testRenderWholeComposition() throws Exception {
+    FrameSequenceCache cache = new FrameSequenceCache(folder.newFolder(), Long.MAX_VALUE);
+    LottieResult<FrameSequence> result = cache.getOrRenderSync("test", drawable, 4, 4, null, null);
+    FrameSequence sequence = result.getValue();
+    assertNotNull(sequence);
+    assertEquals(0, sequence.getStartFrame());
+    assertEquals(9, sequence.getEndFrame());
+    assertEquals(FrameSequence.HEADER_SIZE + 10 * 4 * 4 * 4, sequence.getFile().length());
+  }
+
+  @Test
+  public void testRenderMarker() throws Exception {
+    FrameSequenceCache cache = new FrameSequenceCache(folder.newFolder(), Long.MAX_VALUE);
+    FrameSequence sequence = cache.getOrRenderSync("test", drawable, 4, 4, "intro", null).getValue();
+    assertNotNull(sequence);
+    assertEquals(2, sequence.getStartFrame());
+    assertEquals(5, sequence.getEndFrame());
+    assertFalse(sequence.hasFrame(6));
+  }
+
+  @Test
+  public void testCachedSequenceIsReused() throws Exception {
+    FrameSequenceCache cache = new FrameSequenceCache(folder.newFolder(), Long.MAX_VALUE);
+    FrameSequence sequence = cache.getOrRenderSync("test", drawable, 4, 4, null, null).getValue();
+    assertNotNull(sequence);
+    // A drawable without a composition can't render so this has to come from the cache.
+    FrameSequence cached = cache.getOrRenderSync("test", new LottieDrawable(), 4, 4, null, null).getValue();
+    assertNotNull(cached);
+    assertEquals(sequence.getFile(), cached.getFile());
+  }
+
+  @Test
+  public void testKeyIncludesSizeAndDynamicProperties() throws Exception {
+    FrameSequenceCache cache = new FrameSequenceCache(folder.newFolder(), Long.MAX_VALUE);
+    File file = cache.getOrRenderSync("test", drawable, 4, 4, null, null).getValue().getFile();
+    assertFalse(file.equals(cache.getOrRenderSync("test", drawable, 2, 2, null, null).getValue().getFile()));
+    assertFalse(file.equals(cache.getOrRenderSync("test", drawable, 4, 4, null, "red").getValue().getFile()));
+  }
+
+  @Test
+  public void testSequenceLargerThanMappingLimitIsRejected() throws Exception {
+    File directory = folder.newFolder();
+    FrameSequenceCache cache = new FrameSequenceCache(directory, Long.MAX_VALUE);
+    // 10 frames of 8192x8192 pixels is 2.5GB.
+    LottieResult<FrameSequence> result = cache.getOrRenderSync("test", drawable, 8192, 8192, null, null);
+    assertTrue(result.getException() instanceof IllegalArgumentException);
+    assertEquals(0, directory.list().length);
+  }
+
+  @Test
+  public void testLeastRecentlyUsedFilesAreDeleted() throws Exception {
+    long sequenceBytes = FrameSequence.HEADER_SIZE + 10 * 4 * 4 * 4;
+    FrameSequenceCache cache = new FrameSequenceCache(folder.newFolder(), sequenceBytes);
+    File first = cache.getOrRenderSync("first", drawable, 4, 4, null, null).getValue().getFile();
+    File second = cache.getOrRenderSync("second", drawable, 4, 4, null, null).getValue().getFile();
+    assertFalse(first.exists());
+    assertTrue(second.exists());
+  }
+}
@@ -0,0 +1,115 @@
+package com.airbnb.lottie;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Shader;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class GradientCacheTest extends BaseTest {
+
+  private static final int[] COLORS = {0xFFFF0000, 0xFF0000FF};
+  private static final float[] POSITIONS = {0f, 1f};
+
+  private static Shader getLinearGradient(GradientCache cache, float x1) {
+    return cache.getLinearGradient(0f, 0f, x1, 0f, COLORS.clone(), POSITIONS.clone());
+  }
+
+  @Test
+  public void testMissThenHit() {
+    GradientCache cache = new GradientCache();
+    Shader gradient = getLinearGradient(cache, 100f);
+    assertSame(gradient, getLinearGradient(cache, 100f));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(0.5f, cache.getHitRate(), 0.001f);
+  }
+
+  @Test
+  public void testKeyedByEveryParameter() {
+    GradientCache cache = new GradientCache();
+    Shader gradient = getLinearGradient(cache, 100f);
+    assertNotSame(gradient, getLinearGradient(cache, 101f));
+    assertNotSame(gradient, cache.getLinearGradient(0f, 0f, 100f, 0f, new int[]{0xFFFF0000, 0xFF00FF00}, POSITIONS));
+    assertNotSame(gradient, cache.getLinearGradient(0f, 0f, 100f, 0f, COLORS, new float[]{0f, 0.5f}));
+    assertNotSame(gradient, cache.getRadialGradient(0f, 0f, 100f, COLORS, POSITIONS));
+    assertEquals(0, cache.getHitCount());
+    assertEquals(5, cache.getMissCount());
+  }
+
+  @Test
+  public void testColorsAreCopied() {
+    GradientCache cache = new GradientCache();
+    int[] colors = COLORS.clone();
+    Shader gradient = cache.getLinearGradient(0f, 0f, 100f, 0f, colors, POSITIONS);
+    // Animated gradients update their colors in place.
+    colors[0] = 0xFF00FF00;
+    assertSame(gradient, getLinearGradient(cache, 100f));
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsedGradient() {
+    GradientCache cache = new GradientCache();
+    cache.resize(2);
+    Shader gradient0 = getLinearGradient(cache, 100f);
+    Shader gradient1 = getLinearGradient(cache, 200f);
+    getLinearGradient(cache, 100f);
+
+    getLinearGradient(cache, 300f);
+    assertEquals(1, cache.getEvictionCount());
+    assertEquals(2, cache.getSize());
+    // The second gradient was used least recently so it was evicted.
+    assertSame(gradient0, getLinearGradient(cache, 100f));
+    assertNotSame(gradient1, getLinearGradient(cache, 200f));
+  }
+
+  @Test
+  public void testResizeEvicts() {
+    GradientCache cache = new GradientCache();
+    for (int i = 0; i < 10; i++) {
+      getLinearGradient(cache, i + 1);
+    }
+    cache.resize(4);
+    assertEquals(4, cache.getSize());
+    assertEquals(6, cache.getEvictionCount());
+  }
+
+  @Test
+  public void testResetMetrics() {
+    GradientCache cache = new GradientCache();
+    getLinearGradient(cache, 100f);
+    getLinearGradient(cache, 100f);
+    cache.resetMetrics();
+    assertEquals(0, cache.getHitCount());
+    assertEquals(0, cache.getMissCount());
+    assertEquals(0, cache.getEvictionCount());
+    assertEquals(1, cache.getSize());
+  }
+
+  @Test
+  public void testMovingLayerHitsCache() {
+    // A shape layer with a static gradient fill that moves from x=0 to x=100 over 10 frames. Only the first half is drawn while it is active.
+    String json = "{\"v\":\"5.5.2\",\"fr\":30,\"ip\":0,\"op\":10,\"w\":10,\"h\":10,\"layers\":[" +
+        "{\"ty\":4,\"ind\":1,\"ip\":0,\"op\":10,\"st\":0," +
+        "\"ks\":{\"p\":{\"a\":1,\"k\":[{\"t\":0,\"s\":[0,0]},{\"t\":10,\"s\":[100,0]}]}},\"shapes\":[" +
+        "{\"ty\":\"rc\",\"d\":1,\"s\":{\"a\":0,\"k\":[10,10]},\"p\":{\"a\":0,\"k\":[5,5]},\"r\":{\"a\":0,\"k\":0}}," +
+        "{\"ty\":\"gf\",\"o\":{\"a\":0,\"k\":100},\"r\":1,\"t\":1,\"s\":{\"a\":0,\"k\":[0,0]}," +
+        "\"e\":{\"a\":0,\"k\":[10,0]},\"g\":{\"p\":2,\"k\":{\"a\":0,\"k\":[0,1,0,0,1,0,0,1]}}}]}]}";
+    LottieComposition composition = LottieCompositionFactory.fromJsonStringSync(json, null).getValue();
+    LottieDrawable drawable = new LottieDrawable();
+    drawable.setComposition(composition);
+    drawable.setBounds(0, 0, 10, 10);
+    Canvas canvas = new Canvas(Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888));
+    GradientCache cache = composition.getGradientCache();
+    for (int i = 0; i <= 10; i++) {
+      drawable.setProgress(i / 20f);
+      drawable.draw(canvas);
+    }
+    assertEquals(1, cache.getMissCount());
+    assertEquals(10, cache.getHitCount());
+  }
+}
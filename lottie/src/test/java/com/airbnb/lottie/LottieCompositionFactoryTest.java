@@ -1,5 +1,6 @@
 package com.airbnb.lottie;
 
+import com.airbnb.lottie.bundle.LottieBundleWriter;
 import com.airbnb.lottie.model.LottieCompositionCache;
 
 import com.airbnb.lottie.parser.moshi.JsonReader;
@@ -8,9 +9,20 @@ import org.junit.Test;
 import org.robolectric.RuntimeEnvironment;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
@@ -19,6 +31,7 @@ import static junit.framework.Assert.assertNull;
 import static okio.Okio.buffer;
 import static okio.Okio.source;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 @SuppressWarnings("ReferenceEquality")
 public class LottieCompositionFactoryTest extends BaseTest {
@@ -89,6 +102,281 @@ public class LottieCompositionFactoryTest extends BaseTest {
         assertNull(result.getValue());
     }
 
+    @Test
+    public void testLoadJsonFile() throws IOException {
+        File file = File.createTempFile("lottie", ".json");
+        FileOutputStream out = new FileOutputStream(file);
+        out.write(JSON.getBytes());
+        out.close();
+        LottieResult<LottieComposition> result = LottieCompositionFactory.fromFileSync(file, null);
+        assertNull(result.getException());
+        assertNotNull(result.getValue());
+    }
+
+    @Test
+    public void testLoadZipFile() throws IOException {
+        File file = File.createTempFile("lottie", ".lottie");
+        ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file));
+        out.putNextEntry(new ZipEntry("manifest.json"));
+        out.write("{}".getBytes());
+        out.closeEntry();
+        out.putNextEntry(new ZipEntry("animations/animation.json"));
+        out.write(JSON.getBytes());
+        out.closeEntry();
+        out.close();
+        LottieResult<LottieComposition> result = LottieCompositionFactory.fromFileSync(file, null);
+        assertNull(result.getException());
+        assertNotNull(result.getValue());
+    }
+
+    @Test
+    public void testLoadDotLottieBundle() throws IOException {
+        File file = createMultiAnimationFile();
+        DotLottieBundle bundle = DotLottieBundle.open(file);
+        try {
+            assertEquals(Arrays.asList("second", "first"), bundle.getAnimationIds());
+            assertEquals("second", bundle.getDefaultAnimationId());
+            LottieResult<LottieComposition> first = LottieCompositionFactory.fromDotLottieSync(bundle, "first", null);
+            assertNotNull(first.getValue());
+            LottieResult<LottieComposition> second = LottieCompositionFactory.fromDotLottieSync(bundle, "second", null);
+            assertNotNull(second.getValue());
+            LottieResult<LottieComposition> missing = LottieCompositionFactory.fromDotLottieSync(bundle, "third", null);
+            assertNotNull(missing.getException());
+        } finally {
+            bundle.close();
+        }
+    }
+
+    @Test
+    public void testLoadZipStreamWithAnimationId() throws IOException {
+        File file = createMultiAnimationFile();
+        LottieResult<LottieComposition> result =
+                LottieCompositionFactory.fromZipStreamSync(new ZipInputStream(new FileInputStream(file)), "first", null);
+        assertNotNull(result.getValue());
+        result = LottieCompositionFactory.fromZipStreamSync(new ZipInputStream(new FileInputStream(file)), "third", null);
+        assertNotNull(result.getException());
+    }
+
+    @Test
+    public void testLoadZipStreamWithMalformedManifest() throws IOException {
+        File file = File.createTempFile("lottie", ".lottie");
+        ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file));
+        out.putNextEntry(new ZipEntry("manifest.json"));
+        out.write("{\"animations\":[".getBytes());
+        out.closeEntry();
+        out.putNextEntry(new ZipEntry("animations/animation.json"));
+        out.write(JSON.getBytes());
+        out.closeEntry();
+        out.close();
+        LottieResult<LottieComposition> result =
+                LottieCompositionFactory.fromZipStreamSync(new ZipInputStream(new FileInputStream(file)), null);
+        assertNull(result.getException());
+        assertNotNull(result.getValue());
+    }
+
+    @Test
+    public void testLoadZipStreamWithManifestAfterAnimations() throws IOException {
+        File file = File.createTempFile("lottie", ".lottie");
+        ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file));
+        out.putNextEntry(new ZipEntry("animations/first.json"));
+        out.write(JSON.getBytes());
+        out.closeEntry();
+        out.putNextEntry(new ZipEntry("animations/second.json"));
+        out.write(NOT_JSON.getBytes());
+        out.closeEntry();
+        out.putNextEntry(new ZipEntry("manifest.json"));
+        out.write("{\"animations\":[{\"id\":\"first\"},{\"id\":\"second\"}]}".getBytes());
+        out.closeEntry();
+        out.close();
+        // The last json in the archive isn't valid so this only succeeds if the manifest picked the first one.
+        LottieResult<LottieComposition> result =
+                LottieCompositionFactory.fromZipStreamSync(new ZipInputStream(new FileInputStream(file)), null);
+        assertNull(result.getException());
+        assertNotNull(result.getValue());
+    }
+
+    @Test
+    public void testLoadZipStreamOnlyDecodesReferencedImages() throws IOException {
+        String json = "{\"v\":\"5.5.2\",\"fr\":30,\"ip\":0,\"op\":10,\"w\":10,\"h\":10," +
+                "\"assets\":[{\"id\":\"image_0\",\"w\":10,\"h\":10,\"u\":\"images/\",\"p\":\"img_0.png\"}],\"layers\":[]}";
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ZipOutputStream out = new ZipOutputStream(bytes);
+        out.putNextEntry(new ZipEntry("manifest.json"));
+        out.write("{\"animations\":[{\"id\":\"first\"}]}".getBytes());
+        out.closeEntry();
+        out.putNextEntry(new ZipEntry("animations/first.json"));
+        out.write(json.getBytes());
+        out.closeEntry();
+        out.putNextEntry(new ZipEntry("animations/second.json"));
+        out.write(NOT_JSON.getBytes());
+        out.closeEntry();
+        out.putNextEntry(new ZipEntry("images/img_0.png"));
+        out.write(new byte[]{1, 2, 3});
+        out.closeEntry();
+        out.putNextEntry(new ZipEntry("images/unused.png"));
+        out.write(new byte[]{4, 5, 6});
+        out.closeEntry();
+        out.close();
+
+        final List<LottieEvent> events = new ArrayList<>();
+        L.setEventListener(new LottieEventListener() {
+            @Override
+            public void onEvent(LottieEvent event) {
+                events.add(event);
+            }
+        });
+        try {
+            LottieCompositionFactory.fromZipStreamSync(
+                    new ZipInputStream(new ByteArrayInputStream(bytes.toByteArray())), "zip");
+        } finally {
+            L.setEventListener(null);
+        }
+        // The other json isn't parsed and the unused image isn't decoded.
+        assertEquals(2, events.size());
+        assertEquals(LottieEvent.Stage.PARSE, events.get(0).getStage());
+        assertEquals(json.getBytes().length, events.get(0).getBytes());
+        assertEquals(LottieEvent.Stage.IMAGE_DECODE, events.get(1).getStage());
+        assertEquals("image_0", events.get(1).getAssetId());
+        assertEquals("zip", events.get(1).getKey());
+    }
+
+    private File createMultiAnimationFile() throws IOException {
+        File file = File.createTempFile("lottie", ".lottie");
+        ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file));
+        out.putNextEntry(new ZipEntry("manifest.json"));
+        out.write("{\"animations\":[{\"id\":\"second\",\"speed\":1},{\"id\":\"first\"}],\"version\":\"1.0\"}".getBytes());
+        out.closeEntry();
+        out.putNextEntry(new ZipEntry("animations/first.json"));
+        out.write(JSON.getBytes());
+        out.closeEntry();
+        out.putNextEntry(new ZipEntry("animations/second.json"));
+        out.write(JSON.getBytes());
+        out.closeEntry();
+        out.close();
+        return file;
+    }
+
+    @Test
+    public void testLoadBundle() throws IOException {
+        File file = File.createTempFile("lottie", ".lbundle");
+        FileOutputStream out = new FileOutputStream(file);
+        new LottieBundleWriter()
+                .setGzipAnimations(true)
+                .addAnimation("first", JSON.getBytes())
+                .addAnimation("second", JSON.getBytes())
+                .writeTo(out);
+        out.close();
+
+        LottieBundle bundle = LottieBundle.open(file);
+        assertEquals(Arrays.asList("first", "second"), new ArrayList<>(bundle.getAnimationNames()));
+        LottieResult<LottieComposition> result = LottieCompositionFactory.fromBundleSync(bundle, "second");
+        assertNull(result.getException());
+        assertNotNull(result.getValue());
+        assertEquals(result.getValue(), LottieCompositionCache.getInstance().get(bundle.getCacheKey("second")));
+        result = LottieCompositionFactory.fromBundleSync(bundle, "third");
+        assertNotNull(result.getException());
+    }
+
+    @Test
+    public void testLoadBundleWrittenFromFolder() throws IOException {
+        File folder = File.createTempFile("lottie", "");
+        assertTrue(folder.delete() && folder.mkdir());
+        for (String name : Arrays.asList("first", "second")) {
+            FileOutputStream out = new FileOutputStream(new File(folder, name + ".json"));
+            out.write(JSON.getBytes());
+            out.close();
+        }
+        File file = File.createTempFile("lottie", ".lbundle");
+        LottieBundleWriter.writeFolder(folder, file, false);
+
+        LottieBundle bundle = LottieBundle.open(file);
+        assertEquals(Arrays.asList("first", "second"), new ArrayList<>(bundle.getAnimationNames()));
+        assertNotNull(LottieCompositionFactory.fromBundleSync(bundle, "first").getValue());
+    }
+
+    @Test
+    public void testTruncatedBundleIsRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new LottieBundleWriter()
+                .addAnimation("first", JSON.getBytes())
+                .writeTo(bytes);
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1);
+        try {
+            new LottieBundle(ByteBuffer.wrap(truncated), "bundle");
+            fail();
+        } catch (IOException e) {
+            // Expected. The animation ends past the end of the bundle.
+        }
+    }
+
+    @Test
+    public void testEventListener() {
+        final List<LottieEvent> events = new ArrayList<>();
+        L.setEventListener(new LottieEventListener() {
+            @Override
+            public void onEvent(LottieEvent event) {
+                events.add(event);
+            }
+        });
+        try {
+            LottieCompositionFactory.fromJsonStringSync(JSON, "json");
+            assertEquals(1, events.size());
+            assertEquals(LottieEvent.Stage.PARSE, events.get(0).getStage());
+            assertEquals(LottieEvent.Outcome.SUCCESS, events.get(0).getOutcome());
+            assertEquals("json", events.get(0).getKey());
+            assertEquals(JSON.getBytes().length, events.get(0).getBytes());
+
+            LottieCompositionFactory.fromJsonString(JSON, "json");
+            assertEquals(2, events.size());
+            assertEquals(LottieEvent.Stage.MEMORY_CACHE, events.get(1).getStage());
+            assertEquals(LottieEvent.Outcome.HIT, events.get(1).getOutcome());
+            assertEquals(LottieEvent.SourceType.JSON, events.get(1).getSourceType());
+        } finally {
+            L.setEventListener(null);
+        }
+    }
+
+    @Test
+    public void testImageEventsUseCompositionCacheKey() throws IOException {
+        String json = "{\"v\":\"5.5.2\",\"fr\":30,\"ip\":0,\"op\":10,\"w\":10,\"h\":10," +
+                "\"assets\":[{\"id\":\"image_0\",\"w\":10,\"h\":10,\"u\":\"images/\",\"p\":\"img_0.png\"}],\"layers\":[]}";
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new LottieBundleWriter()
+                .addAnimation("first", json.getBytes())
+                .addImage("first", "img_0.png", new byte[]{1, 2, 3})
+                .writeTo(bytes);
+        LottieBundle bundle = new LottieBundle(ByteBuffer.wrap(bytes.toByteArray()), "bundle");
+
+        final List<LottieEvent> events = new ArrayList<>();
+        L.setEventListener(new LottieEventListener() {
+            @Override
+            public void onEvent(LottieEvent event) {
+                events.add(event);
+            }
+        });
+        try {
+            LottieCompositionFactory.fromBundleSync(bundle, "first");
+        } finally {
+            L.setEventListener(null);
+        }
+        assertEquals(2, events.size());
+        assertEquals(LottieEvent.Stage.PARSE, events.get(0).getStage());
+        assertEquals(bundle.getCacheKey("first"), events.get(0).getKey());
+        assertEquals(json.getBytes().length, events.get(0).getBytes());
+        assertNull(events.get(0).getAssetId());
+        assertEquals(LottieEvent.Stage.IMAGE_DECODE, events.get(1).getStage());
+        assertEquals(LottieEvent.SourceType.BUNDLE, events.get(1).getSourceType());
+        assertEquals(bundle.getCacheKey("first"), events.get(1).getKey());
+        assertEquals("image_0", events.get(1).getAssetId());
+    }
+
+    @Test
+    public void testLoadMissingFile() {
+        LottieResult<LottieComposition> result = LottieCompositionFactory.fromFileSync(new File("does_not_exist.json"), null);
+        assertNotNull(result.getException());
+        assertNull(result.getValue());
+    }
+
     @Test
     public void testNullMultipleTimesAsync() {
         JsonReader reader = JsonReader.of(buffer(source(getNeverCompletingInputStream())));
@@ -0,0 +1,203 @@
+package com.airbnb.lottie;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import androidx.collection.LongSparseArray;
+import androidx.collection.SparseArrayCompat;
+
+import com.airbnb.lottie.model.Font;
+import com.airbnb.lottie.model.FontCharacter;
+import com.airbnb.lottie.model.Marker;
+import com.airbnb.lottie.model.layer.Layer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LottieOffscreenRendererTest extends BaseTest {
+
+  private LottieComposition composition;
+
+  @Before
+  public void setup() {
+    composition = new LottieComposition();
+    composition.init(new Rect(0, 0, 4, 4), 0, 9, 30, new ArrayList<Layer>(),
+        new LongSparseArray<Layer>(0), new HashMap<String, List<Layer>>(0),
+        new HashMap<String, LottieImageAsset>(0), new SparseArrayCompat<FontCharacter>(0),
+        new HashMap<String, Font>(0), new ArrayList<Marker>());
+  }
+
+  /**
+   * A 10x10 composition that is filled by a solid layer.
+   */
+  private static LottieComposition createFilledComposition() {
+    String json = "{\"v\":\"5.5.2\",\"fr\":30,\"ip\":0,\"op\":10,\"w\":10,\"h\":10,\"layers\":[" +
+        "{\"ty\":1,\"ind\":1,\"ip\":0,\"op\":10,\"st\":0,\"sw\":10,\"sh\":10,\"sc\":\"#ff0000\",\"ks\":{}}]}";
+    return LottieCompositionFactory.fromJsonStringSync(json, null).getValue();
+  }
+
+  /**
+   * Returns the bounds of the solid layer when a frame is drawn at the given size.
+   */
+  private static RectF drawFilledComposition(int width, int height) {
+    LottieOffscreenRenderer renderer = new LottieOffscreenRenderer(createFilledComposition(), width, height);
+    final RectF bounds = new RectF();
+    Canvas canvas = new Canvas(Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888)) {
+      @Override public void drawPath(Path path, Paint paint) {
+        path.computeBounds(bounds, false);
+      }
+    };
+    renderer.drawFrame(0, canvas);
+    return bounds;
+  }
+
+  private static void assertFills(int width, int height) {
+    RectF bounds = drawFilledComposition(width, height);
+    assertEquals(0f, bounds.left, 0.01f);
+    assertEquals(0f, bounds.top, 0.01f);
+    assertEquals(width, bounds.right, 0.01f);
+    assertEquals(height, bounds.bottom, 0.01f);
+  }
+
+  @Test
+  public void testCompositionIsScaledUpToFill() {
+    assertFills(40, 40);
+  }
+
+  @Test
+  public void testCompositionIsScaledDownToFill() {
+    assertFills(5, 5);
+  }
+
+  @Test
+  public void testCompositionIsStretchedToFill() {
+    assertFills(40, 20);
+  }
+
+  /**
+   * A 10x10 composition with a single image layer.
+   */
+  static LottieComposition createImageComposition() {
+    String json = "{\"v\":\"5.5.2\",\"fr\":30,\"ip\":0,\"op\":10,\"w\":10,\"h\":10," +
+        "\"assets\":[{\"id\":\"image_0\",\"w\":10,\"h\":10,\"u\":\"images/\",\"p\":\"img_0.png\"}],\"layers\":[" +
+        "{\"ty\":2,\"ind\":1,\"refId\":\"image_0\",\"ip\":0,\"op\":10,\"st\":0,\"ks\":{}}]}";
+    return LottieCompositionFactory.fromJsonStringSync(json, null).getValue();
+  }
+
+  /**
+   * Returns the bitmaps that are drawn for a frame.
+   */
+  static List<Bitmap> drawnBitmaps(LottieOffscreenRenderer renderer) {
+    final List<Bitmap> bitmaps = new ArrayList<>();
+    Canvas canvas = new Canvas(Bitmap.createBitmap(renderer.getWidth(), renderer.getHeight(), Bitmap.Config.ARGB_8888)) {
+      @Override public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint) {
+        bitmaps.add(bitmap);
+      }
+    };
+    renderer.drawFrame(0, canvas);
+    return bitmaps;
+  }
+
+  @Test
+  public void testEmbeddedImageIsRendered() {
+    LottieComposition composition = createImageComposition();
+    Bitmap image = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+    composition.getImages().get("image_0").setBitmap(image);
+    LottieOffscreenRenderer renderer = new LottieOffscreenRenderer(composition, 10, 10);
+    assertEquals(Collections.singletonList(image), drawnBitmaps(renderer));
+  }
+
+  @Test
+  public void testImageFromDelegateIsRendered() {
+    final Bitmap image = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+    LottieOffscreenRenderer renderer = new LottieOffscreenRenderer(createImageComposition(), 10, 10);
+    renderer.setImageAssetDelegate(new ImageAssetDelegate() {
+      @Override public Bitmap fetchBitmap(LottieImageAsset asset) {
+        return image;
+      }
+    });
+    assertEquals(Collections.singletonList(image), drawnBitmaps(renderer));
+  }
+
+  @Test
+  public void testImageFromAssetsWithoutContextIsSkipped() {
+    LottieOffscreenRenderer renderer = new LottieOffscreenRenderer(createImageComposition(), 10, 10);
+    renderer.setImagesAssetsFolder("images/");
+    assertTrue(drawnBitmaps(renderer).isEmpty());
+  }
+
+  @Test
+  public void testRenderRangeWithStep() {
+    LottieOffscreenRenderer renderer = new LottieOffscreenRenderer(composition, 8, 6);
+    final List<Float> frames = new ArrayList<>();
+    final List<Bitmap> bitmaps = new ArrayList<>();
+    int count = renderer.render(1, 9, 2, new LottieOffscreenRenderer.FrameSink() {
+      @Override public void onFrame(float frame, Bitmap bitmap) {
+        frames.add(frame);
+        bitmaps.add(bitmap);
+      }
+    });
+    assertEquals(5, count);
+    assertEquals(Arrays.asList(1f, 3f, 5f, 7f, 9f), frames);
+    assertEquals(8, bitmaps.get(0).getWidth());
+    assertEquals(6, bitmaps.get(0).getHeight());
+    assertSame(bitmaps.get(0), bitmaps.get(4));
+  }
+
+  @Test
+  public void testFractionalStepIncludesEndFrame() {
+    LottieOffscreenRenderer renderer = new LottieOffscreenRenderer(composition, 4, 4);
+    int count = renderer.render(0, 1, 0.1f, new LottieOffscreenRenderer.FrameSink() {
+      @Override public void onFrame(float frame, Bitmap bitmap) {
+      }
+    });
+    assertEquals(11, count);
+  }
+
+  @Test
+  public void testRenderFrameReusesBitmap() {
+    LottieOffscreenRenderer renderer = new LottieOffscreenRenderer(composition, 4, 4);
+    Bitmap bitmap = Bitmap.createBitmap(4, 4, Bitmap.Config.ARGB_8888);
+    assertSame(bitmap, renderer.renderFrame(3, bitmap));
+    assertNotSame(bitmap, renderer.renderFrame(3, Bitmap.createBitmap(2, 2, Bitmap.Config.ARGB_8888)));
+  }
+
+  @Test
+  public void testRenderersRunInParallel() throws Exception {
+    final int[] counts = new int[2];
+    Thread[] threads = new Thread[counts.length];
+    for (int i = 0; i < threads.length; i++) {
+      final int index = i;
+      threads[i] = new Thread(new Runnable() {
+        @Override public void run() {
+          LottieOffscreenRenderer renderer = new LottieOffscreenRenderer(composition, 4, 4);
+          counts[index] = renderer.render(0, 9, 1, new LottieOffscreenRenderer.FrameSink() {
+            @Override public void onFrame(float frame, Bitmap bitmap) {
+            }
+          });
+        }
+      });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(10, counts[0]);
+    assertEquals(10, counts[1]);
+  }
+}
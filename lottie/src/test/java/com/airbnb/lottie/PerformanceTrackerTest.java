@@ -72,4 +72,49 @@ public class PerformanceTrackerTest {
     assertThat(sortedRenderTimes.get(1).first, equalTo("World"));
     assertThat(sortedRenderTimes.get(1).second, equalTo(6f));
   }
+
+  @Test
+  public void testSkippedFrames() {
+    performanceTracker.recordSkippedFrame();
+    performanceTracker.recordSkippedFrame();
+    assertThat(performanceTracker.getSkippedFrameCount(), equalTo(2));
+    performanceTracker.clearRenderTimes();
+    assertThat(performanceTracker.getSkippedFrameCount(), equalTo(0));
+  }
+
+  @Test
+  public void testSkippedFramesDisabled() {
+    performanceTracker.setEnabled(false);
+    performanceTracker.recordSkippedFrame();
+    assertThat(performanceTracker.getSkippedFrameCount(), equalTo(0));
+  }
+
+  @Test
+  public void testQuantizedFramesAreCountedSeparately() {
+    performanceTracker.recordQuantizedFrame();
+    assertThat(performanceTracker.getQuantizedFrameCount(), equalTo(1));
+    assertThat(performanceTracker.getSkippedFrameCount(), equalTo(0));
+    performanceTracker.clearRenderTimes();
+    assertThat(performanceTracker.getQuantizedFrameCount(), equalTo(0));
+  }
+
+  @Test
+  public void testAvoidedSaveLayers() {
+    performanceTracker.recordAvoidedSaveLayers(2);
+    performanceTracker.recordAvoidedSaveLayers(3);
+    assertThat(performanceTracker.getAvoidedSaveLayerCount(), equalTo(5));
+    performanceTracker.clearRenderTimes();
+    assertThat(performanceTracker.getAvoidedSaveLayerCount(), equalTo(0));
+  }
+
+  @Test
+  public void testInvalidationFanOut() {
+    performanceTracker.recordInvalidations(4);
+    performanceTracker.recordInvalidations(0);
+    assertThat(performanceTracker.getInvalidationFanOut(), equalTo(2f));
+    assertThat(performanceTracker.getCoalescedInvalidationCount(), equalTo(3));
+    performanceTracker.clearRenderTimes();
+    assertThat(performanceTracker.getInvalidationFanOut(), equalTo(0f));
+    assertThat(performanceTracker.getCoalescedInvalidationCount(), equalTo(0));
+  }
 }
@@ -0,0 +1,130 @@
+package com.airbnb.lottie;
+
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+
+import androidx.collection.LongSparseArray;
+import androidx.collection.SparseArrayCompat;
+
+import com.airbnb.lottie.model.Font;
+import com.airbnb.lottie.model.FontCharacter;
+import com.airbnb.lottie.model.Marker;
+import com.airbnb.lottie.model.layer.Layer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PosterFrameCacheTest extends BaseTest {
+
+  private LottieComposition composition;
+
+  @Before
+  public void setup() {
+    composition = new LottieComposition();
+    composition.init(new Rect(0, 0, 4, 4), 0, 9, 30, new ArrayList<Layer>(),
+        new LongSparseArray<Layer>(0), new HashMap<String, List<Layer>>(0),
+        new HashMap<String, LottieImageAsset>(0), new SparseArrayCompat<FontCharacter>(0),
+        new HashMap<String, Font>(0), Collections.singletonList(new Marker("intro", 2, 3)));
+  }
+
+  @Test
+  public void testRenderedFrameIsCached() {
+    PosterFrameCache cache = new PosterFrameCache(Integer.MAX_VALUE);
+    assertNull(cache.get("test", 0, 4, 4));
+    Bitmap bitmap = cache.getOrRenderSync("test", composition, 0, 4, 4).getValue();
+    assertNotNull(bitmap);
+    assertEquals(4, bitmap.getWidth());
+    assertSame(bitmap, cache.get("test", 0, 4, 4));
+    assertSame(bitmap, cache.getOrRenderSync("test", composition, 0, 4, 4).getValue());
+  }
+
+  @Test
+  public void testCachedFrameIsReturnedWithoutRendering() {
+    PosterFrameCache cache = new PosterFrameCache(Integer.MAX_VALUE);
+    Bitmap bitmap = cache.getOrRenderSync("test", composition, 0, 4, 4).getValue();
+    final Bitmap[] result = new Bitmap[1];
+    // The listener is only called synchronously if the task already has its result.
+    cache.getOrRender("test", composition, 0, 4, 4).addListener(new LottieListener<Bitmap>() {
+      @Override public void onResult(Bitmap bitmap) {
+        result[0] = bitmap;
+      }
+    });
+    assertSame(bitmap, result[0]);
+  }
+
+  @Test
+  public void testKeyIncludesFrameAndSize() {
+    PosterFrameCache cache = new PosterFrameCache(Integer.MAX_VALUE);
+    Bitmap bitmap = cache.getOrRenderSync("test", composition, 0, 4, 4).getValue();
+    assertNotSame(bitmap, cache.getOrRenderSync("test", composition, 1, 4, 4).getValue());
+    assertNotSame(bitmap, cache.getOrRenderSync("test", composition, 0, 2, 2).getValue());
+    assertNotSame(bitmap, cache.getOrRenderSync("other", composition, 0, 4, 4).getValue());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedFramesAreEvicted() {
+    PosterFrameCache cache = new PosterFrameCache(2 * 4 * 4 * 4);
+    cache.getOrRenderSync("test", composition, 0, 4, 4);
+    cache.getOrRenderSync("test", composition, 1, 4, 4);
+    cache.get("test", 0, 4, 4);
+    cache.getOrRenderSync("test", composition, 2, 4, 4);
+    assertNotNull(cache.get("test", 0, 4, 4));
+    assertNull(cache.get("test", 1, 4, 4));
+    assertNotNull(cache.get("test", 2, 4, 4));
+  }
+
+  @Test
+  public void testMissingMarkerFailsImmediately() {
+    PosterFrameCache cache = new PosterFrameCache(Integer.MAX_VALUE);
+    final Throwable[] error = new Throwable[1];
+    // The listener is only called synchronously if the task already has its result.
+    cache.getOrRenderMarker("test", composition, "outro", 4, 4).addFailureListener(new LottieListener<Throwable>() {
+      @Override public void onResult(Throwable result) {
+        error[0] = result;
+      }
+    });
+    assertTrue(error[0] instanceof IllegalArgumentException);
+  }
+
+  @Test
+  public void testImageLayerIsRendered() {
+    String json = "{\"v\":\"5.5.2\",\"fr\":30,\"ip\":0,\"op\":10,\"w\":10,\"h\":10," +
+        "\"assets\":[{\"id\":\"image_0\",\"w\":10,\"h\":10,\"u\":\"\",\"p\":\"data:image/png;base64,AAAA\"}]," +
+        "\"layers\":[{\"ty\":2,\"ind\":1,\"refId\":\"image_0\",\"ip\":0,\"op\":10,\"st\":0,\"ks\":{}}]}";
+    LottieComposition composition = LottieCompositionFactory.fromJsonStringSync(json, null).getValue();
+    final List<LottieEvent> decodes = new ArrayList<>();
+    L.setEventListener(new LottieEventListener() {
+      @Override public void onEvent(LottieEvent event) {
+        if (event.getStage() == LottieEvent.Stage.IMAGE_DECODE) {
+          decodes.add(event);
+        }
+      }
+    });
+    try {
+      new PosterFrameCache(Integer.MAX_VALUE).getOrRenderSync("image", composition, 0, 10, 10);
+    } finally {
+      L.setEventListener(null);
+    }
+    // The image layer asked for its bitmap while the poster frame was rendered.
+    assertEquals(1, decodes.size());
+    assertEquals(LottieEvent.SourceType.DATA_URL, decodes.get(0).getSourceType());
+  }
+
+  @Test
+  public void testInvalidSize() {
+    PosterFrameCache cache = new PosterFrameCache(Integer.MAX_VALUE);
+    assertNotNull(cache.getOrRenderSync("test", composition, 0, 0, 4).getException());
+  }
+}
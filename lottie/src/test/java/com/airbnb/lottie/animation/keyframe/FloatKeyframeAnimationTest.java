@@ -0,0 +1,104 @@
+package com.airbnb.lottie.animation.keyframe;
+
+import android.graphics.Rect;
+import android.view.animation.LinearInterpolator;
+
+import androidx.collection.LongSparseArray;
+import androidx.collection.SparseArrayCompat;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.LottieImageAsset;
+import com.airbnb.lottie.model.Font;
+import com.airbnb.lottie.model.FontCharacter;
+import com.airbnb.lottie.model.Marker;
+import com.airbnb.lottie.model.layer.Layer;
+import com.airbnb.lottie.value.Keyframe;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class FloatKeyframeAnimationTest extends BaseTest {
+  private static final int KEYFRAME_COUNT = 100;
+
+  private FloatKeyframeAnimation animation;
+
+  /**
+   * Keyframes whose value is the frame, one per frame.
+   */
+  @Before
+  public void setup() {
+    LottieComposition composition = new LottieComposition();
+    composition.init(new Rect(), 0, KEYFRAME_COUNT, 30, new ArrayList<Layer>(),
+        new LongSparseArray<Layer>(0), new HashMap<String, List<Layer>>(0),
+        new HashMap<String, LottieImageAsset>(0), new SparseArrayCompat<FontCharacter>(0),
+        new HashMap<String, Font>(0), new ArrayList<Marker>());
+    List<Keyframe<Float>> keyframes = new ArrayList<>();
+    for (int i = 0; i < KEYFRAME_COUNT; i++) {
+      keyframes.add(new Keyframe<>(composition, (float) i, i + 1f, new LinearInterpolator(), i, i + 1f));
+    }
+    animation = new FloatKeyframeAnimation(keyframes);
+  }
+
+  private void assertValueAtFrame(float frame) {
+    animation.setProgress(frame / KEYFRAME_COUNT);
+    assertEquals(frame, animation.getFloatValue(), 0.001f);
+  }
+
+  @Test
+  public void testForwardPlayback() {
+    for (float frame = 0; frame <= KEYFRAME_COUNT; frame += 0.25f) {
+      assertValueAtFrame(frame);
+    }
+  }
+
+  @Test
+  public void testReversePlayback() {
+    for (float frame = KEYFRAME_COUNT; frame >= 0; frame -= 0.25f) {
+      assertValueAtFrame(frame);
+    }
+  }
+
+  @Test
+  public void testHeldKeyframeOnlyNotifiesWhenItIsEntered() {
+    LottieComposition composition = new LottieComposition();
+    composition.init(new Rect(), 0, 100, 30, new ArrayList<Layer>(),
+        new LongSparseArray<Layer>(0), new HashMap<String, List<Layer>>(0),
+        new HashMap<String, LottieImageAsset>(0), new SparseArrayCompat<FontCharacter>(0),
+        new HashMap<String, Font>(0), new ArrayList<Marker>());
+    List<Keyframe<Float>> keyframes = new ArrayList<>();
+    keyframes.add(new Keyframe<>(composition, 0f, 1f, new LinearInterpolator(), 0, 40f));
+    keyframes.add(new Keyframe<>(composition, 1f, 1f, new LinearInterpolator(), 40, 100f));
+    FloatKeyframeAnimation animation = new FloatKeyframeAnimation(keyframes);
+    final int[] notifications = new int[1];
+    animation.addUpdateListener(new BaseKeyframeAnimation.AnimationListener() {
+      @Override public void onValueChanged() {
+        notifications[0]++;
+      }
+    });
+
+    // The value is never read.
+    animation.setProgress(0.1f);
+    animation.setProgress(0.5f);
+    assertEquals(2, notifications[0]);
+    animation.setProgress(0.6f);
+    animation.setProgress(0.7f);
+    assertEquals(2, notifications[0]);
+    assertEquals(1f, animation.getFloatValue(), 0.001f);
+  }
+
+  @Test
+  public void testRandomSeeks() {
+    Random random = new Random(0);
+    for (int i = 0; i < 500; i++) {
+      assertValueAtFrame(random.nextInt(KEYFRAME_COUNT * 4) / 4f);
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.airbnb.lottie.animation.keyframe;
+
+import android.graphics.PathMeasure;
+import android.graphics.PointF;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.value.Keyframe;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PathKeyframeTest extends BaseTest {
+
+  private static PathKeyframe createPathKeyframe(PointF start, PointF end, PointF cp1, PointF cp2) {
+    LottieComposition composition = new LottieComposition();
+    Keyframe<PointF> keyframe = new Keyframe<>(composition, start, end, null, 0f, 10f);
+    keyframe.pathCp1 = cp1;
+    keyframe.pathCp2 = cp2;
+    return new PathKeyframe(composition, keyframe);
+  }
+
+  /**
+   * Positions should be within a fraction of a pixel of the positions from PathMeasure.
+   */
+  private static void assertMatchesPathMeasure(PathKeyframe pathKeyframe) {
+    PathMeasure pathMeasure = new PathMeasure(pathKeyframe.getPath(), false);
+    float length = pathMeasure.getLength();
+    float[] pos = new float[2];
+    PointF point = new PointF();
+    for (int i = 0; i <= 999; i++) {
+      float progress = i / 999f;
+      pathMeasure.getPosTan(progress * length, pos, null);
+      pathKeyframe.getPosition(progress, point);
+      assertEquals(pos[0], point.x, 0.25f);
+      assertEquals(pos[1], point.y, 0.25f);
+    }
+  }
+
+  @Test
+  public void testLine() {
+    assertMatchesPathMeasure(createPathKeyframe(new PointF(0, 0), new PointF(300, 400), null, null));
+  }
+
+  @Test
+  public void testCurve() {
+    assertMatchesPathMeasure(createPathKeyframe(new PointF(0, 0), new PointF(500, 0), new PointF(0, 300), new PointF(0, 300)));
+  }
+
+  @Test
+  public void testTightCurve() {
+    assertMatchesPathMeasure(createPathKeyframe(new PointF(0, 0), new PointF(10, 0), new PointF(200, 200), new PointF(-200, 200)));
+  }
+
+  @Test
+  public void testLongCurve() {
+    assertMatchesPathMeasure(
+        createPathKeyframe(new PointF(0, 0), new PointF(5000, 3000), new PointF(2000, -3000), new PointF(-2000, 3000)));
+  }
+
+  @Test
+  public void testProgressOutsideOfPathIsClamped() {
+    PathKeyframe pathKeyframe = createPathKeyframe(new PointF(0, 0), new PointF(500, 0), new PointF(0, 300), new PointF(0, 300));
+    PointF point = new PointF();
+    pathKeyframe.getPosition(-0.5f, point);
+    assertEquals(0f, point.x, 0.01f);
+    assertEquals(0f, point.y, 0.01f);
+    pathKeyframe.getPosition(1.5f, point);
+    assertEquals(500f, point.x, 0.01f);
+    assertEquals(0f, point.y, 0.01f);
+  }
+}
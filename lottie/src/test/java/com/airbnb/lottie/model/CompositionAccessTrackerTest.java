@@ -0,0 +1,134 @@
+package com.airbnb.lottie.model;
+
+import com.airbnb.lottie.BaseTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+
+public class CompositionAccessTrackerTest extends BaseTest {
+
+  private static final Executor DIRECT_EXECUTOR = new Executor() {
+    @Override public void execute(Runnable command) {
+      command.run();
+    }
+  };
+
+  private File file;
+
+  @Before
+  public void setup() throws IOException {
+    file = File.createTempFile("lottie", "access");
+    //noinspection ResultOfMethodCallIgnored
+    file.delete();
+  }
+
+  @Test
+  public void testMostAccessedFirst() {
+    CompositionAccessTracker tracker = new CompositionAccessTracker(file, "1", DIRECT_EXECUTOR);
+    tracker.load();
+    tracker.recordAccess("asset_a.json");
+    tracker.recordAccess("asset_b.json");
+    tracker.recordAccess("asset_b.json");
+    tracker.recordAccess(null);
+    assertEquals(Arrays.asList("asset_b.json", "asset_a.json"), tracker.getMostAccessedKeys(5));
+    assertEquals(Collections.singletonList("asset_b.json"), tracker.getMostAccessedKeys(1));
+  }
+
+  @Test
+  public void testPersistedAcrossSessions() {
+    CompositionAccessTracker tracker = new CompositionAccessTracker(file, "1", DIRECT_EXECUTOR);
+    tracker.load();
+    for (int i = 0; i < 4; i++) {
+      tracker.recordAccess("asset_a.json");
+      tracker.recordAccess("rawRes_day_1");
+    }
+    tracker.recordAccess("asset_b.json");
+    tracker.recordAccess("asset_b.json");
+
+    CompositionAccessTracker nextSession = new CompositionAccessTracker(file, "1", DIRECT_EXECUTOR);
+    nextSession.load();
+    assertEquals(Arrays.asList("asset_a.json", "rawRes_day_1", "asset_b.json"), nextSession.getMostAccessedKeys(5));
+  }
+
+  @Test
+  public void testSingleAccessKeptInNextSession() {
+    CompositionAccessTracker tracker = new CompositionAccessTracker(file, "1", DIRECT_EXECUTOR);
+    tracker.load();
+    tracker.recordAccess("asset_a.json");
+
+    CompositionAccessTracker nextSession = new CompositionAccessTracker(file, "1", DIRECT_EXECUTOR);
+    nextSession.load();
+    assertEquals(Collections.singletonList("asset_a.json"), nextSession.getMostAccessedKeys(5));
+  }
+
+  @Test
+  public void testSingleAccessDroppedAfterIdleSessions() {
+    CompositionAccessTracker tracker = new CompositionAccessTracker(file, "1", DIRECT_EXECUTOR);
+    tracker.load();
+    tracker.recordAccess("asset_a.json");
+
+    for (int i = 0; i < 3; i++) {
+      CompositionAccessTracker nextSession = new CompositionAccessTracker(file, "1", DIRECT_EXECUTOR);
+      nextSession.load();
+      assertEquals(Collections.singletonList("asset_a.json"), nextSession.getMostAccessedKeys(5));
+    }
+    CompositionAccessTracker nextSession = new CompositionAccessTracker(file, "1", DIRECT_EXECUTOR);
+    nextSession.load();
+    assertEquals(Collections.<String>emptyList(), nextSession.getMostAccessedKeys(5));
+  }
+
+  @Test
+  public void testUnusedKeysDecayBelowRecentOnes() {
+    CompositionAccessTracker tracker = new CompositionAccessTracker(file, "1", DIRECT_EXECUTOR);
+    tracker.load();
+    for (int i = 0; i < 4; i++) {
+      tracker.recordAccess("asset_a.json");
+    }
+
+    // 4 -> 2 -> 1 -> 0 by the time asset_b.json is requested.
+    for (int i = 0; i < 2; i++) {
+      new CompositionAccessTracker(file, "1", DIRECT_EXECUTOR).load();
+    }
+    CompositionAccessTracker nextSession = new CompositionAccessTracker(file, "1", DIRECT_EXECUTOR);
+    nextSession.load();
+    nextSession.recordAccess("asset_b.json");
+    nextSession.recordAccess("asset_b.json");
+    assertEquals(Arrays.asList("asset_b.json", "asset_a.json"), nextSession.getMostAccessedKeys(5));
+  }
+
+  @Test
+  public void testEstimatedSizePersistedAcrossSessions() {
+    CompositionAccessTracker tracker = new CompositionAccessTracker(file, "1", DIRECT_EXECUTOR);
+    tracker.load();
+    tracker.recordAccess("asset_a.json");
+    tracker.recordSize("asset_a.json", 1024);
+    tracker.recordAccess("asset_b.json");
+
+    CompositionAccessTracker nextSession = new CompositionAccessTracker(file, "1", DIRECT_EXECUTOR);
+    nextSession.load();
+    assertEquals(1024, nextSession.getEstimatedSize("asset_a.json"));
+    assertEquals(0, nextSession.getEstimatedSize("asset_b.json"));
+  }
+
+  @Test
+  public void testRawResDroppedAfterAppUpdate() {
+    CompositionAccessTracker tracker = new CompositionAccessTracker(file, "1", DIRECT_EXECUTOR);
+    tracker.load();
+    tracker.recordAccess("asset_a.json");
+    tracker.recordAccess("asset_a.json");
+    tracker.recordAccess("rawRes_day_1");
+    tracker.recordAccess("rawRes_day_1");
+
+    CompositionAccessTracker nextSession = new CompositionAccessTracker(file, "2", DIRECT_EXECUTOR);
+    nextSession.load();
+    assertEquals(Collections.singletonList("asset_a.json"), nextSession.getMostAccessedKeys(5));
+  }
+}
@@ -0,0 +1,130 @@
+package com.airbnb.lottie.model.layer;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.LottieCompositionFactory;
+import com.airbnb.lottie.LottieDrawable;
+import com.airbnb.lottie.parser.LayerParser;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BaseLayerTest extends BaseTest {
+
+  /**
+   * A solid layer that moves from x=0 to x=100 over 10 frames.
+   */
+  private BaseLayer createMovingSolid(boolean hidden) {
+    String json = "{\"v\":\"5.5.2\",\"fr\":30,\"ip\":0,\"op\":10,\"w\":10,\"h\":10,\"layers\":[" +
+        "{\"ty\":1,\"ind\":1,\"ip\":0,\"op\":10,\"st\":0,\"sw\":10,\"sh\":10,\"sc\":\"#ff0000\",\"hd\":" + hidden + "," +
+        "\"ks\":{\"p\":{\"a\":1,\"k\":[{\"t\":0,\"s\":[0,0]},{\"t\":10,\"s\":[100,0]}]}}}]}";
+    LottieComposition composition = LottieCompositionFactory.fromJsonStringSync(json, null).getValue();
+    LottieDrawable drawable = new LottieDrawable();
+    drawable.setComposition(composition);
+    return new SolidLayer(drawable, composition.getLayers().get(0));
+  }
+
+  /**
+   * A null layer that moves from x=0 to x=100 over 10 frames with a solid layer parented to it.
+   */
+  private CompositionLayer createMovingParent() {
+    String json = "{\"v\":\"5.5.2\",\"fr\":30,\"ip\":0,\"op\":10,\"w\":10,\"h\":10,\"layers\":[" +
+        "{\"ty\":3,\"ind\":1,\"ip\":0,\"op\":10,\"st\":0," +
+        "\"ks\":{\"p\":{\"a\":1,\"k\":[{\"t\":0,\"s\":[0,0]},{\"t\":10,\"s\":[100,0]}]}}}," +
+        "{\"ty\":1,\"ind\":2,\"parent\":1,\"ip\":0,\"op\":10,\"st\":0,\"sw\":10,\"sh\":10,\"sc\":\"#ff0000\",\"ks\":{}}]}";
+    LottieComposition composition = LottieCompositionFactory.fromJsonStringSync(json, null).getValue();
+    LottieDrawable drawable = new LottieDrawable();
+    drawable.setComposition(composition);
+    return new CompositionLayer(drawable, LayerParser.parse(composition), composition.getLayers(), composition);
+  }
+
+  private static float getTranslationX(BaseLayer layer) {
+    float[] values = new float[9];
+    layer.transform.getMatrix().getValues(values);
+    return values[Matrix.MTRANS_X];
+  }
+
+  @Test
+  public void testVisibleLayerIsUpdated() {
+    BaseLayer layer = createMovingSolid(false);
+    layer.setProgress(0.5f);
+    assertEquals(50f, getTranslationX(layer), 0.01f);
+  }
+
+  @Test
+  public void testHiddenLayerIsUpdatedWhenItsBoundsAreRequested() {
+    BaseLayer layer = createMovingSolid(true);
+    layer.setProgress(0.5f);
+    assertEquals(0f, getTranslationX(layer), 0.01f);
+    layer.getBounds(new RectF(), new Matrix(), true);
+    assertEquals(50f, getTranslationX(layer), 0.01f);
+  }
+
+  @Test
+  public void testChildFollowsParent() {
+    CompositionLayer layer = createMovingParent();
+    RectF bounds = new RectF();
+    layer.setProgress(0.5f);
+    layer.getBounds(bounds, new Matrix(), true);
+    assertEquals(50f, bounds.left, 0.01f);
+    layer.setProgress(0.25f);
+    bounds.setEmpty();
+    layer.getBounds(bounds, new Matrix(), true);
+    assertEquals(25f, bounds.left, 0.01f);
+  }
+
+  /**
+   * Counts the bitmaps that are drawn to it and reports scale as its matrix.
+   */
+  private static class ScaledCanvas extends Canvas {
+    private final float scale;
+    int bitmapCount;
+
+    ScaledCanvas(float scale) {
+      super(Bitmap.createBitmap(20, 20, Bitmap.Config.ARGB_8888));
+      this.scale = scale;
+    }
+
+    @Override public void getMatrix(Matrix ctm) {
+      ctm.setScale(scale, scale);
+    }
+
+    @Override public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+      bitmapCount++;
+    }
+  }
+
+  private static int drawStaticShapeLayer(ScaledCanvas canvas) {
+    String json = "{\"v\":\"5.5.2\",\"fr\":30,\"ip\":0,\"op\":10,\"w\":10,\"h\":10,\"layers\":[" +
+        "{\"ty\":4,\"ind\":1,\"ip\":0,\"op\":10,\"st\":0,\"ks\":{},\"shapes\":[" +
+        "{\"ty\":\"rc\",\"d\":1,\"s\":{\"a\":0,\"k\":[10,10]},\"p\":{\"a\":0,\"k\":[5,5]},\"r\":{\"a\":0,\"k\":0}}," +
+        "{\"ty\":\"fl\",\"o\":{\"a\":0,\"k\":100},\"r\":1,\"c\":{\"a\":0,\"k\":[1,0,0,1]}}]}]}";
+    LottieComposition composition = LottieCompositionFactory.fromJsonStringSync(json, null).getValue();
+    LottieDrawable drawable = new LottieDrawable();
+    drawable.setComposition(composition);
+    drawable.setStaticLayerCacheEnabled(true);
+    drawable.setBounds(0, 0, 10, 10);
+    for (int i = 0; i < 3; i++) {
+      drawable.draw(canvas);
+    }
+    return canvas.bitmapCount;
+  }
+
+  @Test
+  public void testStaticCacheIsDrawnOnUnscaledCanvas() {
+    assertTrue(drawStaticShapeLayer(new ScaledCanvas(1f)) > 0);
+  }
+
+  @Test
+  public void testStaticCacheIsSkippedOnScaledCanvas() {
+    assertEquals(0, drawStaticShapeLayer(new ScaledCanvas(2f)));
+  }
+}
@@ -0,0 +1,73 @@
+package com.airbnb.lottie.model.layer;
+
+import com.airbnb.lottie.BaseTest;
+import com.airbnb.lottie.LottieComposition;
+import com.airbnb.lottie.LottieCompositionFactory;
+import com.airbnb.lottie.LottieDrawable;
+import com.airbnb.lottie.parser.LayerParser;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class CompositionLayerTest extends BaseTest {
+
+  /**
+   * A storyboard where each of 20 solid layers is shown for 10 frames in turn. Layer 6 is parented to layer 20.
+   */
+  private CompositionLayer createStoryboard() {
+    StringBuilder json = new StringBuilder("{\"v\":\"5.5.2\",\"fr\":30,\"ip\":0,\"op\":200,\"w\":10,\"h\":10,\"layers\":[");
+    for (int i = 0; i < 20; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append("{\"ty\":1,\"ind\":").append(i + 1)
+          .append(",\"ip\":").append(i * 10)
+          .append(",\"op\":").append((i + 1) * 10)
+          .append(",\"st\":0,\"sw\":10,\"sh\":10,\"sc\":\"#ff0000\",\"ks\":{}");
+      if (i == 5) {
+        json.append(",\"parent\":20");
+      }
+      json.append('}');
+    }
+    json.append("]}");
+    LottieComposition composition = LottieCompositionFactory.fromJsonStringSync(json.toString(), null).getValue();
+    LottieDrawable drawable = new LottieDrawable();
+    drawable.setComposition(composition);
+    return new CompositionLayer(drawable, LayerParser.parse(composition), composition.getLayers(), composition);
+  }
+
+  @Test
+  public void testOnlyActiveLayersAreUpdated() {
+    CompositionLayer layer = createStoryboard();
+    layer.setProgress(35 / 200f);
+    layer.setProgress(36 / 200f);
+    assertEquals(1, layer.getActiveLayerCount());
+  }
+
+  @Test
+  public void testPreviousLayerIsUpdatedOnceMore() {
+    CompositionLayer layer = createStoryboard();
+    layer.setProgress(35 / 200f);
+    layer.setProgress(45 / 200f);
+    assertEquals(2, layer.getActiveLayerCount());
+    layer.setProgress(46 / 200f);
+    assertEquals(1, layer.getActiveLayerCount());
+  }
+
+  @Test
+  public void testParentsAreUpdated() {
+    CompositionLayer layer = createStoryboard();
+    layer.setProgress(55 / 200f);
+    layer.setProgress(56 / 200f);
+    assertEquals(2, layer.getActiveLayerCount());
+  }
+
+  @Test
+  public void testEveryLayerIsUpdatedFirst() {
+    CompositionLayer layer = createStoryboard();
+    assertEquals(20, layer.getActiveLayerCount());
+    layer.setProgress(0f);
+    assertEquals(20, layer.getActiveLayerCount());
+  }
+}
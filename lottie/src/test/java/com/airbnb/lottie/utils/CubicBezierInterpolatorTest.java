@@ -0,0 +1,101 @@
+package com.airbnb.lottie.utils;
+
+import android.view.animation.Interpolator;
+
+import androidx.core.view.animation.PathInterpolatorCompat;
+
+import com.airbnb.lottie.BaseTest;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class CubicBezierInterpolatorTest extends BaseTest {
+  private static final float[][] CURVES = {
+      {0.42f, 0f, 0.58f, 1f},
+      {0.33f, 0f, 0.67f, 1f},
+      {0.167f, 0.167f, 0.833f, 0.833f},
+      {0.17f, 0.67f, 0.83f, 0.33f},
+      {0.5f, -0.5f, 0.5f, 1.5f},
+      {0.9f, 0.1f, 0.1f, 0.9f},
+      {0f, 0f, 1f, 1f},
+      {1f, 0f, 0f, 1f},
+      // The curve is nearly vertical at the start and end of these.
+      {0f, 1f, 0f, 1f},
+      {1f, 0f, 1f, 0f},
+  };
+
+  /**
+   * Solves the curve for x in double precision.
+   */
+  private static double expectedValue(float[] curve, double x) {
+    double low = 0;
+    double high = 1;
+    for (int i = 0; i < 60; i++) {
+      double t = (low + high) / 2;
+      if (bezier(curve[0], curve[2], t) < x) {
+        low = t;
+      } else {
+        high = t;
+      }
+    }
+    return bezier(curve[1], curve[3], (low + high) / 2);
+  }
+
+  private static double bezier(double p1, double p2, double t) {
+    double u = 1 - t;
+    return 3 * u * u * t * p1 + 3 * u * t * t * p2 + t * t * t;
+  }
+
+  private static void assertMatchesCurve(float[] curve) {
+    CubicBezierInterpolator interpolator = new CubicBezierInterpolator(curve[0], curve[1], curve[2], curve[3]);
+    for (int i = 0; i <= 1000; i++) {
+      float x = i / 1000f;
+      assertEquals(expectedValue(curve, x), interpolator.getInterpolation(x), 0.001);
+    }
+  }
+
+  @Test
+  public void testMatchesCurve() {
+    for (float[] curve : CURVES) {
+      assertMatchesCurve(curve);
+    }
+  }
+
+  @Test
+  public void testMatchesRandomCurves() {
+    Random random = new Random(0);
+    for (int i = 0; i < 100; i++) {
+      assertMatchesCurve(new float[]{random.nextFloat(), random.nextFloat() * 4 - 2, random.nextFloat(), random.nextFloat() * 4 - 2});
+    }
+  }
+
+  @Test
+  public void testMatchesPathInterpolator() {
+    for (float[] curve : CURVES) {
+      Interpolator pathInterpolator = PathInterpolatorCompat.create(curve[0], curve[1], curve[2], curve[3]);
+      CubicBezierInterpolator interpolator = new CubicBezierInterpolator(curve[0], curve[1], curve[2], curve[3]);
+      for (int i = 0; i <= 100; i++) {
+        float x = i / 100f;
+        // PathInterpolator approximates the curve with line segments so it is less precise.
+        assertEquals(pathInterpolator.getInterpolation(x), interpolator.getInterpolation(x), 0.01f);
+      }
+    }
+  }
+
+  @Test
+  public void testEndpoints() {
+    CubicBezierInterpolator interpolator = new CubicBezierInterpolator(0.17f, 0.67f, 0.83f, 0.33f);
+    assertEquals(0f, interpolator.getInterpolation(0f), 0f);
+    assertEquals(1f, interpolator.getInterpolation(1f), 0f);
+    assertEquals(0f, interpolator.getInterpolation(-0.5f), 0f);
+    assertEquals(1f, interpolator.getInterpolation(1.5f), 0f);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testControlPointsOutsideOfRange() {
+    new CubicBezierInterpolator(1.5f, 0f, 0.5f, 1f);
+  }
+}
@@ -0,0 +1,101 @@
+package com.airbnb.lottie.utils;
+
+import android.graphics.Matrix;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+import com.airbnb.lottie.BaseTest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class MeasuredPathTest extends BaseTest {
+
+  private static Path createLine() {
+    Path path = new Path();
+    path.moveTo(0, 0);
+    path.lineTo(100, 0);
+    return path;
+  }
+
+  private static void assertBoundsEqual(Path expected, Path actual) {
+    RectF expectedBounds = new RectF();
+    RectF actualBounds = new RectF();
+    expected.computeBounds(expectedBounds, false);
+    actual.computeBounds(actualBounds, false);
+    assertEquals(expectedBounds.left, actualBounds.left, 0.01f);
+    assertEquals(expectedBounds.top, actualBounds.top, 0.01f);
+    assertEquals(expectedBounds.right, actualBounds.right, 0.01f);
+    assertEquals(expectedBounds.bottom, actualBounds.bottom, 0.01f);
+  }
+
+  @Test
+  public void testLength() {
+    MeasuredPath measuredPath = new MeasuredPath();
+    measuredPath.set(createLine());
+    assertEquals(100f, measuredPath.getLength(), 0.01f);
+    assertEquals(100f, measuredPath.getTotalLength(), 0.01f);
+  }
+
+  @Test
+  public void testTotalLengthIncludesEveryContour() {
+    Path path = createLine();
+    path.moveTo(0, 50);
+    path.lineTo(50, 50);
+    MeasuredPath measuredPath = new MeasuredPath();
+    measuredPath.set(path);
+    assertEquals(100f, measuredPath.getLength(), 0.01f);
+    assertEquals(150f, measuredPath.getTotalLength(), 0.01f);
+  }
+
+  /**
+   * Measuring the other contours must not move the measure off of the first contour, which is the one that is
+   * trimmed.
+   */
+  @Test
+  public void testTrimsFirstContourAfterMeasuringEveryContour() {
+    Path path = createLine();
+    path.moveTo(0, 50);
+    path.lineTo(50, 50);
+    MeasuredPath measuredPath = new MeasuredPath();
+    measuredPath.set(path);
+    Path trimmedPath = new Path();
+    measuredPath.trim(trimmedPath, 0f, 0.5f, 0f);
+    Path expected = createLine();
+    Utils.applyTrimPathIfNeeded(expected, 0f, 0.5f, 0f);
+    assertBoundsEqual(expected, trimmedPath);
+  }
+
+  @Test
+  public void testLengthIsTransformed() {
+    Matrix matrix = new Matrix();
+    matrix.setScale(2f, 2f);
+    MeasuredPath measuredPath = new MeasuredPath();
+    measuredPath.set(createLine(), matrix);
+    assertEquals(200f, measuredPath.getLength(), 0.01f);
+  }
+
+  @Test
+  public void testTrimMatchesTrimmingThePath() {
+    MeasuredPath measuredPath = new MeasuredPath();
+    measuredPath.set(createLine());
+    Path trimmedPath = new Path();
+    float[][] trims = {{0f, 0.5f, 0f}, {0.25f, 0.75f, 0f}, {0.5f, 0.25f, 0f}, {0.5f, 1f, 0.75f}, {0f, 1f, 0f}};
+    for (float[] trim : trims) {
+      Path expected = createLine();
+      Utils.applyTrimPathIfNeeded(expected, trim[0], trim[1], trim[2]);
+      measuredPath.trim(trimmedPath, trim[0], trim[1], trim[2]);
+      assertBoundsEqual(expected, trimmedPath);
+    }
+  }
+
+  @Test
+  public void testTrimDoesNotChangeTheMeasuredPath() {
+    MeasuredPath measuredPath = new MeasuredPath();
+    measuredPath.set(createLine());
+    measuredPath.trim(new Path(), 0.25f, 0.5f, 0f);
+    assertBoundsEqual(createLine(), measuredPath.getPath());
+    assertEquals(100f, measuredPath.getLength(), 0.01f);
+  }
+}